@@ -0,0 +1,219 @@
+package com.example.sudoku_game.bench;
+
+import com.example.sudoku_game.model.Board;
+import com.example.sudoku_game.model.Difficulty;
+import com.example.sudoku_game.model.PuzzleFactory;
+import com.example.sudoku_game.service.BulkBoardValidator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/**
+ * Checks the bulk validator against {@link Board#isSolved()} on a mix of valid and broken boards, then measures
+ * it: in memory, against unpacking every board into a reused Board, and streaming files of two sizes from disk,
+ * with the heap in use after each file to show that memory does not grow with the input.
+ * About a tenth of the boards are broken: two cells swapped, a cell emptied, a cell set to 7, or a reserved bit set.
+ * Run with: mvn -Pbench -pl sudoku-core test-compile exec:java -Dbench.main=com.example.sudoku_game.bench.BulkValidatorBenchmark
+ */
+public class BulkValidatorBenchmark {
+
+    private static final int SOLUTIONS = 1_000; // Generated solutions the boards are relabeled from.
+    private static final int IN_MEMORY = 1 << 20; // Boards checked in memory per measurement.
+    private static final int[] FILE_BOARDS = {1 << 20, 1 << 23}; // Boards per streamed file.
+    private static final long SEED = 42L; // Seed of the solutions and the broken boards.
+
+    /**
+     * Runs the benchmark.
+     * @param args Unused.
+     * @throws IOException If a temporary file cannot be written or read.
+     */
+    public static void main(String[] args) throws IOException {
+        Random random = new Random(SEED);
+        long[][] solutions = new long[SOLUTIONS][];
+        Board[] boards = new Board[SOLUTIONS];
+        for (int i = 0; i < SOLUTIONS; i++) {
+            boards[i] = PuzzleFactory.create(i, Difficulty.EASY, SEED).getSolution();
+            solutions[i] = new long[2];
+            BulkBoardValidator.pack(boards[i], solutions[i], 0);
+        }
+        long[] records = new long[2 * IN_MEMORY];
+        for (int i = 0; i < IN_MEMORY; i++) {
+            board(boards[random.nextInt(SOLUTIONS)], random, records, 2 * i);
+        }
+
+        BulkBoardValidator validator = new BulkBoardValidator();
+        verify(validator, records);
+
+        Board scratch = new Board();
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            long valid = 0;
+            for (int i = 0; i < IN_MEMORY; i += BulkBoardValidator.BATCH) {
+                valid += Long.bitCount(validator.validate(records, 2 * i, BulkBoardValidator.BATCH));
+            }
+            long bulk = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            long reference = 0;
+            for (int i = 0; i < IN_MEMORY; i++) {
+                reference += isSolved(records, 2 * i, scratch) ? 1 : 0;
+            }
+            long oneByOne = System.nanoTime() - start;
+            if (valid != reference) {
+                throw new IllegalStateException("Valid boards differ: " + valid + " != " + reference);
+            }
+            System.out.printf("in memory: bulk %,.0f boards/s, one by one on a Board %,.0f boards/s (%.1fx)%n",
+                    IN_MEMORY / (bulk / 1e9), IN_MEMORY / (oneByOne / 1e9), (double) oneByOne / bulk);
+        }
+
+        for (int boardCount : FILE_BOARDS) {
+            Path file = Files.createTempFile("boards", ".packed");
+            try {
+                write(file, boardCount, solutions, random);
+                for (int round = 0; round < 3; round++) {
+                    long[] invalid = new long[1];
+                    long start = System.nanoTime();
+                    long read;
+                    try (FileChannel in = FileChannel.open(file)) {
+                        read = validator.validate(in, position -> invalid[0]++);
+                    }
+                    double seconds = (System.nanoTime() - start) / 1e9;
+                    System.gc();
+                    Runtime runtime = Runtime.getRuntime();
+                    System.out.printf("file of %,d boards: %,d invalid, %,.0f boards/s, %.0f MB/s, heap in use %,d KB%n",
+                            read, invalid[0], read / seconds, read * BulkBoardValidator.RECORD_BYTES / seconds / 1e6,
+                            (runtime.totalMemory() - runtime.freeMemory()) / 1024);
+                }
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Packs a board: a solution with its digits relabeled, broken about one time in ten.
+     * @param solution The solution.
+     * @param random The source of the relabeling and the breakage.
+     * @param records Receives the record.
+     * @param offset The position of the record in the array.
+     */
+    private static void board(Board solution, Random random, long[] records, int offset) {
+        int[] labels = {1, 2, 3, 4, 5, 6};
+        for (int i = labels.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int label = labels[i];
+            labels[i] = labels[j];
+            labels[j] = label;
+        }
+        StringBuilder cells = new StringBuilder(36);
+        for (int index = 0; index < 36; index++) {
+            cells.append((char) ('0' + labels[solution.get(index) - 1]));
+        }
+        if (random.nextInt(10) == 0) {
+            int cell = random.nextInt(36);
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    int other = random.nextInt(36);
+                    char value = cells.charAt(cell);
+                    cells.setCharAt(cell, cells.charAt(other));
+                    cells.setCharAt(other, value);
+                }
+                case 1 -> cells.setCharAt(cell, '0');
+                case 2 -> cells.setCharAt(cell, '7');
+                default -> {
+                    BulkBoardValidator.pack(cells, records, offset);
+                    records[offset + random.nextInt(2)] |= 1L << (54 + random.nextInt(10));
+                    return;
+                }
+            }
+        }
+        BulkBoardValidator.pack(cells, records, offset);
+    }
+
+    /**
+     * Checks every board of the array in batches against {@link Board#isSolved()}, and fails at the first mismatch.
+     * @param validator The validator.
+     * @param records The records.
+     */
+    private static void verify(BulkBoardValidator validator, long[] records) {
+        Board scratch = new Board();
+        int boards = records.length / 2;
+        long valid = 0;
+        for (int first = 0; first < boards; first += BulkBoardValidator.BATCH) {
+            int count = Math.min(BulkBoardValidator.BATCH, boards - first);
+            long mask = validator.validate(records, 2 * first, count);
+            for (int i = 0; i < count; i++) {
+                boolean expected = isSolved(records, 2 * (first + i), scratch);
+                if (((mask >>> i) & 1) != (expected ? 1 : 0)) {
+                    throw new IllegalStateException("Board " + (first + i) + " should be "
+                            + (expected ? "valid" : "invalid"));
+                }
+            }
+            valid += Long.bitCount(mask);
+        }
+        System.out.printf("verified %,d boards against Board.isSolved: %,d valid, %,d invalid%n", boards, valid,
+                boards - valid);
+    }
+
+    /**
+     * Checks a packed board one cell at a time, the way the engine would without the bulk validator.
+     * @param records The records.
+     * @param offset The position of the record.
+     * @param board A 6x6 board to unpack into; overwritten.
+     * @return true if the board is solved and every reserved bit is clear.
+     */
+    private static boolean isSolved(long[] records, int offset, Board board) {
+        for (int half = 0; half < 2; half++) {
+            if (records[offset + half] >>> 54 != 0) {
+                return false;
+            }
+        }
+        for (int index = 0; index < 36; index++) {
+            int value = (int) (records[offset + index / 18] >>> (3 * (index % 18))) & 7;
+            if (value == 7) {
+                return false;
+            }
+            board.set(index, value);
+        }
+        return board.isSolved();
+    }
+
+    /**
+     * Writes a file of packed boards.
+     * @param file The file.
+     * @param boardCount The number of boards.
+     * @param solutions The packed solutions the boards are drawn from.
+     * @param random The source of the boards.
+     * @throws IOException If the file cannot be written.
+     */
+    private static void write(Path file, int boardCount, long[][] solutions, Random random) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            for (int i = 0; i < boardCount; i++) {
+                long[] solution = solutions[random.nextInt(solutions.length)];
+                long first = solution[0];
+                if (random.nextInt(10) == 0) {
+                    first ^= 1L << random.nextInt(54);  // Breaks the board by changing one cell
+                }
+                buffer.putLong(first).putLong(solution[1]);
+                if (!buffer.hasRemaining()) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.sudoku_game.bench;
+
+import com.example.sudoku_game.model.Board;
+import com.example.sudoku_game.model.Difficulty;
+import com.example.sudoku_game.model.DifficultyGrader;
+import com.example.sudoku_game.model.Grade;
+import com.example.sudoku_game.model.PuzzleFactory;
+import com.example.sudoku_game.model.Technique;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures batch grading throughput by number of threads, and prints what the grader finds in each
+ * generated difficulty level of the 9x9 board.
+ * Run with: mvn -Pbench -pl sudoku-core test-compile exec:java -Dbench.main=com.example.sudoku_game.bench.DifficultyGraderBenchmark
+ */
+public class DifficultyGraderBenchmark {
+
+    private static final int COUNT = 50_000; // Puzzles graded per measurement.
+    private static final int SAMPLE = 2_000; // Puzzles per difficulty level in the summary.
+    private static final long SEED = 42L; // Seed of every batch.
+
+    /**
+     * Runs the benchmark.
+     * @param args Unused.
+     */
+    public static void main(String[] args) {
+        for (Difficulty difficulty : Difficulty.values()) {
+            summarize(difficulty, DifficultyGrader.gradeAll(generate(SAMPLE, difficulty)));
+        }
+
+        List<Board> puzzles = generate(COUNT, Difficulty.HARD);
+        int cores = Runtime.getRuntime().availableProcessors();
+        DifficultyGrader.gradeAll(puzzles, cores); // Warm-up
+
+        double single = 0;
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            long start = System.nanoTime();
+            Grade[] grades = DifficultyGrader.gradeAll(puzzles, threads);
+            double perSecond = COUNT / ((System.nanoTime() - start) / 1e9);
+            if (threads == 1) {
+                single = perSecond;
+            }
+            long checksum = 0;
+            for (Grade grade : grades) {
+                checksum += grade.getScore();
+            }
+            System.out.printf("threads=%-3d %,10.0f puzzles/s  speed-up %.2fx  score checksum %d%n",
+                    threads, perSecond, perSecond / single, checksum);
+        }
+    }
+
+    /**
+     * Generates the givens of a batch of 9x9 puzzles.
+     * @param count The number of puzzles.
+     * @param difficulty The difficulty they are generated for.
+     * @return The givens, in batch order.
+     */
+    private static List<Board> generate(int count, Difficulty difficulty) {
+        Board[] givens = new Board[count];
+        PuzzleFactory.generate(count, 3, 3, difficulty, SEED, Runtime.getRuntime().availableProcessors(),
+                puzzle -> givens[(int) puzzle.getIndex()] = puzzle.getGivens());
+        return new ArrayList<>(List.of(givens));
+    }
+
+    /**
+     * Prints the average score, the share solved by logic and how many puzzles needed each technique.
+     * @param difficulty The difficulty the puzzles were generated for.
+     * @param grades The grades of the puzzles.
+     */
+    private static void summarize(Difficulty difficulty, Grade[] grades) {
+        long score = 0;
+        int byLogic = 0;
+        int[] needed = new int[Technique.values().length];
+        for (Grade grade : grades) {
+            score += grade.getScore();
+            if (grade.isSolvedByLogic()) {
+                byLogic++;
+            }
+            for (Technique technique : grade.getTechniques()) {
+                needed[technique.ordinal()]++;
+            }
+        }
+        StringBuilder line = new StringBuilder(String.format("%-7s avg score %6.1f  by logic %5.1f%% ",
+                difficulty, (double) score / grades.length, 100.0 * byLogic / grades.length));
+        for (Technique technique : Technique.values()) {
+            line.append(' ').append(technique).append('=').append(needed[technique.ordinal()]);
+        }
+        System.out.println(line);
+    }
+}
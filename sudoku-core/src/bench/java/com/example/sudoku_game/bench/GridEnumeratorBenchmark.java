@@ -0,0 +1,127 @@
+package com.example.sudoku_game.bench;
+
+import com.example.sudoku_game.model.Board;
+import com.example.sudoku_game.model.Difficulty;
+import com.example.sudoku_game.model.DistinctPuzzles;
+import com.example.sudoku_game.model.GridClassIndex;
+import com.example.sudoku_game.model.GridEnumerator;
+import com.example.sudoku_game.model.Puzzle;
+import com.example.sudoku_game.model.PuzzleFactory;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Enumerates every 6x6 grid, builds the class index and checks the known counts (39,168 normalized grids,
+ * 28,200,960 grids, 49 classes). Then measures classifying every grid through the index, checks that a disguised
+ * copy of a puzzle gets the same key, and measures drawing distinct puzzles for a tournament.
+ * Run with: mvn -Pbench -pl sudoku-core test-compile exec:java -Dbench.main=com.example.sudoku_game.bench.GridEnumeratorBenchmark
+ */
+public class GridEnumeratorBenchmark {
+
+    private static final int EXPECTED_CLASSES = 49; // Classes of 6x6 grids under the validity-preserving symmetries.
+    private static final int PUZZLES = 2_000; // Puzzles checked and drawn.
+    private static final long SEED = 42L; // Seed of the puzzles.
+
+    /**
+     * Runs the benchmark.
+     * @param args Unused.
+     */
+    public static void main(String[] args) {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+
+        long start = System.nanoTime();
+        long normalized = GridEnumerator.forEachNormalized(parallelism, grid -> { });
+        report("normalized grids", normalized, GridEnumerator.NORMALIZED_GRIDS, System.nanoTime() - start);
+
+        start = System.nanoTime();
+        long all = GridEnumerator.forEach(parallelism, grid -> { });
+        report("all grids", all, GridEnumerator.ALL_GRIDS, System.nanoTime() - start);
+
+        start = System.nanoTime();
+        GridClassIndex index = GridClassIndex.build(parallelism);
+        long total = 0;
+        for (int c = 0; c < index.getClassCount(); c++) {
+            total += index.getGridCount(c);
+        }
+        report("classes", index.getClassCount(), EXPECTED_CLASSES, System.nanoTime() - start);
+        if (total != GridEnumerator.ALL_GRIDS) {
+            throw new IllegalStateException("classes hold " + total + " grids");
+        }
+
+        LongAdder invalid = new LongAdder();
+        start = System.nanoTime();
+        GridEnumerator.forEach(parallelism, grid -> {
+            if (index.classOf(grid) < 0) {
+                invalid.increment();
+            }
+        });
+        long elapsed = System.nanoTime() - start;
+        if (invalid.sum() != 0) {
+            throw new IllegalStateException(invalid.sum() + " grids not found in the index");
+        }
+        System.out.printf("classify all  %6.1f ns/grid (enumeration included)%n", (double) elapsed / all);
+
+        Board[][] puzzles = new Board[2 * PUZZLES][];
+        for (int i = 0; i < PUZZLES; i++) {
+            Puzzle puzzle = PuzzleFactory.create(i, Difficulty.HARD, SEED);
+            puzzles[2 * i] = new Board[] {puzzle.getGivens(), puzzle.getSolution()};
+            puzzles[2 * i + 1] = new Board[] {disguise(puzzle.getGivens(), i), disguise(puzzle.getSolution(), i)};
+        }
+        long[] keys = new long[puzzles.length];
+        for (int round = 0; round < 3; round++) {
+            start = System.nanoTime();
+            for (int i = 0; i < puzzles.length; i++) {
+                keys[i] = index.puzzleKey(puzzles[i][0], puzzles[i][1]);
+            }
+            elapsed = System.nanoTime() - start;
+            System.out.printf("puzzle key    %6.1f ns/puzzle%n", (double) elapsed / puzzles.length);
+        }
+        for (int i = 0; i < PUZZLES; i++) {
+            if (keys[2 * i] != keys[2 * i + 1]) {
+                throw new IllegalStateException("puzzle " + i + " and its disguise have different keys");
+            }
+        }
+        System.out.println("disguised copies match");
+
+        for (Difficulty difficulty : Difficulty.values()) {
+            start = System.nanoTime();
+            List<Puzzle> drawn = DistinctPuzzles.draw(index, PUZZLES, difficulty, SEED);
+            long generated = drawn.get(drawn.size() - 1).getIndex() + 1;
+            System.out.printf("draw %-8s %,d distinct of %,d generated (%.2f%% duplicates) in %.1f ms%n", difficulty,
+                    drawn.size(), generated, 100.0 * (generated - drawn.size()) / generated,
+                    (System.nanoTime() - start) / 1e6);
+        }
+    }
+
+    /**
+     * Swaps the stacks, moves the top band to the bottom and relabels the digits of a 6x6 board.
+     * @param board The board.
+     * @param shift The relabeling, digit d becomes (d + shift) mod 6 + 1.
+     * @return The disguised copy.
+     */
+    private static Board disguise(Board board, int shift) {
+        Board copy = new Board(2, 3);
+        for (int row = 0; row < 6; row++) {
+            for (int col = 0; col < 6; col++) {
+                int value = board.get(board.indexOf((row + 2) % 6, (col + 3) % 6));
+                copy.set(row, col, value == 0 ? 0 : (value + shift) % 6 + 1);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Prints a count, checked against its expected value, and the time it took.
+     * @param what What was counted.
+     * @param count The count.
+     * @param expected The expected count.
+     * @param nanos The time taken.
+     */
+    private static void report(String what, long count, long expected, long nanos) {
+        if (count != expected) {
+            throw new IllegalStateException(what + ": " + count + ", expected " + expected);
+        }
+        System.out.printf("%-16s %,12d in %8.1f ms%n", what, count, nanos / 1e6);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.sudoku_game.bench;
+
+import com.example.sudoku_game.model.Board;
+import com.example.sudoku_game.model.Difficulty;
+import com.example.sudoku_game.model.Puzzle;
+import com.example.sudoku_game.model.PuzzleFactory;
+import com.example.sudoku_game.service.PuzzleBank;
+import com.example.sudoku_game.service.PuzzleBankWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Writes a 6x6 puzzle bank from the batch generator, checks that every puzzle reads back unchanged, and measures
+ * random reads into reused boards against generating the same puzzles on demand.
+ * Run with: mvn -Pbench -pl sudoku-core test-compile exec:java -Dbench.main=com.example.sudoku_game.bench.PuzzleBankBenchmark
+ */
+public class PuzzleBankBenchmark {
+
+    private static final int COUNT = 20_000; // Puzzles per difficulty.
+    private static final int READS = 5_000_000; // Random reads per measurement.
+    private static final int GENERATED = 2_000; // Puzzles generated on demand for comparison.
+    private static final long SEED = 42L; // Seed of every batch.
+
+    /**
+     * Runs the benchmark.
+     * @param args Unused.
+     * @throws IOException If the bank file cannot be written or read.
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = Files.createTempFile("puzzles", ".bank");
+        try {
+            long start = System.nanoTime();
+            try (PuzzleBankWriter writer = new PuzzleBankWriter(path, COUNT)) {
+                for (Difficulty difficulty : Difficulty.values()) {
+                    PuzzleFactory.generate(COUNT, 2, 3, difficulty, SEED, Runtime.getRuntime().availableProcessors(),
+                            writer);
+                }
+            }
+            System.out.printf("wrote %,d puzzles in %.1f s, %,d bytes%n", COUNT * Difficulty.values().length,
+                    (System.nanoTime() - start) / 1e9, Files.size(path));
+
+            try (PuzzleBank bank = new PuzzleBank(path)) {
+                verify(bank);
+                Board givens = new Board(2, 3);
+                Board solution = new Board(2, 3);
+                Random random = new Random(SEED);
+                for (int round = 0; round < 3; round++) {
+                    long clues = 0;
+                    start = System.nanoTime();
+                    for (int i = 0; i < READS; i++) {
+                        clues += bank.read(Difficulty.MEDIUM, random.nextInt(COUNT), givens, solution);
+                    }
+                    long elapsed = System.nanoTime() - start;
+                    System.out.printf("bank read     %6.1f ns/puzzle  (clue checksum %d)%n",
+                            (double) elapsed / READS, clues);
+                }
+            }
+
+            start = System.nanoTime();
+            long clues = 0;
+            for (int i = 0; i < GENERATED; i++) {
+                clues += PuzzleFactory.create(i, 2, 3, Difficulty.MEDIUM, SEED).getClues();
+            }
+            System.out.printf("generate      %6.1f ns/puzzle  (clue checksum %d)%n",
+                    (double) (System.nanoTime() - start) / GENERATED, clues);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * Checks every puzzle of the bank against a fresh generation from the same seed.
+     * @param bank The bank to check.
+     */
+    private static void verify(PuzzleBank bank) {
+        Board givens = new Board(2, 3);
+        Board solution = new Board(2, 3);
+        for (Difficulty difficulty : Difficulty.values()) {
+            for (int i = 0; i < bank.getCount(difficulty); i += 97) {
+                Puzzle expected = PuzzleFactory.create(i, 2, 3, difficulty, SEED);
+                int clues = bank.read(difficulty, i, givens, solution);
+                for (int index = 0; index < givens.cellCount(); index++) {
+                    if (givens.get(index) != expected.getGivens().get(index)
+                            || solution.get(index) != expected.getSolution().get(index)
+                            || clues != expected.getClues()) {
+                        throw new IllegalStateException(difficulty + " puzzle " + i + " does not read back");
+                    }
+                }
+            }
+        }
+        System.out.println("round trip ok");
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.sudoku_game.bench;
+
+import com.example.sudoku_game.model.Difficulty;
+import com.example.sudoku_game.model.PuzzleFactory;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures how batch puzzle generation scales with the number of threads.
+ * Run with: mvn -Pbench -pl sudoku-core test-compile exec:java -Dbench.main=com.example.sudoku_game.bench.PuzzleFactoryBenchmark
+ */
+public class PuzzleFactoryBenchmark {
+
+    private static final long COUNT = 200_000; // Puzzles generated per measurement.
+    private static final long SEED = 42L; // Seed of every batch.
+
+    /**
+     * Runs the benchmark from one thread up to every available core.
+     * @param args Unused.
+     */
+    public static void main(String[] args) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        PuzzleFactory.generate(COUNT / 4, Difficulty.HARD, SEED, cores, puzzle -> { }); // Warm-up
+
+        double single = 0;
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            LongAdder clues = new LongAdder();
+            long start = System.nanoTime();
+            PuzzleFactory.generate(COUNT, Difficulty.HARD, SEED, threads, puzzle -> clues.add(puzzle.getClues()));
+            double perSecond = COUNT / ((System.nanoTime() - start) / 1e9);
+            if (threads == 1) {
+                single = perSecond;
+            }
+            System.out.printf("threads=%-3d %,10.0f puzzles/s  speed-up %.2fx  clue checksum %d%n",
+                    threads, perSecond, perSecond / single, clues.sum());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.sudoku_game.bench;
+
+import com.example.sudoku_game.model.BacktrackingSolver;
+import com.example.sudoku_game.model.BitmaskSolver;
+import com.example.sudoku_game.model.Board;
+import com.example.sudoku_game.model.PuzzleGenerator;
+import com.example.sudoku_game.model.SolutionGenerator;
+import com.example.sudoku_game.model.Solver;
+
+/**
+ * Measures single-thread throughput of unique-solution puzzle generation with each solver.
+ * Run with: mvn -Pbench -pl sudoku-core test-compile exec:java -Dbench.main=com.example.sudoku_game.bench.PuzzleGeneratorBenchmark
+ * The run fails if the BitmaskSolver generates fewer than {@link #TARGET_MINIMAL_PER_SECOND} minimal puzzles per second.
+ */
+public class PuzzleGeneratorBenchmark {
+
+    private static final int TARGET_MINIMAL_PER_SECOND = 5_000; // Throughput target for minimal puzzles on one core.
+    private static final int WARMUP = 20_000; // Puzzles generated before measuring.
+    private static final int MEASURED = 50_000; // Puzzles generated while measuring.
+
+    /**
+     * Runs the benchmark.
+     * @param args Unused.
+     */
+    public static void main(String[] args) {
+        run(new BacktrackingSolver(), 12);
+        run(new BacktrackingSolver(), PuzzleGenerator.MINIMAL);
+        run(new BitmaskSolver(), 12);
+        double minimal = run(new BitmaskSolver(), PuzzleGenerator.MINIMAL);
+
+        if (minimal < TARGET_MINIMAL_PER_SECOND) {
+            System.err.printf("FAILED: %.0f minimal puzzles/s is below the target of %d%n", minimal, TARGET_MINIMAL_PER_SECOND);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Generates puzzles with the given solver and prints the throughput.
+     * @param solver The engine used for uniqueness checks.
+     * @param targetClues The clue count passed to the generator.
+     * @return The measured puzzles per second.
+     */
+    private static double run(Solver solver, int targetClues) {
+        SolutionGenerator solutions = new SolutionGenerator(1L);
+        PuzzleGenerator puzzles = new PuzzleGenerator(solver, 2L);
+        Board solution = new Board();
+        Board puzzle = new Board();
+
+        for (int i = 0; i < WARMUP; i++) {
+            solutions.generate(solution);
+            puzzles.generate(solution, puzzle, targetClues);
+        }
+
+        long clues = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED; i++) {
+            solutions.generate(solution);
+            clues += puzzles.generate(solution, puzzle, targetClues);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double perSecond = MEASURED / seconds;
+
+        System.out.printf("%-18s target=%-7s %,10.0f puzzles/s  avg clues %.2f%n",
+                solver.getClass().getSimpleName(),
+                targetClues == PuzzleGenerator.MINIMAL ? "minimal" : String.valueOf(targetClues),
+                perSecond, (double) clues / MEASURED);
+        return perSecond;
+    }
+}
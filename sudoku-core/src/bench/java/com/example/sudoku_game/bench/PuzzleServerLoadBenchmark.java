@@ -0,0 +1,248 @@
+package com.example.sudoku_game.bench;
+
+import com.example.sudoku_game.service.PuzzleServer;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Load generator for the {@link PuzzleServer}: starts a server in this JVM, opens many connections to it over
+ * localhost, each played by a virtual thread, and starts an equal share of the sessions on each. Once every session
+ * is started, each connection plays its sessions in turn for a fixed number of requests per session, 70% moves on
+ * cells that are not givens, 20% solved checks and 10% hints, waiting for each answer before sending the next.
+ * Reports the throughput and the p50, p99 and largest latency of every kind of request, measured by the client.
+ * Sessions are spread over fewer connections than there are sessions, to stay inside the file limit of the
+ * machine: every connection takes two descriptors, one for each end.
+ * Run with: mvn -Pbench -pl sudoku-core test-compile exec:java -Dbench.main=com.example.sudoku_game.bench.PuzzleServerLoadBenchmark [-Dexec.args="sessions connections requests maxSessions"]
+ */
+public class PuzzleServerLoadBenchmark {
+
+    private static final String[] KINDS = {"NEW", "MOVE", "SOLVED", "HINT"}; // Kinds of request, as reported.
+    private static final long SEED = 42L; // Seed of the puzzles and of the played moves.
+
+    /**
+     * Runs the load.
+     * @param args Optional sessions (10000), connections (1000), requests per session (50) and the largest number
+     *             of sessions the server keeps (65536).
+     * @throws Exception If the server cannot start or a connection fails.
+     */
+    public static void main(String[] args) throws Exception {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+        int maxSessions = args.length > 3 ? Integer.parseInt(args[3]) : PuzzleServer.DEFAULT_SESSIONS;
+
+        try (PuzzleServer server = new PuzzleServer(0, maxSessions)) {
+            server.start();
+            for (int round = 0; round < 2; round++) {
+                System.out.println(round == 0 ? "warmup" : "measured");
+                run(server.getPort(), sessions, connections, requests);
+            }
+            System.out.printf("sessions kept %,d, evicted %,d%n", server.getSessionCount(),
+                    server.getEvictionCount());
+        }
+    }
+
+    /**
+     * Runs one round of the load and prints its report.
+     * @param port The port of the server.
+     * @param sessions The number of sessions started.
+     * @param connections The number of connections the sessions are spread over.
+     * @param requests The number of requests played on each session.
+     * @throws Exception If a connection fails.
+     */
+    private static void run(int port, int sessions, int connections, int requests) throws Exception {
+        CountDownLatch started = new CountDownLatch(connections);
+        List<Future<long[][]>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        long playStart;
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < connections; c++) {
+                int share = sessions / connections + (c < sessions % connections ? 1 : 0);
+                long seed = SEED + c;
+                futures.add(clients.submit(() -> play(port, share, requests, seed, started)));
+            }
+            started.await();
+            playStart = System.nanoTime();
+        }
+        long end = System.nanoTime();
+
+        List<long[][]> results = new ArrayList<>();
+        long errors = 0;
+        for (Future<long[][]> future : futures) {
+            long[][] result = future.get();
+            results.add(result);
+            errors += result[KINDS.length][0];
+        }
+        System.out.printf("  %,d sessions started in %.2f s, %,.0f sessions/s%n", sessions,
+                (playStart - start) / 1e9, sessions / ((playStart - start) / 1e9));
+        long played = (long) sessions * requests;
+        System.out.printf("  %,d requests played in %.2f s, %,.0f requests/s, %,d errors%n", played,
+                (end - playStart) / 1e9, played / ((end - playStart) / 1e9), errors);
+        for (int kind = 0; kind < KINDS.length; kind++) {
+            report(KINDS[kind], merge(results, kind, kind + 1));
+        }
+        report("all played", merge(results, 1, KINDS.length));
+    }
+
+    /**
+     * Plays one connection: starts its sessions, waits until every connection has, then plays them in turn.
+     * @param port The port of the server.
+     * @param share The number of sessions of this connection.
+     * @param requests The number of requests played on each session.
+     * @param seed The seed of the puzzles and of the played moves.
+     * @param started Counted down once the sessions are started, and awaited before playing.
+     * @return The latencies of each kind of request in nanoseconds, then the error count.
+     * @throws Exception If the connection fails.
+     */
+    private static long[][] play(int port, int share, int requests, long seed, CountDownLatch started)
+            throws Exception {
+        Random random = new Random(seed);
+        long[][] latencies = new long[KINDS.length + 1][];
+        latencies[0] = new long[share];
+        int[] counts = new int[KINDS.length];
+        for (int kind = 1; kind < KINDS.length; kind++) {
+            latencies[kind] = new long[share * requests];
+        }
+        boolean counted = false;
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            socket.setTcpNoDelay(true);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                    StandardCharsets.US_ASCII));
+            Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(),
+                    StandardCharsets.US_ASCII));
+
+            long[] ids = new long[share];
+            String[] givens = new String[share];
+            for (int s = 0; s < share; s++) {
+                long start = System.nanoTime();
+                String[] answer = request(in, out, "NEW MEDIUM " + random.nextLong()).split(" ");
+                latencies[0][counts[0]++] = System.nanoTime() - start;
+                ids[s] = Long.parseLong(answer[1]);
+                givens[s] = answer[2];
+            }
+            counted = true;
+            started.countDown();
+            started.await();
+
+            long errors = 0;
+            for (int r = 0; r < requests; r++) {
+                for (int s = 0; s < share; s++) {
+                    int roll = random.nextInt(10);
+                    int kind = roll < 7 ? 1 : roll < 9 ? 2 : 3;
+                    String line = switch (kind) {
+                        case 1 -> move(ids[s], givens[s], random);
+                        case 2 -> "SOLVED " + ids[s];
+                        default -> "HINT " + ids[s];
+                    };
+                    long start = System.nanoTime();
+                    String answer = request(in, out, line);
+                    latencies[kind][counts[kind]++] = System.nanoTime() - start;
+                    if (!answer.startsWith("OK")) {
+                        errors++;
+                    }
+                }
+            }
+            request(in, out, "QUIT");
+            for (int kind = 1; kind < KINDS.length; kind++) {
+                latencies[kind] = Arrays.copyOf(latencies[kind], counts[kind]);
+            }
+            latencies[KINDS.length] = new long[] {errors};
+        } finally {
+            if (!counted) {
+                started.countDown();  // Failed before playing; the others must not wait for it
+            }
+        }
+        return latencies;
+    }
+
+    /**
+     * Builds a move on a random cell that is not a given.
+     * @param id The id of the session.
+     * @param givens The givens of the session, as answered to NEW.
+     * @param random The source of the cell and the number.
+     * @return The request line.
+     */
+    private static String move(long id, String givens, Random random) {
+        int size = (int) Math.round(Math.sqrt(givens.length()));
+        int cell;
+        do {
+            cell = random.nextInt(givens.length());
+        } while (givens.charAt(cell) != '.');
+        return "MOVE " + id + " " + cell / size + " " + cell % size + " " + (1 + random.nextInt(size));
+    }
+
+    /**
+     * Sends a request and waits for its answer.
+     * @param in The input of the connection.
+     * @param out The output of the connection.
+     * @param line The request line.
+     * @return The answer line.
+     * @throws IOException If the connection fails or closes.
+     */
+    private static String request(BufferedReader in, Writer out, String line) throws IOException {
+        out.write(line);
+        out.write('\n');
+        out.flush();
+        String answer = in.readLine();
+        if (answer == null) {
+            throw new IOException("The server closed the connection");
+        }
+        return answer;
+    }
+
+    /**
+     * Prints the count and the p50, p99 and largest latency of a kind of request.
+     * @param kind The kind of request.
+     * @param latencies The latencies, in nanoseconds; sorted in place.
+     */
+    private static void report(String kind, long[] latencies) {
+        Arrays.sort(latencies);
+        if (latencies.length == 0) {
+            return;
+        }
+        System.out.printf("  %-10s %,10d   p50 %8.1f us   p99 %8.1f us   max %9.1f us%n", kind, latencies.length,
+                latencies[(int) (latencies.length * 0.50)] / 1e3, latencies[(int) (latencies.length * 0.99)] / 1e3,
+                latencies[latencies.length - 1] / 1e3);
+    }
+
+    /**
+     * Gathers the latencies of some kinds of request from every connection.
+     * @param results The latencies of each connection, by kind.
+     * @param fromKind The first kind gathered.
+     * @param toKind The kind after the last one gathered.
+     * @return The latencies, in one new array.
+     */
+    private static long[] merge(List<long[][]> results, int fromKind, int toKind) {
+        int total = 0;
+        for (long[][] result : results) {
+            for (int kind = fromKind; kind < toKind; kind++) {
+                total += result[kind].length;
+            }
+        }
+        long[] merged = new long[total];
+        int position = 0;
+        for (long[][] result : results) {
+            for (int kind = fromKind; kind < toKind; kind++) {
+                System.arraycopy(result[kind], 0, merged, position, result[kind].length);
+                position += result[kind].length;
+            }
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.sudoku_game.bench.jmh;
+
+import com.example.sudoku_game.model.BitmaskSolver;
+import com.example.sudoku_game.model.Board;
+import com.example.sudoku_game.model.Sudoku;
+
+import java.util.Random;
+
+/**
+ * Fill levels of the boards the JMH benchmarks run on.
+ * Cells are emptied block by block, so every fill level leaves at least two empty cells in each block
+ * and {@link Sudoku#fillTwoCellsInBlock(int, int)} always terminates.
+ */
+public enum BoardFill {
+    EMPTY,
+    SPARSE,
+    NEAR_FULL;
+
+    /**
+     * Returns the number of cells left empty in each block at this fill level.
+     * @param blockCells The number of cells in a block.
+     * @return The empty cells per block.
+     */
+    public int emptyPerBlock(int blockCells) {
+        switch (this) {
+            case EMPTY:
+                return blockCells;
+            case SPARSE:
+                return blockCells - blockCells / 4; // A quarter of each block is revealed.
+            default:
+                return 2;
+        }
+    }
+
+    /**
+     * Creates a Sudoku whose current board is its solution with cells emptied to this fill level.
+     * @param shape The block shape as "rowsxcols", for example "2x3".
+     * @param seed The seed of the solution and of the emptied cells.
+     * @return The prepared Sudoku.
+     */
+    public Sudoku create(String shape, long seed) {
+        String[] parts = shape.split("x");
+        Sudoku sudoku = new Sudoku(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]),
+                new BitmaskSolver(), seed);
+        Board board = sudoku.getBoard();
+        Board solution = sudoku.getSolvedBoard();
+        board.copyFrom(solution);
+
+        int blockRows = board.blockRows();
+        int blockCols = board.blockCols();
+        int blockCells = blockRows * blockCols;
+        int[] cells = new int[blockCells];
+        Random random = new Random(seed);
+        for (int block = 0; block < board.size(); block++) {
+            int firstRow = (block / blockRows) * blockRows;
+            int firstCol = (block % blockRows) * blockCols;
+            for (int i = 0; i < blockCells; i++) {
+                cells[i] = board.indexOf(firstRow + i / blockCols, firstCol + i % blockCols);
+            }
+            // Empty a random subset of the block (partial Fisher-Yates).
+            int empty = emptyPerBlock(blockCells);
+            for (int i = 0; i < empty; i++) {
+                int j = i + random.nextInt(blockCells - i);
+                int tmp = cells[i];
+                cells[i] = cells[j];
+                cells[j] = tmp;
+                board.set(cells[i], 0);
+            }
+        }
+        return sudoku;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.sudoku_game.bench.jmh;
+
+import com.example.sudoku_game.model.BitmaskSolver;
+import com.example.sudoku_game.model.Board;
+import com.example.sudoku_game.model.Difficulty;
+import com.example.sudoku_game.model.PuzzleGenerator;
+import com.example.sudoku_game.model.SolutionGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the generation paths: solution grids and unique puzzles.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenerateBenchmark {
+
+    @Param({"2x3", "3x3"})
+    private String shape; // Block shape of the board.
+
+    private SolutionGenerator solutions; // Generator of solution grids.
+    private PuzzleGenerator puzzles; // Generator of unique puzzles.
+    private Board grid; // Board that receives the solution grids.
+    private Board solution; // Grid the puzzles are cut from.
+    private Board puzzle; // Board that receives the puzzles.
+    private int targetClues; // Clue count of a MEDIUM puzzle.
+
+    /**
+     * Builds the generators and the grid the puzzles are cut from.
+     */
+    @Setup
+    public void setup() {
+        String[] parts = shape.split("x");
+        solutions = new SolutionGenerator(1L);
+        puzzles = new PuzzleGenerator(new BitmaskSolver(), 2L);
+        solution = new Board(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+        grid = new Board(solution);
+        puzzle = new Board(solution);
+        solutions.generate(solution);
+        targetClues = Difficulty.MEDIUM.getTargetClues(solution.cellCount());
+    }
+
+    /**
+     * Generates a solution grid.
+     * @return The generated grid.
+     */
+    @Benchmark
+    public Board solutionGrid() {
+        solutions.generate(grid);
+        return grid;
+    }
+
+    /**
+     * Cuts a MEDIUM puzzle with a unique solution from a fixed grid.
+     * @return The number of clues of the puzzle.
+     */
+    @Benchmark
+    public int uniquePuzzle() {
+        return puzzles.generate(solution, puzzle, targetClues);
+    }
+
+    /**
+     * Cuts a minimal puzzle with a unique solution from a fixed grid.
+     * @return The number of clues of the puzzle.
+     */
+    @Benchmark
+    public int minimalPuzzle() {
+        return puzzles.generate(solution, puzzle, PuzzleGenerator.MINIMAL);
+    }
+}
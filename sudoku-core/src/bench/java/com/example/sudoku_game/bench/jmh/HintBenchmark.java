@@ -0,0 +1,114 @@
+package com.example.sudoku_game.bench.jmh;
+
+import com.example.sudoku_game.model.Board;
+import com.example.sudoku_game.model.Hint;
+import com.example.sudoku_game.model.HintEngine;
+import com.example.sudoku_game.model.Sudoku;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the paths that reveal cells of the solution to the player.
+ * The calls that fill cells start from a fresh copy of the fixture board; {@link #copyOnly()} measures that copy alone.
+ * The hint lookups leave the board unchanged.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HintBenchmark {
+
+    @Param({"2x3", "3x3"})
+    private String shape; // Block shape of the board.
+
+    @Param({"EMPTY", "SPARSE", "NEAR_FULL"})
+    private BoardFill fill; // How many cells the board starts with.
+
+    private Board fixture; // Board every call starts from.
+    private Sudoku sudoku; // Game the cells are revealed in.
+    private int blocksPerRow; // Number of blocks side by side.
+    private int block; // Block filled by the next call.
+    private Board solution; // Solution of the fixture board.
+    private Random random; // Source of the cells picked by the hint lookups.
+
+    /**
+     * Builds the fixture board and the game.
+     */
+    @Setup
+    public void setup() {
+        fixture = fill.create(shape, 42L).getBoard();
+        sudoku = fill.create(shape, 42L);
+        blocksPerRow = fixture.size() / fixture.blockCols();
+        solution = sudoku.getSolvedBoard();
+        random = new Random(7L);
+    }
+
+    /**
+     * Copies the fixture without revealing anything, the baseline of the other benchmarks.
+     * @return The copied board.
+     */
+    @Benchmark
+    public Board copyOnly() {
+        sudoku.getBoard().copyFrom(fixture);
+        return sudoku.getBoard();
+    }
+
+    /**
+     * Reveals two cells of the next block.
+     * @return The board with the revealed cells.
+     */
+    @Benchmark
+    public Board fillTwoCellsInBlock() {
+        Board board = sudoku.getBoard();
+        board.copyFrom(fixture);
+        sudoku.fillTwoCellsInBlock(block / blocksPerRow, block % blocksPerRow);
+        block = block + 1 == board.size() ? 0 : block + 1;
+        return board;
+    }
+
+    /**
+     * Finds the next hint: a naked or hidden single, or a random empty cell of the solution.
+     * @return The hint, or null on a full board.
+     */
+    @Benchmark
+    public Hint nextHint() {
+        return HintEngine.nextHint(fixture, solution, random);
+    }
+
+    /**
+     * Finds a naked or hidden single only.
+     * @return The deduced move, or null if none applies.
+     */
+    @Benchmark
+    public Hint findSingle() {
+        return HintEngine.findSingle(fixture);
+    }
+
+    /**
+     * Picks an empty cell the way the help button used to: drawing random cells until one is empty.
+     * This is the baseline of the constant-time pick in {@link #nextHint()}.
+     * @return The index of the empty cell.
+     */
+    @Benchmark
+    public int rejectionSampledEmptyCell() {
+        int index;
+        do {
+            index = random.nextInt(fixture.cellCount());
+        } while (fixture.get(index) != 0);
+        return index;
+    }
+}
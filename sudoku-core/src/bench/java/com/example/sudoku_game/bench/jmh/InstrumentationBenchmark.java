@@ -0,0 +1,120 @@
+package com.example.sudoku_game.bench.jmh;
+
+import com.example.sudoku_game.metrics.Histogram;
+import com.example.sudoku_game.metrics.Metrics;
+import com.example.sudoku_game.metrics.ValidationEvent;
+import com.example.sudoku_game.model.Difficulty;
+import com.example.sudoku_game.model.PuzzleFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the Flight Recorder events and the metrics on the paths they instrument.
+ * {@link #probe()} runs the instrumentation of a keystroke around no work at all, so with everything off it must
+ * match {@link #baseline()}; each benchmark also runs in a fork with the metrics on and in one with a recording
+ * running, to show what turning them on costs. Puzzle generation gives the same comparison on a real hot path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstrumentationBenchmark {
+
+    private static final Histogram PROBE_TIME = Metrics.histogram("bench.probe.nanos"); // Filled by the probe.
+
+    private long index; // Position of the next generated puzzle.
+    private int value; // Value reported by the next probe.
+
+    /**
+     * Does nothing but return a changing value; the floor of {@link #probe()}.
+     * @return The next value.
+     */
+    @Benchmark
+    public int baseline() {
+        return value++;
+    }
+
+    /**
+     * Begins, fills and ends a keystroke event and times it into a histogram, guarded as the game does.
+     * @return The next value.
+     */
+    @Benchmark
+    public int probe() {
+        ValidationEvent event = new ValidationEvent();
+        event.begin();
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        int result = value++;
+        if (Metrics.ENABLED) {
+            PROBE_TIME.record(System.nanoTime() - start);
+        }
+        if (event.shouldCommit()) {
+            event.value = result;
+            event.valid = true;
+            event.commit();
+        }
+        return result;
+    }
+
+    /**
+     * Same as {@link #probe()} with the metrics on.
+     * @return The next value.
+     */
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dsudoku.metrics=true")
+    public int probeMetrics() {
+        return probe();
+    }
+
+    /**
+     * Same as {@link #probe()} while a recording runs with the default settings, which enable the game's events.
+     * @return The next value.
+     */
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-XX:StartFlightRecording:filename=target/bench/instrumentation.jfr")
+    public int probeRecording() {
+        return probe();
+    }
+
+    /**
+     * Generates a 6x6 puzzle, which reports one generation event and the generation metrics.
+     * @return The clues of the puzzle.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int generate() {
+        return PuzzleFactory.create(index++, Difficulty.HARD, 42L).getClues();
+    }
+
+    /**
+     * Same as {@link #generate()} with the metrics on.
+     * @return The clues of the puzzle.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Fork(value = 1, jvmArgsAppend = "-Dsudoku.metrics=true")
+    public int generateMetrics() {
+        return generate();
+    }
+
+    /**
+     * Same as {@link #generate()} while a recording runs.
+     * @return The clues of the puzzle.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Fork(value = 1, jvmArgsAppend = "-XX:StartFlightRecording:filename=target/bench/instrumentation.jfr")
+    public int generateRecording() {
+        return generate();
+    }
+}
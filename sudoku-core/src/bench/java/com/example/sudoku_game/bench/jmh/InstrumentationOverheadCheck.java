@@ -0,0 +1,54 @@
+package com.example.sudoku_game.bench.jmh;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Proves that the instrumentation is free when it is off: runs {@link InstrumentationBenchmark#baseline()} and
+ * {@link InstrumentationBenchmark#probe()} with the metrics off and no recording, and fails if the probe takes more
+ * than {@value #MAX_RATIO} times the baseline plus {@value #MAX_EXTRA_NANOS} ns. A probe that reads the clock or
+ * allocates its event when nothing listens costs several times the baseline, well past the limit.
+ * Run with: mvn -Pbench -pl sudoku-core test-compile exec:exec@jmh-check
+ */
+public final class InstrumentationOverheadCheck {
+
+    private static final double MAX_RATIO = 1.5; // Largest ratio of the probe time to the baseline time.
+    private static final double MAX_EXTRA_NANOS = 0.5; // Allowance on top of the ratio for timer noise, in ns.
+
+    /**
+     * Prevents instantiation; the class only holds the entry point.
+     */
+    private InstrumentationOverheadCheck() {
+    }
+
+    /**
+     * Runs the two benchmarks and compares them; exits with status 1 if the probe is too slow.
+     * @param args Unused.
+     * @throws RunnerException If JMH cannot run the benchmarks.
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(InstrumentationBenchmark.class.getName() + "\\.(baseline|probe)$")
+                .build();
+        Map<String, Double> scores = new HashMap<>();
+        for (RunResult result : new Runner(options).run()) {
+            String benchmark = result.getParams().getBenchmark();
+            scores.put(benchmark.substring(benchmark.lastIndexOf('.') + 1), result.getPrimaryResult().getScore());
+        }
+        double baseline = scores.get("baseline");
+        double probe = scores.get("probe");
+        double limit = baseline * MAX_RATIO + MAX_EXTRA_NANOS;
+        System.out.printf("baseline %.3f ns, disabled probe %.3f ns, limit %.3f ns%n", baseline, probe, limit);
+        if (probe > limit) {
+            System.out.println("FAIL: the disabled instrumentation costs more than the limit");
+            System.exit(1);
+        }
+        System.out.println("PASS: the disabled instrumentation costs nothing measurable");
+    }
+}
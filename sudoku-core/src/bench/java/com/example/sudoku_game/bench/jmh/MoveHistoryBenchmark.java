@@ -0,0 +1,98 @@
+package com.example.sudoku_game.bench.jmh;
+
+import com.example.sudoku_game.model.Board;
+import com.example.sudoku_game.model.MoveHistory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of walking a long session back and forth through its move history, as a replay tool does.
+ * Every step restores one cell with {@link Board#set}, so the conflict counters stay current without
+ * revalidating the board; run with -prof gc to check that no step allocates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveHistoryBenchmark {
+
+    @Param({"2x3", "3x3"})
+    private String shape; // Block shape of the board.
+
+    @Param({"100000"})
+    private int session; // Moves in the recorded session.
+
+    private Board board; // Board the session is played on.
+    private MoveHistory history; // Moves of the session.
+    private int[] moves; // Moves of the session, to record again.
+    private boolean forward; // Whether the walk is redoing or undoing.
+    private int pushed; // Moves recorded by the push benchmark since the last clear.
+
+    /**
+     * Plays a random session, numbers that break the rules included, and records every move.
+     */
+    @Setup
+    public void setup() {
+        String[] parts = shape.split("x");
+        board = new Board(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+        history = new MoveHistory();
+        moves = new int[session];
+        SplittableRandom random = new SplittableRandom(42L);
+        for (int i = 0; i < session; i++) {
+            int index = random.nextInt(board.cellCount());
+            int value = random.nextInt(board.size() + 1);
+            int before = board.get(index);
+            board.set(index, value);
+            moves[i] = MoveHistory.move(index, MoveHistory.state(before, before, false),
+                    MoveHistory.state(value, value, false));
+            history.push(moves[i]);
+        }
+    }
+
+    /**
+     * Undoes the next move, or redoes it once the start of the session is reached, and so on back and forth.
+     * @return The conflicts left on the board.
+     */
+    @Benchmark
+    public int step() {
+        if (forward ? !history.canRedo() : !history.canUndo()) {
+            forward = !forward;
+        }
+        if (forward) {
+            int move = history.redo();
+            board.set(MoveHistory.index(move), MoveHistory.value(MoveHistory.after(move)));
+        } else {
+            int move = history.undo();
+            board.set(MoveHistory.index(move), MoveHistory.value(MoveHistory.before(move)));
+        }
+        return board.getConflictCount();
+    }
+
+    /**
+     * Records a move, starting over once a whole session is recorded.
+     * @return The moves in the history.
+     */
+    @Benchmark
+    public int push() {
+        if (pushed == session) {
+            history.clear();
+            pushed = 0;
+        }
+        history.push(moves[pushed++]);
+        return history.size();
+    }
+}
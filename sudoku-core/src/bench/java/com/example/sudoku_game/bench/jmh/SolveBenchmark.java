@@ -0,0 +1,84 @@
+package com.example.sudoku_game.bench.jmh;
+
+import com.example.sudoku_game.model.BacktrackingSolver;
+import com.example.sudoku_game.model.BitmaskSolver;
+import com.example.sudoku_game.model.Board;
+import com.example.sudoku_game.model.Solver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of solving and solution counting with each {@link Solver}.
+ * Every call starts from a fresh copy of the fixture board; {@link #copyOnly()} measures that copy alone.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolveBenchmark {
+
+    @Param({"2x3", "3x3"})
+    private String shape; // Block shape of the board.
+
+    @Param({"EMPTY", "SPARSE", "NEAR_FULL"})
+    private BoardFill fill; // How many cells the board starts with.
+
+    @Param({"bitmask", "backtracking"})
+    private String solverName; // Engine under test.
+
+    private Board fixture; // Board every call starts from.
+    private Board work; // Board the solver writes to.
+    private Solver solver; // Engine under test.
+
+    /**
+     * Builds the fixture board and the solver.
+     */
+    @Setup
+    public void setup() {
+        fixture = fill.create(shape, 42L).getBoard();
+        work = new Board(fixture);
+        solver = solverName.equals("bitmask") ? new BitmaskSolver() : new BacktrackingSolver();
+    }
+
+    /**
+     * Copies the fixture without solving it, the baseline of the other benchmarks.
+     * @return The copied board.
+     */
+    @Benchmark
+    public Board copyOnly() {
+        work.copyFrom(fixture);
+        return work;
+    }
+
+    /**
+     * Solves a copy of the fixture.
+     * @return true if the board was solved.
+     */
+    @Benchmark
+    public boolean solve() {
+        work.copyFrom(fixture);
+        return solver.solve(work);
+    }
+
+    /**
+     * Counts up to two solutions of the fixture, the check used for uniqueness.
+     * @return The number of solutions found.
+     */
+    @Benchmark
+    public int countSolutions() {
+        return solver.countSolutions(fixture, 2);
+    }
+}
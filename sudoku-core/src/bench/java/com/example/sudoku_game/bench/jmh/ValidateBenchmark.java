@@ -0,0 +1,92 @@
+package com.example.sudoku_game.bench.jmh;
+
+import com.example.sudoku_game.model.Sudoku;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the validity checks the controller runs on every keystroke.
+ * Each call checks the next (cell, value) pair, so the whole board and every digit are covered.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidateBenchmark {
+
+    @Param({"2x3", "3x3"})
+    private String shape; // Block shape of the board.
+
+    @Param({"EMPTY", "SPARSE", "NEAR_FULL"})
+    private BoardFill fill; // How many cells the board starts with.
+
+    private Sudoku sudoku; // Game under test.
+    private ArrayList<ArrayList<Integer>> rows; // List view of the board for the legacy check.
+    private int size; // Size of the board.
+    private int cursor; // Position in the sequence of (cell, value) pairs.
+
+    /**
+     * Builds the fixture game.
+     */
+    @Setup
+    public void setup() {
+        sudoku = fill.create(shape, 42L);
+        rows = sudoku.getSudoku();
+        size = sudoku.getSudokuSize();
+    }
+
+    /**
+     * Checks a value with the constant-time masks of the board.
+     * @return true if the value is allowed.
+     */
+    @Benchmark
+    public boolean checkValidValue() {
+        int pair = next();
+        int cell = pair / size;
+        return sudoku.checkValidValue(cell / size, cell % size, pair % size + 1);
+    }
+
+    /**
+     * Checks a value by scanning the list view of the board.
+     * @return true if the value is allowed.
+     */
+    @Benchmark
+    public boolean checkValidValueList() {
+        int pair = next();
+        int cell = pair / size;
+        return sudoku.checkValidValue(cell / size, cell % size, pair % size + 1, rows);
+    }
+
+    /**
+     * Checks whether the board is solved.
+     * @return true if the board is complete and consistent.
+     */
+    @Benchmark
+    public boolean isSudokuSolved() {
+        return sudoku.isSudokuSolved();
+    }
+
+    /**
+     * Advances to the next (cell, value) pair.
+     * @return The pair, encoded as cell * size + value - 1.
+     */
+    private int next() {
+        int pair = cursor;
+        cursor = pair + 1 == size * size * size ? 0 : pair + 1;
+        return pair;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.sudoku_game.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A named count that any number of threads may add to at once, obtained from {@link Metrics#counter}.
+ */
+public final class Counter {
+
+    private final String name; // Name the counter is registered under.
+    private final LongAdder value = new LongAdder(); // Running total, striped across threads.
+
+    /**
+     * Creates a counter at 0.
+     * @param name The name the counter is registered under.
+     */
+    Counter(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Adds 1 to the counter.
+     */
+    public void increment() {
+        value.increment();
+    }
+
+    /**
+     * Adds an amount to the counter.
+     * @param amount The amount to add.
+     */
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    /**
+     * Returns the current total.
+     * @return The sum of everything added so far.
+     */
+    public long get() {
+        return value.sum();
+    }
+
+    /**
+     * Sets the counter back to 0.
+     */
+    void reset() {
+        value.reset();
+    }
+
+    /**
+     * Returns the name of the counter.
+     * @return The name the counter is registered under.
+     */
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.sudoku_game.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one press of the help button, timed from the search for a hint to the filled cell.
+ */
+@Name("com.example.sudoku_game.Hint")
+@Label("Hint Request")
+@Category("Sudoku")
+@Description("A hint asked for by the player")
+@StackTrace(false)
+public final class HintEvent extends Event {
+
+    @Label("Row")
+    public int row; // Row of the hinted cell, -1 when no hint was given.
+
+    @Label("Column")
+    public int col; // Column of the hinted cell, -1 when no hint was given.
+
+    @Label("Value")
+    public int value; // Number revealed, 0 when no hint was given.
+
+    @Label("Reason")
+    public String reason; // Deduction behind the hint, or why none was given.
+
+    @Label("Helps Used")
+    public int helps; // Hints used in the game, this one included.
+}
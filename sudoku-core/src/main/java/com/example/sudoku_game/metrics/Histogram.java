@@ -0,0 +1,109 @@
+package com.example.sudoku_game.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A named distribution of durations in nanoseconds, obtained from {@link Metrics#histogram}.
+ * Values are counted in 64 power-of-two buckets, so recording is a few atomic adds whatever the range, and a
+ * percentile is known to within a factor of 2. Any number of threads may record at once.
+ */
+public final class Histogram {
+
+    private static final int BUCKETS = Long.SIZE; // Bucket b holds 2^b to 2^(b+1) - 1, and bucket 0 also holds 0.
+
+    private final String name; // Name the histogram is registered under.
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS); // Values recorded in each bucket.
+    private final LongAdder count = new LongAdder(); // Values recorded.
+    private final LongAdder sum = new LongAdder(); // Total of the values recorded.
+    private final AtomicLong max = new AtomicLong(); // Largest value recorded.
+
+    /**
+     * Creates an empty histogram.
+     * @param name The name the histogram is registered under.
+     */
+    Histogram(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records a duration.
+     * @param nanos The duration in nanoseconds; negative values count as 0.
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        buckets.incrementAndGet(Long.SIZE - 1 - Long.numberOfLeadingZeros(value | 1));
+        count.increment();
+        sum.add(value);
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * Returns the number of durations recorded.
+     * @return The count.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the total of the durations recorded.
+     * @return The sum in nanoseconds.
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * Returns the longest duration recorded.
+     * @return The maximum in nanoseconds, 0 if nothing was recorded.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns an upper bound of a percentile: the top of the bucket holding it, capped by the maximum.
+     * @param fraction The fraction of the values that lie at or below the result, from 0 to 1.
+     * @return The bound in nanoseconds, 0 if nothing was recorded.
+     */
+    public long percentile(double fraction) {
+        long total = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            total += buckets.get(b);
+        }
+        long rank = (long) Math.ceil(fraction * total);
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += buckets.get(b);
+            if (seen >= rank && seen > 0) {
+                long top = b >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << (b + 1)) - 1;
+                return Math.min(top, getMax());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Forgets every duration recorded.
+     */
+    void reset() {
+        for (int b = 0; b < BUCKETS; b++) {
+            buckets.set(b, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    /**
+     * Returns the name of the histogram.
+     * @return The name the histogram is registered under.
+     */
+    public String getName() {
+        return name;
+    }
+}
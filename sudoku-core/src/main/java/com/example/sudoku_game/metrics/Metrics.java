@@ -0,0 +1,97 @@
+package com.example.sudoku_game.metrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The Metrics class is the in-process registry of the game's counters and duration histograms, for sessions where
+ * no Flight Recorder is attached. Instrumented code keeps its counters in static fields and guards every update
+ * with {@link #ENABLED}, which is read once at startup (-Dsudoku.metrics=true): when it is false the JIT drops the
+ * guarded code, timestamps included, so a disabled build pays nothing on its hot paths.
+ * The current values can be scraped as text with {@link #snapshot()} or written to a file with {@link #dump}.
+ */
+public final class Metrics {
+
+    public static final String ENABLED_PROPERTY = "sudoku.metrics"; // System property that turns the metrics on.
+    public static final String FILE_PROPERTY = "sudoku.metrics.file"; // System property naming the dump file.
+    public static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY); // Whether to record metrics.
+
+    private static final Map<String, Counter> COUNTERS = new ConcurrentSkipListMap<>(); // Counters by name.
+    private static final Map<String, Histogram> HISTOGRAMS = new ConcurrentSkipListMap<>(); // Histograms by name.
+
+    /**
+     * Prevents instantiation; all methods are static.
+     */
+    private Metrics() {
+    }
+
+    /**
+     * Returns the counter registered under a name, registering it on first use.
+     * @param name The name of the counter, such as "hint.requests".
+     * @return The counter.
+     */
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, Counter::new);
+    }
+
+    /**
+     * Returns the histogram registered under a name, registering it on first use.
+     * @param name The name of the histogram, such as "validation.nanos".
+     * @return The histogram.
+     */
+    public static Histogram histogram(String name) {
+        return HISTOGRAMS.computeIfAbsent(name, Histogram::new);
+    }
+
+    /**
+     * Sets every counter and histogram back to empty; they stay registered.
+     */
+    public static void reset() {
+        COUNTERS.values().forEach(Counter::reset);
+        HISTOGRAMS.values().forEach(Histogram::reset);
+    }
+
+    /**
+     * Returns the current values, one line per counter or histogram in name order, for instance
+     * "counter hint.requests 3" or "histogram validation.nanos count=40 mean=8123 p50=8191 p99=32767 max=20480".
+     * @return The text of the snapshot.
+     */
+    public static String snapshot() {
+        StringBuilder text = new StringBuilder();
+        for (Counter counter : COUNTERS.values()) {
+            text.append("counter ").append(counter.getName()).append(' ').append(counter.get()).append('\n');
+        }
+        for (Histogram histogram : HISTOGRAMS.values()) {
+            long count = histogram.getCount();
+            text.append("histogram ").append(histogram.getName())
+                    .append(" count=").append(count)
+                    .append(" mean=").append(count == 0 ? 0 : histogram.getSum() / count)
+                    .append(" p50=").append(histogram.percentile(0.5))
+                    .append(" p99=").append(histogram.percentile(0.99))
+                    .append(" max=").append(histogram.getMax())
+                    .append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * Writes a snapshot to a file, replacing it at once so a scraper never reads half of it.
+     * @param file The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void dump(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            Files.writeString(tmp, snapshot());
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.sudoku_game.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one puzzle carved out of a solution grid, timed from the first removal to the last.
+ */
+@Name("com.example.sudoku_game.PuzzleGeneration")
+@Label("Puzzle Generation")
+@Category("Sudoku")
+@Description("Clues removed from a solution grid until the target or a minimal puzzle is reached")
+@StackTrace(false)
+public final class PuzzleGenerationEvent extends Event {
+
+    @Label("Cells")
+    public int cells; // Cells of the board.
+
+    @Label("Target Clues")
+    public int targetClues; // Clues asked for, 0 for a minimal puzzle.
+
+    @Label("Clues")
+    public int clues; // Clues left in the puzzle.
+
+    @Label("Uniqueness Checks")
+    public int checks; // Searches run to prove a removal kept the solution unique.
+
+    @Label("Nodes Searched")
+    public long nodes; // Search nodes visited by those searches.
+
+    @Label("Backtracks")
+    public long backtracks; // Guesses taken back by those searches.
+}
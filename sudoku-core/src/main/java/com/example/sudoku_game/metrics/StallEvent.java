@@ -0,0 +1,29 @@
+package com.example.sudoku_game.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for a stall of the user interface thread: a task posted to it started late.
+ * The event is committed when the late task runs, so its own duration is near 0; the delay is in a field.
+ */
+@Name("com.example.sudoku_game.Stall")
+@Label("UI Thread Stall")
+@Category("Sudoku")
+@Description("A task posted to the user interface thread waited longer than the stall threshold")
+@StackTrace(false)
+public final class StallEvent extends Event {
+
+    @Label("Delay")
+    @Timespan(Timespan.NANOSECONDS)
+    public long delay; // Time between posting the task and running it.
+
+    @Label("Threshold")
+    @Timespan(Timespan.NANOSECONDS)
+    public long threshold; // Delay above which a task counts as stalled.
+}
@@ -0,0 +1,32 @@
+package com.example.sudoku_game.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one keystroke checked against the board, timed from the text change to the end of
+ * the cell update, which is the latency the player feels.
+ */
+@Name("com.example.sudoku_game.Validation")
+@Label("Keystroke Validation")
+@Category("Sudoku")
+@Description("A number typed in a cell, checked against its row, column and block")
+@StackTrace(false)
+public final class ValidationEvent extends Event {
+
+    @Label("Row")
+    public int row; // Row of the cell.
+
+    @Label("Column")
+    public int col; // Column of the cell.
+
+    @Label("Value")
+    public int value; // Number typed, 0 when the cell was erased, -1 when the text is not a number.
+
+    @Label("Valid")
+    public boolean valid; // Whether the number was accepted.
+}
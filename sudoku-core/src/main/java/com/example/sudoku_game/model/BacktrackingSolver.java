@@ -0,0 +1,70 @@
+package com.example.sudoku_game.model;
+
+/**
+ * Solver that fills the board cell by cell in row-major order, trying the values in ascending order
+ * and backtracking when a cell has no valid value. This is the original algorithm of the game.
+ */
+public class BacktrackingSolver implements Solver {
+
+    private int count; // Solutions found by the current count.
+    private int limit; // Solutions to look for before stopping.
+
+    /**
+     * Solves the board using backtracking.
+     * @param board The board to solve in place.
+     * @return true if the board was solved, false if it has no solution.
+     */
+    @Override
+    public boolean solve(Board board) {
+        count = 0;
+        limit = 1;
+        return search(board, 0, true);
+    }
+
+    /**
+     * Counts the solutions of the board using backtracking.
+     * @param board The board whose solutions are counted.
+     * @param limit The maximum number of solutions to look for.
+     * @return The number of solutions found, never greater than the limit.
+     */
+    @Override
+    public int countSolutions(Board board, int limit) {
+        count = 0;
+        this.limit = limit;
+        search(board, 0, false);
+        return count;
+    }
+
+    /**
+     * Tries every valid value in the given cell and continues with the next one.
+     * @param board The board being solved.
+     * @param index The index of the current cell.
+     * @param keep true to leave the first solution on the board, false to restore every cell.
+     * @return true if the search must stop, false if backtracking is needed.
+     */
+    private boolean search(Board board, int index, boolean keep) {
+        if (index == board.cellCount()) {
+            return ++count >= limit;
+        }
+
+        if (board.get(index) != 0) {
+            return search(board, index + 1, keep);
+        }
+
+        int row = board.rowOf(index);
+        int col = board.colOf(index);
+        for (int num = 1; num <= board.size(); num++) {
+            if (board.isAllowed(row, col, num)) {
+                board.set(index, num);
+                if (search(board, index + 1, keep)) {
+                    if (!keep) {
+                        board.set(index, 0);
+                    }
+                    return true;
+                }
+                board.set(index, 0); // Backtracking
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,566 @@
+package com.example.sudoku_game.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The Board class is a compact representation of a Sudoku grid made of blocks of
+ * blockRows x blockCols cells, from 4x4 up to 25x25 (the game uses 6x6 with 2x3 blocks).
+ * Cells are stored in a flat byte array and every row, column and block keeps a bitmask
+ * of the digits placed in it, so validity checks are constant time and never allocate.
+ * The board also keeps running counts of filled cells and of conflicts (repeated digits in a unit),
+ * so checking whether it is solved is constant time as well, and an index of its empty cells
+ * (an array where a filled cell is swap-removed) so any empty cell can be picked in constant time.
+ */
+public final class Board {
+
+    public static final int DEFAULT_BLOCK_ROWS = 2; // Rows per block of the game board.
+    public static final int DEFAULT_BLOCK_COLS = 3; // Columns per block of the game board.
+    public static final int MAX_SIZE = 25; // Largest supported size; every digit must fit in an int mask.
+
+    private static final Map<Integer, Geometry> GEOMETRIES = new ConcurrentHashMap<>(); // Shared lookup tables per block shape.
+
+    private final Geometry geometry; // Lookup tables for the shape of this board.
+    private final int size; // Number of rows, columns, digits and blocks.
+    private final byte[] cells; // Cell values, 0 for empty.
+    private final int[] rowMasks; // Digits present in each row.
+    private final int[] colMasks; // Digits present in each column.
+    private final int[] blockMasks; // Digits present in each block.
+    private final byte[] rowCounts; // Occurrences of each digit in each row.
+    private final byte[] colCounts; // Occurrences of each digit in each column.
+    private final byte[] blockCounts; // Occurrences of each digit in each block.
+    private final byte[] rowConflicts; // Repeated placements in each row.
+    private final byte[] colConflicts; // Repeated placements in each column.
+    private final byte[] blockConflicts; // Repeated placements in each block.
+    private final int[] emptyCells; // Indexes of the empty cells in the first cellCount() - filled slots.
+    private final int[] emptySlot; // Position of each empty cell in emptyCells.
+    private int filled; // Number of non-empty cells.
+    private int conflicts; // Repeated placements over every row, column and block.
+
+    /**
+     * Creates an empty 6x6 board with 2x3 blocks.
+     */
+    public Board() {
+        this(DEFAULT_BLOCK_ROWS, DEFAULT_BLOCK_COLS);
+    }
+
+    /**
+     * Creates an empty board made of blocks of the given shape.
+     * @param blockRows The number of rows in each block.
+     * @param blockCols The number of columns in each block.
+     * @throws IllegalArgumentException If the block shape is empty or the board would be larger than {@link #MAX_SIZE}.
+     */
+    public Board(int blockRows, int blockCols) {
+        this(geometry(blockRows, blockCols));
+    }
+
+    /**
+     * Creates a copy of another board.
+     * @param other The board to copy.
+     */
+    public Board(Board other) {
+        this(other.geometry);
+        copyFrom(other);
+    }
+
+    /**
+     * Creates an empty board with the given lookup tables.
+     * @param geometry The shape of the board.
+     */
+    private Board(Geometry geometry) {
+        this.geometry = geometry;
+        this.size = geometry.size;
+        this.cells = new byte[geometry.cells];
+        this.rowMasks = new int[size];
+        this.colMasks = new int[size];
+        this.blockMasks = new int[size];
+        this.rowCounts = new byte[size * size];
+        this.colCounts = new byte[size * size];
+        this.blockCounts = new byte[size * size];
+        this.rowConflicts = new byte[size];
+        this.colConflicts = new byte[size];
+        this.blockConflicts = new byte[size];
+        this.emptyCells = new int[geometry.cells];
+        this.emptySlot = new int[geometry.cells];
+        resetEmptyCells();
+    }
+
+    /**
+     * Returns the shared lookup tables of a block shape, building them the first time.
+     * @param blockRows The number of rows in each block.
+     * @param blockCols The number of columns in each block.
+     * @return The geometry of the shape.
+     */
+    private static Geometry geometry(int blockRows, int blockCols) {
+        if (blockRows < 1 || blockCols < 1 || blockRows * blockCols > MAX_SIZE) {
+            throw new IllegalArgumentException("Unsupported block shape " + blockRows + "x" + blockCols);
+        }
+        return GEOMETRIES.computeIfAbsent(blockRows * (MAX_SIZE + 1) + blockCols,
+                key -> new Geometry(blockRows, blockCols));
+    }
+
+    /**
+     * Returns the number of rows, columns and digits of the board.
+     * @return The size of the board.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of cells of the board.
+     * @return The size of the board squared.
+     */
+    public int cellCount() {
+        return geometry.cells;
+    }
+
+    /**
+     * Returns the number of rows in each block.
+     * @return The block height.
+     */
+    public int blockRows() {
+        return geometry.blockRows;
+    }
+
+    /**
+     * Returns the number of columns in each block.
+     * @return The block width.
+     */
+    public int blockCols() {
+        return geometry.blockCols;
+    }
+
+    /**
+     * Returns the bitmask with every digit of the board set.
+     * @return A mask where bit d-1 is set for every digit d.
+     */
+    public int allDigits() {
+        return geometry.allDigits;
+    }
+
+    /**
+     * Checks if another board has the same block shape as this one.
+     * @param other The board to compare with.
+     * @return true if both boards have the same size and block shape.
+     */
+    public boolean hasSameShape(Board other) {
+        return geometry == other.geometry;
+    }
+
+    /**
+     * Returns the flat index of a cell.
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return The index of the cell in row-major order.
+     */
+    public int indexOf(int row, int col) {
+        return row * size + col;
+    }
+
+    /**
+     * Returns the row of a cell.
+     * @param index The index of the cell.
+     * @return The row of the cell.
+     */
+    public int rowOf(int index) {
+        return geometry.rowOf[index];
+    }
+
+    /**
+     * Returns the column of a cell.
+     * @param index The index of the cell.
+     * @return The column of the cell.
+     */
+    public int colOf(int index) {
+        return geometry.colOf[index];
+    }
+
+    /**
+     * Returns the block that contains a cell.
+     * @param index The index of the cell.
+     * @return The block index, numbered left to right and top to bottom.
+     */
+    public int blockOf(int index) {
+        return geometry.blockOf[index];
+    }
+
+    /**
+     * Returns the block that contains a cell.
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return The block index, numbered left to right and top to bottom.
+     */
+    public int blockOf(int row, int col) {
+        return geometry.blockOf[indexOf(row, col)];
+    }
+
+    /**
+     * Returns the cells of every unit: the rows first, then the columns, then the blocks.
+     * The array is shared and must not be modified.
+     * @return The cell indexes of each of the 3 x size units.
+     */
+    int[][] units() {
+        return geometry.units;
+    }
+
+    /**
+     * Returns the cells that share a row, column or block with a cell, the cell itself excluded.
+     * The array is shared and must not be modified.
+     * @param index The index of the cell.
+     * @return The indexes of the peers of the cell.
+     */
+    int[] peers(int index) {
+        return geometry.peers[index];
+    }
+
+    /**
+     * Returns the digits placed in a unit, numbered as in {@link #units()}.
+     * @param unit The unit to check.
+     * @return A bitmask of the digits present in the unit.
+     */
+    int unitMask(int unit) {
+        if (unit < size) {
+            return rowMasks[unit];
+        }
+        if (unit < 2 * size) {
+            return colMasks[unit - size];
+        }
+        return blockMasks[unit - 2 * size];
+    }
+
+    /**
+     * Gets the value of a cell.
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return The value of the cell, or 0 if it is empty.
+     */
+    public int get(int row, int col) {
+        return cells[indexOf(row, col)];
+    }
+
+    /**
+     * Gets the value of a cell by its flat index.
+     * @param index The index of the cell.
+     * @return The value of the cell, or 0 if it is empty.
+     */
+    public int get(int index) {
+        return cells[index];
+    }
+
+    /**
+     * Sets the value of a cell and updates the masks of its row, column and block.
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @param value The new value, or 0 to empty the cell.
+     */
+    public void set(int row, int col, int value) {
+        set(indexOf(row, col), value);
+    }
+
+    /**
+     * Sets the value of a cell by its flat index.
+     * @param index The index of the cell.
+     * @param value The new value, or 0 to empty the cell.
+     */
+    public void set(int index, int value) {
+        int old = cells[index];
+        if (old == value) {
+            return;
+        }
+        if (old == 0) {
+            // Swap-remove the cell from the empty cell index.
+            int slot = emptySlot[index];
+            int moved = emptyCells[geometry.cells - filled - 1];
+            emptyCells[slot] = moved;
+            emptySlot[moved] = slot;
+        } else if (value == 0) {
+            int slot = geometry.cells - filled;
+            emptyCells[slot] = index;
+            emptySlot[index] = slot;
+        }
+        int row = geometry.rowOf[index];
+        int col = geometry.colOf[index];
+        int block = geometry.blockOf[index];
+        if (old != 0) {
+            int digit = old - 1;
+            filled--;
+            if (--rowCounts[row * size + digit] == 0) {
+                rowMasks[row] &= ~(1 << digit);
+            } else {
+                rowConflicts[row]--;
+                conflicts--;
+            }
+            if (--colCounts[col * size + digit] == 0) {
+                colMasks[col] &= ~(1 << digit);
+            } else {
+                colConflicts[col]--;
+                conflicts--;
+            }
+            if (--blockCounts[block * size + digit] == 0) {
+                blockMasks[block] &= ~(1 << digit);
+            } else {
+                blockConflicts[block]--;
+                conflicts--;
+            }
+        }
+        if (value != 0) {
+            int digit = value - 1;
+            filled++;
+            if (rowCounts[row * size + digit]++ != 0) {
+                rowConflicts[row]++;
+                conflicts++;
+            }
+            if (colCounts[col * size + digit]++ != 0) {
+                colConflicts[col]++;
+                conflicts++;
+            }
+            if (blockCounts[block * size + digit]++ != 0) {
+                blockConflicts[block]++;
+                conflicts++;
+            }
+            rowMasks[row] |= 1 << digit;
+            colMasks[col] |= 1 << digit;
+            blockMasks[block] |= 1 << digit;
+        }
+        cells[index] = (byte) value;
+    }
+
+    /**
+     * Checks if a value can be placed in a cell according to Sudoku rules.
+     * A cell that already holds the value is always considered valid.
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @param value The value to check.
+     * @return true if the value does not appear in the row, column or block, false otherwise.
+     */
+    public boolean isAllowed(int row, int col, int value) {
+        int index = indexOf(row, col);
+        if (cells[index] == value) {
+            return true;
+        }
+        return (usedMask(index) & (1 << (value - 1))) == 0;
+    }
+
+    /**
+     * Returns the digits that can still be placed in a cell.
+     * @param index The index of the cell.
+     * @return A bitmask where bit d-1 is set if digit d is not used by any peer unit.
+     */
+    public int candidates(int index) {
+        return ~usedMask(index) & geometry.allDigits;
+    }
+
+    /**
+     * Returns the digits used in the row, column and block of a cell.
+     * @param index The index of the cell.
+     * @return A bitmask of the digits present in the peer units.
+     */
+    private int usedMask(int index) {
+        return rowMasks[geometry.rowOf[index]] | colMasks[geometry.colOf[index]] | blockMasks[geometry.blockOf[index]];
+    }
+
+    /**
+     * Returns the number of non-empty cells.
+     * @return The filled cell count.
+     */
+    public int getFilledCount() {
+        return filled;
+    }
+
+    /**
+     * Returns the number of empty cells.
+     * @return The empty cell count.
+     */
+    public int getEmptyCount() {
+        return geometry.cells - filled;
+    }
+
+    /**
+     * Returns one of the empty cells. The order of the empty cells is arbitrary and changes as cells are set,
+     * but every empty cell appears exactly once for positions 0 to {@link #getEmptyCount()} - 1.
+     * @param position The position of the cell in the empty cell index.
+     * @return The index of the empty cell.
+     */
+    public int getEmptyCell(int position) {
+        return emptyCells[position];
+    }
+
+    /**
+     * Returns the number of conflicts on the board. Every placement of a digit that is already
+     * present in a row, column or block counts once for that unit.
+     * @return The total conflict count, 0 if no unit repeats a digit.
+     */
+    public int getConflictCount() {
+        return conflicts;
+    }
+
+    /**
+     * Returns the number of repeated placements in a row.
+     * @param row The row to check.
+     * @return The conflict count of the row.
+     */
+    public int getRowConflicts(int row) {
+        return rowConflicts[row];
+    }
+
+    /**
+     * Returns the number of repeated placements in a column.
+     * @param col The column to check.
+     * @return The conflict count of the column.
+     */
+    public int getColumnConflicts(int col) {
+        return colConflicts[col];
+    }
+
+    /**
+     * Returns the number of repeated placements in a block.
+     * @param block The block to check.
+     * @return The conflict count of the block.
+     */
+    public int getBlockConflicts(int block) {
+        return blockConflicts[block];
+    }
+
+    /**
+     * Checks if every cell is filled and no unit repeats a digit.
+     * @return true if the board is a complete, valid solution.
+     */
+    public boolean isSolved() {
+        return filled == geometry.cells && conflicts == 0;
+    }
+
+    /**
+     * Empties every cell of the board.
+     */
+    public void clear() {
+        Arrays.fill(cells, (byte) 0);
+        Arrays.fill(rowMasks, 0);
+        Arrays.fill(colMasks, 0);
+        Arrays.fill(blockMasks, 0);
+        Arrays.fill(rowCounts, (byte) 0);
+        Arrays.fill(colCounts, (byte) 0);
+        Arrays.fill(blockCounts, (byte) 0);
+        Arrays.fill(rowConflicts, (byte) 0);
+        Arrays.fill(colConflicts, (byte) 0);
+        Arrays.fill(blockConflicts, (byte) 0);
+        filled = 0;
+        conflicts = 0;
+        resetEmptyCells();
+    }
+
+    /**
+     * Puts every cell in the empty cell index, in order.
+     */
+    private void resetEmptyCells() {
+        for (int index = 0; index < emptyCells.length; index++) {
+            emptyCells[index] = index;
+            emptySlot[index] = index;
+        }
+    }
+
+    /**
+     * Replaces the contents of this board with the contents of another one.
+     * @param other The board to copy.
+     * @throws IllegalArgumentException If the other board has a different shape.
+     */
+    public void copyFrom(Board other) {
+        if (!hasSameShape(other)) {
+            throw new IllegalArgumentException("Cannot copy a " + other.size + "x" + other.size
+                    + " board into a " + size + "x" + size + " board");
+        }
+        System.arraycopy(other.cells, 0, cells, 0, cells.length);
+        System.arraycopy(other.rowMasks, 0, rowMasks, 0, size);
+        System.arraycopy(other.colMasks, 0, colMasks, 0, size);
+        System.arraycopy(other.blockMasks, 0, blockMasks, 0, size);
+        System.arraycopy(other.rowCounts, 0, rowCounts, 0, rowCounts.length);
+        System.arraycopy(other.colCounts, 0, colCounts, 0, colCounts.length);
+        System.arraycopy(other.blockCounts, 0, blockCounts, 0, blockCounts.length);
+        System.arraycopy(other.rowConflicts, 0, rowConflicts, 0, size);
+        System.arraycopy(other.colConflicts, 0, colConflicts, 0, size);
+        System.arraycopy(other.blockConflicts, 0, blockConflicts, 0, size);
+        System.arraycopy(other.emptyCells, 0, emptyCells, 0, emptyCells.length);
+        System.arraycopy(other.emptySlot, 0, emptySlot, 0, emptySlot.length);
+        filled = other.filled;
+        conflicts = other.conflicts;
+    }
+
+    /**
+     * Builds a list-of-rows view of the board, as used by the original Sudoku API.
+     * The returned lists are a copy; changing them does not modify the board.
+     * @return The board as a list of rows.
+     */
+    public ArrayList<ArrayList<Integer>> toList() {
+        ArrayList<ArrayList<Integer>> rows = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            ArrayList<Integer> values = new ArrayList<>(size);
+            for (int col = 0; col < size; col++) {
+                values.add((int) cells[indexOf(row, col)]);
+            }
+            rows.add(values);
+        }
+        return rows;
+    }
+
+    /**
+     * Lookup tables shared by every board with the same block shape.
+     */
+    private static final class Geometry {
+
+        private final int blockRows; // Rows per block.
+        private final int blockCols; // Columns per block.
+        private final int size; // Rows, columns, digits and blocks.
+        private final int cells; // Number of cells.
+        private final int allDigits; // Mask with every digit set.
+        private final byte[] rowOf; // Row of each cell index.
+        private final byte[] colOf; // Column of each cell index.
+        private final byte[] blockOf; // Block of each cell index.
+        private final int[][] units; // Cells of every row, column and block.
+        private final int[][] peers; // Cells sharing a unit with each cell, the cell excluded.
+
+        /**
+         * Builds the lookup tables of a block shape.
+         * @param blockRows The number of rows in each block.
+         * @param blockCols The number of columns in each block.
+         */
+        private Geometry(int blockRows, int blockCols) {
+            this.blockRows = blockRows;
+            this.blockCols = blockCols;
+            this.size = blockRows * blockCols;
+            this.cells = size * size;
+            this.allDigits = (1 << size) - 1;
+            this.rowOf = new byte[cells];
+            this.colOf = new byte[cells];
+            this.blockOf = new byte[cells];
+            this.units = new int[3 * size][size];
+
+            int[] filledPerBlock = new int[size];
+            for (int index = 0; index < cells; index++) {
+                int row = index / size;
+                int col = index % size;
+                int block = (row / blockRows) * (size / blockCols) + col / blockCols;
+                rowOf[index] = (byte) row;
+                colOf[index] = (byte) col;
+                blockOf[index] = (byte) block;
+                units[row][col] = index;
+                units[size + col][row] = index;
+                units[2 * size + block][filledPerBlock[block]++] = index;
+            }
+
+            // A cell sees the rest of its row and column, plus the cells of its block in neither
+            int peerCount = 2 * (size - 1) + (blockRows - 1) * (blockCols - 1);
+            this.peers = new int[cells][peerCount];
+            for (int index = 0; index < cells; index++) {
+                int count = 0;
+                for (int other = 0; other < cells; other++) {
+                    if (other != index && (rowOf[other] == rowOf[index] || colOf[other] == colOf[index]
+                            || blockOf[other] == blockOf[index])) {
+                        peers[index][count++] = other;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.sudoku_game.model;
+
+/**
+ * Difficulty levels of a generated puzzle, expressed as the share of cells the generator aims to reveal.
+ */
+public enum Difficulty {
+    EASY(0.45),
+    MEDIUM(1.0 / 3),
+    HARD(0);
+
+    private final double clueRatio; // Share of the cells revealed, 0 for a minimal puzzle.
+
+    /**
+     * Creates a difficulty level.
+     * @param clueRatio The share of the cells revealed, 0 for a minimal puzzle.
+     */
+    Difficulty(double clueRatio) {
+        this.clueRatio = clueRatio;
+    }
+
+    /**
+     * Returns the number of clues the generator aims for at this level (16, 12 and minimal on a 6x6 board).
+     * @param cells The number of cells of the board.
+     * @return The target clue count, or {@link PuzzleGenerator#MINIMAL} for a minimal puzzle.
+     */
+    public int getTargetClues(int cells) {
+        return (int) Math.round(cells * clueRatio);
+    }
+}
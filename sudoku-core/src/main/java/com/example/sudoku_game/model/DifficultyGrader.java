@@ -0,0 +1,548 @@
+package com.example.sudoku_game.model;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * The DifficultyGrader class rates a puzzle by solving it the way a person would.
+ * It keeps a pencil-mark layer on top of the board's candidate masks and repeatedly applies the easiest
+ * {@link Technique} that makes progress: singles place digits, the other techniques remove pencil marks.
+ * If the techniques run out before the board is full, the rest is left to the {@link BitmaskSolver}
+ * and the number of search nodes it needs is added to the {@link Grade}.
+ * A grader reuses its buffers between puzzles and is not thread-safe; {@link #gradeAll(List, int)}
+ * gives each worker thread its own.
+ * {@link #gradeAll(Iterator, Function, int, BiConsumer)} grades a stream of puzzles too large to hold at once:
+ * it reads ahead only a few puzzles per thread and hands each grade on as soon as it is known.
+ */
+public class DifficultyGrader {
+
+    public static final int SEARCH_NODE_WEIGHT = 20; // Score added per search node when the techniques run out.
+    public static final int IN_FLIGHT_PER_THREAD = 4; // Puzzles of a stream read ahead per worker thread.
+
+    private final BitmaskSolver solver = new BitmaskSolver(); // Engine that finishes a stalled grid.
+    private Board work; // Copy of the puzzle being solved.
+    private int[] removed = new int[0]; // Pencil marks removed from each cell by the techniques.
+    private final int[] pairCells = new int[Board.MAX_SIZE]; // Cells of a unit considered by the subset techniques.
+
+    /**
+     * Grades a batch of puzzles on every available core.
+     * @param puzzles The puzzles to grade; they are not modified.
+     * @return The grade of each puzzle, in the order of the list.
+     */
+    public static Grade[] gradeAll(List<? extends Board> puzzles) {
+        return gradeAll(puzzles, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Grades a batch of puzzles on the given number of threads.
+     * @param puzzles The puzzles to grade; they are not modified.
+     * @param parallelism The number of worker threads.
+     * @return The grade of each puzzle, in the order of the list.
+     */
+    public static Grade[] gradeAll(List<? extends Board> puzzles, int parallelism) {
+        Grade[] grades = new Grade[puzzles.size()];
+        ThreadLocal<DifficultyGrader> graders = ThreadLocal.withInitial(DifficultyGrader::new);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> IntStream.range(0, grades.length)
+                    .parallel()
+                    .forEach(i -> grades[i] = graders.get().grade(puzzles.get(i))))
+                    .join();
+        } finally {
+            pool.shutdown();
+        }
+        return grades;
+    }
+
+    /**
+     * Grades a stream of puzzles on the given number of threads, holding at most {@value #IN_FLIGHT_PER_THREAD}
+     * puzzles per thread at once, so the stream may be a pre-generated pool of any size read from disk.
+     * @param items The items to grade, read on the calling thread.
+     * @param puzzleOf Returns the puzzle of an item; the puzzle is not modified.
+     * @param parallelism The number of worker threads.
+     * @param consumer Receives each item with its grade as soon as it is graded. It is called from several
+     *                 threads at once and in no particular order.
+     * @param <T> The type of the items, such as {@link Board} or {@link Puzzle}.
+     * @return The number of items graded.
+     * @throws InterruptedException If the thread is interrupted while waiting for a worker.
+     */
+    public static <T> long gradeAll(Iterator<? extends T> items, Function<? super T, ? extends Board> puzzleOf,
+                                    int parallelism, BiConsumer<? super T, ? super Grade> consumer)
+            throws InterruptedException {
+        int permits = parallelism * IN_FLIGHT_PER_THREAD;
+        Semaphore inFlight = new Semaphore(permits);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        ThreadLocal<DifficultyGrader> graders = ThreadLocal.withInitial(DifficultyGrader::new);
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        long count = 0;
+        try {
+            while (failure.get() == null && items.hasNext()) {
+                T item = items.next();
+                inFlight.acquire();
+                count++;
+                pool.execute(() -> {
+                    try {
+                        consumer.accept(item, graders.get().grade(puzzleOf.apply(item)));
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);  // Stops reading; the first error is rethrown
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            inFlight.acquire(permits);  // Every puzzle read is graded
+        } finally {
+            pool.shutdownNow();
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        return count;
+    }
+
+    /**
+     * Grades a puzzle.
+     * @param puzzle The puzzle to grade; it is not modified.
+     * @return The techniques needed, the search nodes needed after them and the difficulty score.
+     */
+    public Grade grade(Board puzzle) {
+        prepare(puzzle);
+        work.copyFrom(puzzle);
+        Arrays.fill(removed, 0);
+        int[] counts = new int[Technique.values().length];
+
+        while (work.getEmptyCount() > 0) {
+            int placed = nakedSingles();
+            if (placed > 0) {
+                counts[Technique.NAKED_SINGLE.ordinal()] += placed;
+                continue;
+            }
+            if (placed == 0) {
+                placed = hiddenSingles();
+                if (placed > 0) {
+                    counts[Technique.HIDDEN_SINGLE.ordinal()] += placed;
+                    continue;
+                }
+            }
+            if (placed < 0) {
+                break; // A cell or a digit has no place left; only the search can tell.
+            }
+            Technique technique = eliminate();
+            if (technique == null) {
+                break; // The techniques ran out.
+            }
+            counts[technique.ordinal()]++;
+        }
+
+        long searchNodes = 0;
+        if (work.getEmptyCount() > 0) {
+            solver.countSolutions(work, 1);
+            searchNodes = solver.getNodeCount();
+        }
+
+        long score = searchNodes * SEARCH_NODE_WEIGHT;
+        for (Technique technique : Technique.values()) {
+            score += (long) counts[technique.ordinal()] * technique.getWeight();
+        }
+        return new Grade(counts, searchNodes, (int) Math.min(score, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Sizes the buffers for the shape of the puzzle.
+     * @param puzzle The puzzle about to be graded.
+     */
+    private void prepare(Board puzzle) {
+        if (work == null || !work.hasSameShape(puzzle)) {
+            work = new Board(puzzle.blockRows(), puzzle.blockCols());
+            removed = new int[puzzle.cellCount()];
+        }
+    }
+
+    /**
+     * Returns the pencil marks of a cell: the digits allowed by the board minus those removed by the techniques.
+     * @param index The index of the cell.
+     * @return A bitmask of the remaining candidates.
+     */
+    private int candidates(int index) {
+        return work.candidates(index) & ~removed[index];
+    }
+
+    /**
+     * Removes pencil marks from a cell.
+     * @param index The index of the cell.
+     * @param mask The digits to remove.
+     * @return true if at least one of them was still a candidate.
+     */
+    private boolean removeCandidates(int index, int mask) {
+        if (work.get(index) != 0 || (candidates(index) & mask) == 0) {
+            return false;
+        }
+        removed[index] |= mask;
+        return true;
+    }
+
+    /**
+     * Places every cell that has a single candidate left.
+     * @return The number of cells placed, or -1 if an empty cell has no candidate.
+     */
+    private int nakedSingles() {
+        int placed = 0;
+        int position = 0;
+        while (position < work.getEmptyCount()) {
+            int index = work.getEmptyCell(position);
+            int candidates = candidates(index);
+            if (candidates == 0) {
+                return -1;
+            }
+            if ((candidates & (candidates - 1)) == 0) {
+                work.set(index, Integer.numberOfTrailingZeros(candidates) + 1);
+                placed++; // Another empty cell now sits at this position.
+            } else {
+                position++;
+            }
+        }
+        return placed;
+    }
+
+    /**
+     * Places every digit that has a single place left in a row, column or block.
+     * @return The number of cells placed, or -1 if a digit has no place left in some unit.
+     */
+    private int hiddenSingles() {
+        int placed = 0;
+        int[][] units = work.units();
+        for (int unit = 0; unit < units.length; unit++) {
+            int once = 0;
+            int twice = 0;
+            for (int index : units[unit]) {
+                if (work.get(index) == 0) {
+                    int candidates = candidates(index);
+                    twice |= once & candidates;
+                    once |= candidates;
+                }
+            }
+            if ((once | work.unitMask(unit)) != work.allDigits()) {
+                return -1;
+            }
+            int hidden = once & ~twice;
+            while (hidden != 0) {
+                int bit = Integer.lowestOneBit(hidden);
+                hidden ^= bit;
+                for (int index : units[unit]) {
+                    if (work.get(index) == 0 && (candidates(index) & bit) != 0) {
+                        work.set(index, Integer.numberOfTrailingZeros(bit) + 1);
+                        placed++;
+                        break;
+                    }
+                }
+            }
+        }
+        return placed;
+    }
+
+    /**
+     * Applies the easiest elimination technique that removes at least one pencil mark.
+     * @return The technique applied, or null if none makes progress.
+     */
+    private Technique eliminate() {
+        if (pointing()) {
+            return Technique.POINTING;
+        }
+        if (boxLine()) {
+            return Technique.BOX_LINE;
+        }
+        if (nakedPair()) {
+            return Technique.NAKED_PAIR;
+        }
+        if (hiddenPair()) {
+            return Technique.HIDDEN_PAIR;
+        }
+        if (nakedTriple()) {
+            return Technique.NAKED_TRIPLE;
+        }
+        if (xWing(0) || xWing(work.size())) {
+            return Technique.X_WING;
+        }
+        return null;
+    }
+
+    /**
+     * Pointing: if a digit's places in a block all lie in one row or column, removes it from the rest of that line.
+     * @return true if a pencil mark was removed.
+     */
+    private boolean pointing() {
+        int size = work.size();
+        int[][] units = work.units();
+        for (int block = 0; block < size; block++) {
+            int[] cells = units[2 * size + block];
+            int missing = work.allDigits() & ~work.unitMask(2 * size + block);
+            while (missing != 0) {
+                int bit = Integer.lowestOneBit(missing);
+                missing ^= bit;
+                int row = -1;
+                int col = -1;
+                for (int index : cells) {
+                    if (work.get(index) == 0 && (candidates(index) & bit) != 0) {
+                        row = row == -1 || row == work.rowOf(index) ? work.rowOf(index) : -2;
+                        col = col == -1 || col == work.colOf(index) ? work.colOf(index) : -2;
+                    }
+                }
+                boolean changed = false;
+                if (row >= 0) {
+                    changed |= removeOutsideBlock(units[row], block, bit);
+                }
+                if (col >= 0) {
+                    changed |= removeOutsideBlock(units[size + col], block, bit);
+                }
+                if (changed) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes a digit from the cells of a line that lie outside a block.
+     * @param line The cells of the row or column.
+     * @param block The block to keep.
+     * @param bit The mask bit of the digit.
+     * @return true if a pencil mark was removed.
+     */
+    private boolean removeOutsideBlock(int[] line, int block, int bit) {
+        boolean changed = false;
+        for (int index : line) {
+            if (work.blockOf(index) != block) {
+                changed |= removeCandidates(index, bit);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Box-line reduction: if a digit's places in a row or column all lie in one block,
+     * removes it from the rest of that block.
+     * @return true if a pencil mark was removed.
+     */
+    private boolean boxLine() {
+        int size = work.size();
+        int[][] units = work.units();
+        for (int line = 0; line < 2 * size; line++) {
+            boolean isRow = line < size;
+            int missing = work.allDigits() & ~work.unitMask(line);
+            while (missing != 0) {
+                int bit = Integer.lowestOneBit(missing);
+                missing ^= bit;
+                int block = -1;
+                for (int index : units[line]) {
+                    if (work.get(index) == 0 && (candidates(index) & bit) != 0) {
+                        block = block == -1 || block == work.blockOf(index) ? work.blockOf(index) : -2;
+                    }
+                }
+                if (block < 0) {
+                    continue;
+                }
+                boolean changed = false;
+                for (int index : units[2 * size + block]) {
+                    boolean onLine = isRow ? work.rowOf(index) == line : work.colOf(index) == line - size;
+                    if (!onLine) {
+                        changed |= removeCandidates(index, bit);
+                    }
+                }
+                if (changed) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Naked pair: two cells of a unit with the same two candidates remove them from the rest of the unit.
+     * @return true if a pencil mark was removed.
+     */
+    private boolean nakedPair() {
+        for (int[] unit : work.units()) {
+            int count = collectCells(unit, 2, 2);
+            for (int i = 0; i < count; i++) {
+                int mask = candidates(pairCells[i]);
+                for (int j = i + 1; j < count; j++) {
+                    if (candidates(pairCells[j]) == mask
+                            && removeFromOthers(unit, mask, pairCells[i], pairCells[j], -1)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Naked triple: three cells of a unit with three candidates between them remove those from the rest of the unit.
+     * @return true if a pencil mark was removed.
+     */
+    private boolean nakedTriple() {
+        for (int[] unit : work.units()) {
+            int count = collectCells(unit, 2, 3);
+            for (int i = 0; i < count; i++) {
+                for (int j = i + 1; j < count; j++) {
+                    int pair = candidates(pairCells[i]) | candidates(pairCells[j]);
+                    if (Integer.bitCount(pair) > 3) {
+                        continue;
+                    }
+                    for (int k = j + 1; k < count; k++) {
+                        int mask = pair | candidates(pairCells[k]);
+                        if (Integer.bitCount(mask) == 3
+                                && removeFromOthers(unit, mask, pairCells[i], pairCells[j], pairCells[k])) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Collects the empty cells of a unit whose number of candidates is in a range.
+     * @param unit The cells of the unit.
+     * @param min The smallest number of candidates.
+     * @param max The largest number of candidates.
+     * @return The number of cells written to the front of pairCells.
+     */
+    private int collectCells(int[] unit, int min, int max) {
+        int count = 0;
+        for (int index : unit) {
+            if (work.get(index) == 0) {
+                int candidateCount = Integer.bitCount(candidates(index));
+                if (candidateCount >= min && candidateCount <= max) {
+                    pairCells[count++] = index;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Removes digits from every cell of a unit except the given ones.
+     * @param unit The cells of the unit.
+     * @param mask The digits to remove.
+     * @param first A cell to keep.
+     * @param second A cell to keep.
+     * @param third A cell to keep, or -1.
+     * @return true if a pencil mark was removed.
+     */
+    private boolean removeFromOthers(int[] unit, int mask, int first, int second, int third) {
+        boolean changed = false;
+        for (int index : unit) {
+            if (index != first && index != second && index != third) {
+                changed |= removeCandidates(index, mask);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Hidden pair: two digits with the same two places in a unit remove every other candidate from those two cells.
+     * @return true if a pencil mark was removed.
+     */
+    private boolean hiddenPair() {
+        int size = work.size();
+        int[] places = new int[size];
+        for (int[] unit : work.units()) {
+            // Places of each digit, as a mask of positions in the unit.
+            Arrays.fill(places, 0);
+            for (int position = 0; position < size; position++) {
+                int index = unit[position];
+                if (work.get(index) == 0) {
+                    int candidates = candidates(index);
+                    while (candidates != 0) {
+                        int digit = Integer.numberOfTrailingZeros(candidates);
+                        candidates &= candidates - 1;
+                        places[digit] |= 1 << position;
+                    }
+                }
+            }
+            for (int first = 0; first < size; first++) {
+                if (Integer.bitCount(places[first]) != 2) {
+                    continue;
+                }
+                for (int second = first + 1; second < size; second++) {
+                    if (places[second] != places[first]) {
+                        continue;
+                    }
+                    int keep = (1 << first) | (1 << second);
+                    int positions = places[first];
+                    boolean changed = false;
+                    while (positions != 0) {
+                        int index = unit[Integer.numberOfTrailingZeros(positions)];
+                        positions &= positions - 1;
+                        changed |= removeCandidates(index, ~keep & work.allDigits());
+                    }
+                    if (changed) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * X-wing: if a digit has the same two places in two lines, it is removed from the rest of the crossing lines.
+     * @param base 0 to use rows as the base lines, or the board size to use columns.
+     * @return true if a pencil mark was removed.
+     */
+    private boolean xWing(int base) {
+        int size = work.size();
+        int cross = base == 0 ? size : 0;
+        int[][] units = work.units();
+        int[] places = new int[size];
+        for (int digit = 0; digit < size; digit++) {
+            int bit = 1 << digit;
+            for (int line = 0; line < size; line++) {
+                places[line] = 0;
+                int[] cells = units[base + line];
+                for (int position = 0; position < size; position++) {
+                    if (work.get(cells[position]) == 0 && (candidates(cells[position]) & bit) != 0) {
+                        places[line] |= 1 << position;
+                    }
+                }
+            }
+            for (int first = 0; first < size; first++) {
+                if (Integer.bitCount(places[first]) != 2) {
+                    continue;
+                }
+                for (int second = first + 1; second < size; second++) {
+                    if (places[second] != places[first]) {
+                        continue;
+                    }
+                    boolean changed = false;
+                    int positions = places[first];
+                    while (positions != 0) {
+                        int[] crossing = units[cross + Integer.numberOfTrailingZeros(positions)];
+                        positions &= positions - 1;
+                        for (int line = 0; line < size; line++) {
+                            if (line != first && line != second) {
+                                changed |= removeCandidates(crossing[line], bit);
+                            }
+                        }
+                    }
+                    if (changed) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.sudoku_game.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The DistinctPuzzles class keeps the set of 6x6 puzzles seen so far, up to symmetry: a puzzle is a duplicate
+ * when a transform of the grid and a relabeling of the digits turn it into one already added. Each puzzle is
+ * reduced to its {@link GridClassIndex#puzzleKey} and the keys are held in an open-addressing hash set, so a
+ * check takes constant time. A set is not thread-safe.
+ */
+public final class DistinctPuzzles {
+
+    private static final int INITIAL_CAPACITY = 1024; // Slots of a new set, a power of 2.
+
+    private final GridClassIndex index; // Index the keys are computed with.
+    private long[] slots = new long[INITIAL_CAPACITY]; // Puzzle key + 1 in each slot, 0 when empty.
+    private int size; // Puzzles in the set.
+
+    /**
+     * Creates an empty set.
+     * @param index The index of the grid classes.
+     */
+    public DistinctPuzzles(GridClassIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * Adds a puzzle unless an equivalent one is already in the set.
+     * @param puzzle The puzzle, on a 6x6 board.
+     * @return True if the puzzle was added, false if it is a duplicate.
+     */
+    public boolean add(Puzzle puzzle) {
+        long key = index.puzzleKey(puzzle.getGivens(), puzzle.getSolution()) + 1;
+        int slot = slot(key);
+        if (slots[slot] == key) {
+            return false;
+        }
+        slots[slot] = key;
+        if (++size * 2 > slots.length) {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * Tells whether an equivalent puzzle is in the set.
+     * @param puzzle The puzzle, on a 6x6 board.
+     * @return True if the puzzle is a duplicate.
+     */
+    public boolean contains(Puzzle puzzle) {
+        long key = index.puzzleKey(puzzle.getGivens(), puzzle.getSolution()) + 1;
+        return slots[slot(key)] == key;
+    }
+
+    /**
+     * Returns the number of puzzles in the set.
+     * @return The number of distinct puzzles added.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the slot of a key, or the empty slot where it belongs.
+     * @param key The puzzle key + 1.
+     * @return The slot.
+     */
+    private int slot(long key) {
+        int mask = slots.length - 1;
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        while (slots[slot] != 0 && slots[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Doubles the number of slots and moves every key.
+     */
+    private void grow() {
+        long[] old = slots;
+        slots = new long[old.length * 2];
+        for (long key : old) {
+            if (key != 0) {
+                slots[slot(key)] = key;
+            }
+        }
+    }
+
+    /**
+     * Generates puzzles of a batch in order and keeps the first ones that are pairwise distinct up to symmetry,
+     * for a tournament where no two players may get the same puzzle in disguise.
+     * @param index The index of the grid classes.
+     * @param count The number of puzzles wanted.
+     * @param difficulty The difficulty of every puzzle.
+     * @param seed The seed of the batch.
+     * @return The puzzles, in batch order; their indexes tell which ones were skipped.
+     */
+    public static List<Puzzle> draw(GridClassIndex index, int count, Difficulty difficulty, long seed) {
+        DistinctPuzzles seen = new DistinctPuzzles(index);
+        List<Puzzle> puzzles = new ArrayList<>(count);
+        for (long i = 0; puzzles.size() < count; i++) {
+            Puzzle puzzle = PuzzleFactory.create(i, difficulty, seed);
+            if (seen.add(puzzle)) {
+                puzzles.add(puzzle);
+            }
+        }
+        return puzzles;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.sudoku_game.model;
+
+import java.util.EnumSet;
+
+/**
+ * The result of grading a puzzle with the {@link DifficultyGrader}: how often each {@link Technique} was applied,
+ * how many search nodes were needed when the techniques ran out, and the resulting difficulty score.
+ */
+public final class Grade {
+
+    private final int[] counts; // Applications of each technique, by ordinal.
+    private final long searchNodes; // Search nodes needed after the techniques ran out, 0 if none.
+    private final int score; // Difficulty score.
+
+    /**
+     * Creates a grade.
+     * @param counts The applications of each technique, indexed by ordinal. The array is kept, not copied.
+     * @param searchNodes The search nodes needed after the techniques ran out, 0 if the puzzle was solved by logic.
+     * @param score The difficulty score.
+     */
+    Grade(int[] counts, long searchNodes, int score) {
+        this.counts = counts;
+        this.searchNodes = searchNodes;
+        this.score = score;
+    }
+
+    /**
+     * Returns how many times a technique was applied.
+     * @param technique The technique to look up.
+     * @return The number of applications.
+     */
+    public int getCount(Technique technique) {
+        return counts[technique.ordinal()];
+    }
+
+    /**
+     * Returns the techniques applied at least once.
+     * @return A new set of the techniques needed.
+     */
+    public EnumSet<Technique> getTechniques() {
+        EnumSet<Technique> techniques = EnumSet.noneOf(Technique.class);
+        for (Technique technique : Technique.values()) {
+            if (counts[technique.ordinal()] > 0) {
+                techniques.add(technique);
+            }
+        }
+        return techniques;
+    }
+
+    /**
+     * Returns the hardest technique applied.
+     * @return The hardest technique, or null if the puzzle needed none (it was already full).
+     */
+    public Technique getHardestTechnique() {
+        Technique[] techniques = Technique.values();
+        for (int i = techniques.length - 1; i >= 0; i--) {
+            if (counts[i] > 0) {
+                return techniques[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of search nodes needed after the techniques ran out.
+     * @return The node count, 0 if the puzzle was solved by logic alone.
+     */
+    public long getSearchNodes() {
+        return searchNodes;
+    }
+
+    /**
+     * Returns whether the techniques alone solved the puzzle.
+     * @return true if no search was needed.
+     */
+    public boolean isSolvedByLogic() {
+        return searchNodes == 0;
+    }
+
+    /**
+     * Returns the difficulty score: the weights of every technique applied,
+     * plus a fixed cost per search node when the techniques were not enough.
+     * @return The score, higher for harder puzzles.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("score ").append(score);
+        for (Technique technique : Technique.values()) {
+            if (counts[technique.ordinal()] > 0) {
+                text.append(' ').append(technique).append('x').append(counts[technique.ordinal()]);
+            }
+        }
+        if (searchNodes > 0) {
+            text.append(" search ").append(searchNodes);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.sudoku_game.model;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The GridClassIndex class sorts every valid 6x6 grid with 2x3 blocks into its class of equivalent grids, those
+ * that one of the {@link GridSymmetry} transforms and a relabeling of the digits turn into each other.
+ * Each class is represented by its canonical grid, the member with the smallest normalized key.
+ * <p>
+ * The index is a hash table of the 39,168 normalized grids that stores, for each, its class and the transform
+ * that turns it into the canonical grid. With it the class of a grid is a single lookup, and so is the
+ * canonical form of a puzzle: only the few transforms that leave the canonical grid unchanged remain to try,
+ * instead of all 3,456. The table is built once from the enumeration and takes under 1 MB.
+ * An index is never modified once built and may be shared by any number of threads.
+ */
+public final class GridClassIndex {
+
+    private static final int TABLE_BITS = 16; // log2 of the number of slots, at least 1.6 per grid.
+    private static final int CLUE_BITS = GridSymmetry.CELLS; // Bits of the clue mask in a puzzle key.
+
+    private final long[] keys = new long[1 << TABLE_BITS]; // Normalized key in each slot, 0 when empty.
+    private final int[] entries = new int[1 << TABLE_BITS]; // Class << 16 | transform to the canonical grid.
+    private final long[] canonicalKeys; // Key of the canonical grid, per class in increasing order.
+    private final int[] sizes; // Normalized grids in each class.
+    private final int[][] automorphisms; // Transforms that leave the canonical grid unchanged, per class.
+
+    /**
+     * Builds the index from the sorted normalized grids. The first grid of a class met in increasing order is
+     * its canonical grid; applying every transform to it reaches the whole class.
+     * @param grids The key of every normalized grid, in increasing order.
+     */
+    private GridClassIndex(long[] grids) {
+        Arrays.fill(entries, -1);
+        for (long key : grids) {
+            keys[slot(key)] = key;
+        }
+        long[] canonical = new long[grids.length];
+        int[] counts = new int[grids.length];
+        int[][] stabilizers = new int[grids.length][];
+        int classes = 0;
+        byte[] grid = new byte[GridSymmetry.CELLS];
+        int[] found = new int[GridSymmetry.COUNT];
+        for (long key : grids) {
+            if (entries[slot(key)] != -1) {
+                continue;
+            }
+            GridSymmetry.decode(key, grid);
+            int automorphismCount = 0;
+            for (int transform = 0; transform < GridSymmetry.COUNT; transform++) {
+                long member = GridSymmetry.key(grid, transform);
+                int slot = slot(member);
+                if (entries[slot] == -1) {
+                    entries[slot] = classes << 16 | GridSymmetry.inverse(transform);
+                    counts[classes]++;
+                }
+                if (member == key) {
+                    found[automorphismCount++] = transform;
+                }
+            }
+            canonical[classes] = key;
+            stabilizers[classes] = Arrays.copyOf(found, automorphismCount);
+            classes++;
+        }
+        this.canonicalKeys = Arrays.copyOf(canonical, classes);
+        this.sizes = Arrays.copyOf(counts, classes);
+        this.automorphisms = Arrays.copyOf(stabilizers, classes);
+    }
+
+    /**
+     * Enumerates the grids and builds the index on every available core.
+     * @return The index.
+     */
+    public static GridClassIndex build() {
+        return build(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Enumerates the grids and builds the index on the given number of threads.
+     * @param parallelism The number of worker threads of the enumeration.
+     * @return The index.
+     */
+    public static GridClassIndex build(int parallelism) {
+        long[] grids = new long[GridEnumerator.NORMALIZED_GRIDS];
+        AtomicInteger count = new AtomicInteger();
+        GridEnumerator.forEachNormalized(parallelism,
+                grid -> grids[count.getAndIncrement()] = GridSymmetry.key(grid, GridSymmetry.IDENTITY));
+        Arrays.sort(grids);
+        return new GridClassIndex(grids);
+    }
+
+    /**
+     * Returns the slot of a key, or the empty slot where it belongs.
+     * @param key The normalized key of a grid.
+     * @return The slot.
+     */
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> (Long.SIZE - TABLE_BITS));
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the index entry of a grid.
+     * @param grid The grid, 36 digits in row order.
+     * @return The entry, or -1 if the grid is not valid.
+     */
+    private int entry(byte[] grid) {
+        if (grid.length != GridSymmetry.CELLS) {
+            return -1;
+        }
+        long key = GridSymmetry.key(grid, GridSymmetry.IDENTITY);
+        return key <= 0 ? -1 : entries[slot(key)];
+    }
+
+    /**
+     * Returns the class of a grid.
+     * @param grid The grid, 36 digits from 1 to 6 in row order.
+     * @return The class, from 0 to {@link #getClassCount()} - 1, or -1 if the grid is not a valid grid.
+     */
+    public int classOf(byte[] grid) {
+        int entry = entry(grid);
+        return entry == -1 ? -1 : entry >>> 16;
+    }
+
+    /**
+     * Returns the class of a complete 6x6 board.
+     * @param board The board.
+     * @return The class, or -1 if the board is not a valid complete grid.
+     */
+    public int classOf(Board board) {
+        return classOf(toGrid(board));
+    }
+
+    /**
+     * Returns a key that two puzzles share exactly when a transform and a relabeling turn one into the other.
+     * The key holds the class of the solution and the smallest clue mask among the copies of the puzzle laid on
+     * the canonical grid of that class.
+     * @param solution The solution grid, 36 digits from 1 to 6 in row order.
+     * @param clues The revealed cells, bit i set for cell i.
+     * @return The key of the puzzle.
+     * @throws IllegalArgumentException If the solution is not a valid grid.
+     */
+    public long puzzleKey(byte[] solution, long clues) {
+        int entry = entry(solution);
+        if (entry == -1) {
+            throw new IllegalArgumentException("Not a valid 6x6 grid");
+        }
+        int classId = entry >>> 16;
+        long mask = GridSymmetry.transformMask(clues, entry & 0xFFFF);
+        long smallest = mask;
+        for (int automorphism : automorphisms[classId]) {
+            smallest = Math.min(smallest, GridSymmetry.transformMask(mask, automorphism));
+        }
+        return (long) classId << CLUE_BITS | smallest;
+    }
+
+    /**
+     * Returns the key of a 6x6 puzzle, as {@link #puzzleKey(byte[], long)} does.
+     * @param givens The revealed cells of the puzzle.
+     * @param solution The solution of the puzzle.
+     * @return The key of the puzzle.
+     * @throws IllegalArgumentException If the solution is not a valid 6x6 grid.
+     */
+    public long puzzleKey(Board givens, Board solution) {
+        if (givens.cellCount() != GridSymmetry.CELLS) {
+            throw new IllegalArgumentException("Not a 6x6 board");
+        }
+        long clues = 0;
+        for (int index = 0; index < GridSymmetry.CELLS; index++) {
+            if (givens.get(index) != 0) {
+                clues |= 1L << index;
+            }
+        }
+        return puzzleKey(toGrid(solution), clues);
+    }
+
+    /**
+     * Copies the numbers of a board.
+     * @param board The board.
+     * @return The numbers in row order, or an empty array if the board does not have 2x3 blocks.
+     */
+    private static byte[] toGrid(Board board) {
+        if (board.blockRows() != 2 || board.blockCols() != 3) {
+            return new byte[0];
+        }
+        byte[] grid = new byte[GridSymmetry.CELLS];
+        for (int index = 0; index < grid.length; index++) {
+            grid[index] = (byte) board.get(index);
+        }
+        return grid;
+    }
+
+    /**
+     * Returns the number of classes.
+     * @return The number of classes, 49.
+     */
+    public int getClassCount() {
+        return canonicalKeys.length;
+    }
+
+    /**
+     * Returns the canonical grid of a class.
+     * @param classId The class.
+     * @return A new array with the 36 digits of the grid in row order; its first row reads 1 to 6.
+     */
+    public byte[] getCanonicalGrid(int classId) {
+        byte[] grid = new byte[GridSymmetry.CELLS];
+        GridSymmetry.decode(canonicalKeys[classId], grid);
+        return grid;
+    }
+
+    /**
+     * Returns the number of valid grids in a class, relabelings included.
+     * @param classId The class.
+     * @return The number of grids.
+     */
+    public long getGridCount(int classId) {
+        return sizes[classId] * (GridEnumerator.ALL_GRIDS / GridEnumerator.NORMALIZED_GRIDS);
+    }
+
+    /**
+     * Returns the number of transforms that leave the canonical grid of a class unchanged, up to relabeling.
+     * @param classId The class.
+     * @return The number of transforms, the identity included.
+     */
+    public int getAutomorphismCount(int classId) {
+        return automorphisms[classId].length;
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.sudoku_game.model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * The GridEnumerator class walks every valid 6x6 grid with 2x3 blocks, where
+ * {@link Solver#countSolutions(Board, int)} only counts grids up to a limit and keeps none of them. Relabeling the digits of a grid gives another grid, so the walk only searches the
+ * normalized grids, whose first row reads 1 to 6, and relabels each of them 720 ways when every grid is wanted.
+ * The second row of a normalized grid takes 4 to 6 in its first block and 1 to 3 in its second, in some order:
+ * those 36 second rows split the work into independent tasks spread across a fork/join pool.
+ */
+public final class GridEnumerator {
+
+    public static final int NORMALIZED_GRIDS = 39_168; // Valid grids whose first row reads 1 to 6.
+    public static final long ALL_GRIDS = 28_200_960L; // Valid grids, 720 relabelings of each normalized one.
+
+    private static final int SIZE = GridSymmetry.SIZE; // Rows, columns and digits.
+    private static final byte[][] SECOND_ROWS = new byte[36][]; // Second row of each task.
+    private static final byte[][] RELABELINGS = new byte[720][]; // New label of each digit, per relabeling.
+
+    static {
+        byte[][] threes = {{0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}};
+        int task = 0;
+        for (byte[] left : threes) {
+            for (byte[] right : threes) {
+                byte[] row = new byte[SIZE];
+                for (int i = 0; i < 3; i++) {
+                    row[i] = (byte) (4 + left[i]);
+                    row[3 + i] = (byte) (1 + right[i]);
+                }
+                SECOND_ROWS[task++] = row;
+            }
+        }
+        for (int rank = 0; rank < RELABELINGS.length; rank++) {
+            RELABELINGS[rank] = new byte[SIZE + 1];
+            GridSymmetry.unrank(rank, RELABELINGS[rank], 1);
+        }
+    }
+
+    /**
+     * Prevents instantiation; all methods are static.
+     */
+    private GridEnumerator() {
+    }
+
+    /**
+     * Walks the normalized grids, those whose first row reads 1 to 6.
+     * @param parallelism The number of worker threads.
+     * @param visitor Receives each grid as 36 digits in row order. It is called from several threads at once
+     *                and in no particular order, and the array is reused for the next grid of the same thread:
+     *                copy it to keep it.
+     * @return The number of grids visited, {@link #NORMALIZED_GRIDS}.
+     */
+    public static long forEachNormalized(int parallelism, Consumer<byte[]> visitor) {
+        return walk(parallelism, false, visitor);
+    }
+
+    /**
+     * Walks every valid grid.
+     * @param parallelism The number of worker threads.
+     * @param visitor Receives each grid as 36 digits in row order. It is called from several threads at once
+     *                and in no particular order, and the array is reused for the next grid of the same thread:
+     *                copy it to keep it.
+     * @return The number of grids visited, {@link #ALL_GRIDS}.
+     */
+    public static long forEach(int parallelism, Consumer<byte[]> visitor) {
+        return walk(parallelism, true, visitor);
+    }
+
+    /**
+     * Runs one task per second row on a pool of the given size.
+     * @param parallelism The number of worker threads.
+     * @param relabel Whether to visit the 720 relabelings of each normalized grid.
+     * @param visitor Receives each grid.
+     * @return The number of grids visited.
+     */
+    private static long walk(int parallelism, boolean relabel, Consumer<byte[]> visitor) {
+        LongAdder count = new LongAdder();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> IntStream.range(0, SECOND_ROWS.length)
+                    .parallel()
+                    .forEach(task -> count.add(new Walk(relabel, visitor).run(SECOND_ROWS[task]))))
+                    .join();
+        } finally {
+            pool.shutdown();
+        }
+        return count.sum();
+    }
+
+    /**
+     * The depth-first search of one task, filling the cells in row order from the masks of the digits
+     * each row, column and block already holds.
+     */
+    private static final class Walk {
+
+        private final boolean relabel; // Whether to visit the relabelings of each grid.
+        private final Consumer<byte[]> visitor; // Receives each grid.
+        private final byte[] grid = new byte[GridSymmetry.CELLS]; // Grid being filled.
+        private final byte[] relabeled = new byte[GridSymmetry.CELLS]; // Relabeled copy of a complete grid.
+        private final int[] rowMasks = new int[SIZE]; // Digits used in each row, bit d set for digit d.
+        private final int[] colMasks = new int[SIZE]; // Digits used in each column.
+        private final int[] blockMasks = new int[SIZE]; // Digits used in each block.
+        private long count; // Grids visited.
+
+        /**
+         * Creates the search of one task.
+         * @param relabel Whether to visit the relabelings of each grid.
+         * @param visitor Receives each grid.
+         */
+        private Walk(boolean relabel, Consumer<byte[]> visitor) {
+            this.relabel = relabel;
+            this.visitor = visitor;
+        }
+
+        /**
+         * Fills the first row with 1 to 6 and the second row as given, then searches the rest.
+         * @param secondRow The second row of the task.
+         * @return The number of grids visited.
+         */
+        private long run(byte[] secondRow) {
+            for (int col = 0; col < SIZE; col++) {
+                place(col, col + 1);
+                place(SIZE + col, secondRow[col]);
+            }
+            fill(2 * SIZE);
+            return count;
+        }
+
+        /**
+         * Places a digit and marks it as used in its row, column and block.
+         * @param index The index of the cell.
+         * @param digit The digit.
+         */
+        private void place(int index, int digit) {
+            int row = index / SIZE;
+            int col = index % SIZE;
+            int bit = 1 << digit;
+            grid[index] = (byte) digit;
+            rowMasks[row] |= bit;
+            colMasks[col] |= bit;
+            blockMasks[(row / 2) * 2 + col / 3] |= bit;
+        }
+
+        /**
+         * Tries every allowed digit in a cell and searches the cells after it.
+         * @param index The index of the cell.
+         */
+        private void fill(int index) {
+            if (index == GridSymmetry.CELLS) {
+                visit();
+                return;
+            }
+            int row = index / SIZE;
+            int col = index % SIZE;
+            int block = (row / 2) * 2 + col / 3;
+            int free = ~(rowMasks[row] | colMasks[col] | blockMasks[block]) & (((1 << SIZE) - 1) << 1);
+            while (free != 0) {
+                int bit = free & -free;
+                free ^= bit;
+                grid[index] = (byte) Integer.numberOfTrailingZeros(bit);
+                rowMasks[row] |= bit;
+                colMasks[col] |= bit;
+                blockMasks[block] |= bit;
+                fill(index + 1);
+                rowMasks[row] &= ~bit;
+                colMasks[col] &= ~bit;
+                blockMasks[block] &= ~bit;
+            }
+        }
+
+        /**
+         * Hands a complete grid, or each of its relabelings, to the visitor.
+         */
+        private void visit() {
+            if (!relabel) {
+                count++;
+                visitor.accept(grid);
+                return;
+            }
+            for (byte[] label : RELABELINGS) {
+                for (int index = 0; index < GridSymmetry.CELLS; index++) {
+                    relabeled[index] = label[grid[index]];
+                }
+                count++;
+                visitor.accept(relabeled);
+            }
+        }
+    }
+}
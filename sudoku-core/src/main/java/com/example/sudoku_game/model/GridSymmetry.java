@@ -0,0 +1,216 @@
+package com.example.sudoku_game.model;
+
+import java.util.Arrays;
+
+/**
+ * The GridSymmetry class holds the geometric symmetries of the 6x6 grid with 2x3 blocks and the packed form
+ * of its grids. Together with relabeling the digits, these are the changes that always turn a valid grid into
+ * another valid grid: reordering the 3 bands of 2 rows and the rows inside each band (48 row orders), and
+ * reordering the 2 stacks of 3 columns and the columns inside each stack (72 column orders).
+ * Transposing is not among them, since it would turn the 2x3 blocks into 3x2 ones.
+ * <p>
+ * A transform t maps a grid g to the grid whose cell (k, j) is g(rows[k], cols[j]).
+ * A grid is packed as its normalized key: the digits are relabeled so the first row reads 1 to 6, and the
+ * permutation rank of each other row (10 bits) is packed with the second row in the highest bits,
+ * so comparing keys compares grids row by row.
+ */
+final class GridSymmetry {
+
+    static final int SIZE = 6; // Rows, columns and digits.
+    static final int CELLS = SIZE * SIZE; // Number of cells.
+    static final int COUNT = 48 * 72; // Number of transforms, the identity included.
+    static final int IDENTITY = 0; // Transform that leaves a grid as it is.
+
+    private static final int ROW_BITS = 10; // Bits of a row rank.
+    private static final int[] FACTORIALS = {1, 1, 2, 6, 24, 120}; // Factorials of 0 to 5.
+    private static final int[][] ROW_ORDERS = new int[48][]; // Source row of each row, per row order.
+    private static final int[][] COL_ORDERS = new int[72][]; // Source column of each column, per column order.
+    private static final byte[] PERMUTATIONS = new byte[720 * SIZE]; // Row of each rank, lexicographic order.
+    private static final int[] ROW_INDEX = new int[46656]; // Row order of each base-6 packed permutation.
+    private static final int[] COL_INDEX = new int[46656]; // Column order of each base-6 packed permutation.
+
+    static {
+        Arrays.fill(ROW_INDEX, -1);
+        Arrays.fill(COL_INDEX, -1);
+        int[][] threes = {{0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}};
+        int count = 0;
+        for (int[] bands : threes) {
+            for (int swaps = 0; swaps < 8; swaps++) {
+                int[] rows = new int[SIZE];
+                for (int band = 0; band < 3; band++) {
+                    int swap = (swaps >> band) & 1;
+                    rows[2 * band] = 2 * bands[band] + swap;
+                    rows[2 * band + 1] = 2 * bands[band] + 1 - swap;
+                }
+                ROW_INDEX[pack(rows)] = count;
+                ROW_ORDERS[count++] = rows;
+            }
+        }
+        count = 0;
+        for (int stacks = 0; stacks < 2; stacks++) {
+            for (int[] left : threes) {
+                for (int[] right : threes) {
+                    int[] cols = new int[SIZE];
+                    for (int i = 0; i < 3; i++) {
+                        cols[i] = 3 * stacks + left[i];
+                        cols[3 + i] = 3 * (1 - stacks) + right[i];
+                    }
+                    COL_INDEX[pack(cols)] = count;
+                    COL_ORDERS[count++] = cols;
+                }
+            }
+        }
+        for (int rank = 0; rank < 720; rank++) {
+            int unused = ((1 << SIZE) - 1) << 1;
+            int rest = rank;
+            for (int position = 0; position < SIZE; position++) {
+                int skip = rest / FACTORIALS[SIZE - 1 - position];
+                rest %= FACTORIALS[SIZE - 1 - position];
+                int digits = unused;
+                for (int i = 0; i < skip; i++) {
+                    digits &= digits - 1;
+                }
+                int digit = Integer.numberOfTrailingZeros(digits);
+                unused &= ~(1 << digit);
+                PERMUTATIONS[rank * SIZE + position] = (byte) digit;
+            }
+        }
+    }
+
+    /**
+     * Prevents instantiation; all methods are static.
+     */
+    private GridSymmetry() {
+    }
+
+    /**
+     * Packs a permutation of 0 to 5 as a base-6 number.
+     * @param order The permutation.
+     * @return The packed permutation.
+     */
+    private static int pack(int[] order) {
+        int packed = 0;
+        for (int value : order) {
+            packed = packed * SIZE + value;
+        }
+        return packed;
+    }
+
+    /**
+     * Returns the row order of a transform.
+     * @param transform The transform, from 0 to {@link #COUNT} - 1.
+     * @return The source row of each row; shared, not to be modified.
+     */
+    static int[] rows(int transform) {
+        return ROW_ORDERS[transform / COL_ORDERS.length];
+    }
+
+    /**
+     * Returns the column order of a transform.
+     * @param transform The transform, from 0 to {@link #COUNT} - 1.
+     * @return The source column of each column; shared, not to be modified.
+     */
+    static int[] cols(int transform) {
+        return COL_ORDERS[transform % COL_ORDERS.length];
+    }
+
+    /**
+     * Returns the transform that undoes another one.
+     * @param transform The transform to undo.
+     * @return The inverse transform.
+     */
+    static int inverse(int transform) {
+        int[] rows = rows(transform);
+        int[] cols = cols(transform);
+        int[] inverseRows = new int[SIZE];
+        int[] inverseCols = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            inverseRows[rows[i]] = i;
+            inverseCols[cols[i]] = i;
+        }
+        return ROW_INDEX[pack(inverseRows)] * COL_ORDERS.length + COL_INDEX[pack(inverseCols)];
+    }
+
+    /**
+     * Returns the normalized key of a transformed grid.
+     * @param grid The grid, 36 digits from 1 to 6 in row order.
+     * @param transform The transform to apply.
+     * @return The key, or -1 if a row of the grid is not a permutation of 1 to 6.
+     */
+    static long key(byte[] grid, int transform) {
+        int[] rows = rows(transform);
+        int[] cols = cols(transform);
+        int[] label = new int[SIZE + 1];
+        int first = rows[0] * SIZE;
+        int seen = 0;
+        for (int j = 0; j < SIZE; j++) {
+            int digit = grid[first + cols[j]];
+            if (digit < 1 || digit > SIZE || (seen & (1 << digit)) != 0) {
+                return -1;
+            }
+            seen |= 1 << digit;
+            label[digit] = j + 1;
+        }
+        long key = 0;
+        for (int k = 1; k < SIZE; k++) {
+            int base = rows[k] * SIZE;
+            int rank = 0;
+            seen = 0;
+            for (int j = 0; j < SIZE; j++) {
+                int digit = grid[base + cols[j]];
+                if (digit < 1 || digit > SIZE || (seen & (1 << label[digit])) != 0) {
+                    return -1;
+                }
+                int relabeled = label[digit];
+                rank += Integer.bitCount(~seen & ((1 << relabeled) - 2)) * FACTORIALS[SIZE - 1 - j];
+                seen |= 1 << relabeled;
+            }
+            key = key << ROW_BITS | rank;
+        }
+        return key;
+    }
+
+    /**
+     * Unpacks a normalized key.
+     * @param key The key.
+     * @param grid Receives the grid, whose first row reads 1 to 6.
+     */
+    static void decode(long key, byte[] grid) {
+        for (int j = 0; j < SIZE; j++) {
+            grid[j] = (byte) (j + 1);
+        }
+        for (int k = 1; k < SIZE; k++) {
+            int rank = (int) (key >>> (ROW_BITS * (SIZE - 1 - k))) & ((1 << ROW_BITS) - 1);
+            unrank(rank, grid, k * SIZE);
+        }
+    }
+
+    /**
+     * Writes the permutation of 1 to 6 with a given rank in lexicographic order.
+     * @param rank The rank, from 0 to 719.
+     * @param digits Receives the 6 digits.
+     * @param offset The position of the first digit in digits.
+     */
+    static void unrank(int rank, byte[] digits, int offset) {
+        System.arraycopy(PERMUTATIONS, rank * SIZE, digits, offset, SIZE);
+    }
+
+    /**
+     * Moves the bits of a cell mask the way a transform moves the cells.
+     * @param mask A mask with bit i set for cell i.
+     * @param transform The transform to apply.
+     * @return The mask of the transformed cells.
+     */
+    static long transformMask(long mask, int transform) {
+        int[] rows = rows(transform);
+        int[] cols = cols(transform);
+        long result = 0;
+        for (int k = 0; k < SIZE; k++) {
+            long row = mask >>> (rows[k] * SIZE);
+            for (int j = 0; j < SIZE; j++) {
+                result |= ((row >>> cols[j]) & 1L) << (k * SIZE + j);
+            }
+        }
+        return result;
+    }
+}
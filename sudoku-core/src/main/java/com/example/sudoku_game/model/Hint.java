@@ -0,0 +1,82 @@
+package com.example.sudoku_game.model;
+
+/**
+ * The Hint class describes one move suggested to the player: a cell, its value, and why the value goes there.
+ */
+public final class Hint {
+
+    /**
+     * Why a hinted value is the right one.
+     */
+    public enum Reason {
+        NAKED_SINGLE, // The value is the only candidate left in the cell.
+        HIDDEN_SINGLE_ROW, // The cell is the only place for the value in its row.
+        HIDDEN_SINGLE_COLUMN, // The cell is the only place for the value in its column.
+        HIDDEN_SINGLE_BLOCK, // The cell is the only place for the value in its block.
+        SOLUTION // No single applies, so the value is revealed from the solution.
+    }
+
+    private final int row; // Row of the hinted cell.
+    private final int col; // Column of the hinted cell.
+    private final int value; // Value that goes in the cell.
+    private final Reason reason; // Deduction that places the value.
+
+    /**
+     * Creates a hint.
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @param value The value that goes in the cell.
+     * @param reason The deduction that places the value.
+     */
+    public Hint(int row, int col, int value, Reason reason) {
+        this.row = row;
+        this.col = col;
+        this.value = value;
+        this.reason = reason;
+    }
+
+    /**
+     * Returns the row of the hinted cell.
+     * @return The row of the cell.
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * Returns the column of the hinted cell.
+     * @return The column of the cell.
+     */
+    public int getCol() {
+        return col;
+    }
+
+    /**
+     * Returns the value that goes in the cell.
+     * @return The hinted value.
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the deduction that places the value.
+     * @return The reason of the hint.
+     */
+    public Reason getReason() {
+        return reason;
+    }
+
+    /**
+     * Returns whether the hint follows from the board by logic alone.
+     * @return true for a naked or hidden single, false for a value revealed from the solution.
+     */
+    public boolean isDeduced() {
+        return reason != Reason.SOLUTION;
+    }
+
+    @Override
+    public String toString() {
+        return reason + ": " + value + " at (" + row + ", " + col + ")";
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.sudoku_game.model;
+
+import java.util.Random;
+
+/**
+ * The HintEngine class finds the next move to suggest to the player.
+ * It first looks for a value that follows from the board by logic: a naked single (a cell with one candidate)
+ * or a hidden single (a value with one place in a row, column or block), using the candidate masks of the
+ * {@link Board}. If no single applies, or the player's entries have led the board away from the solution,
+ * it reveals a random empty cell from the solution, picked in constant time from the board's empty cell index.
+ */
+public final class HintEngine {
+
+    /**
+     * Prevents instantiation; all methods are static.
+     */
+    private HintEngine() {
+    }
+
+    /**
+     * Returns the next hint for a board.
+     * @param board The board being played.
+     * @param solution The solution of the board.
+     * @param random The source of the revealed cell when no single applies.
+     * @return The hint, or null if the board has no empty cell.
+     */
+    public static Hint nextHint(Board board, Board solution, Random random) {
+        if (board.getEmptyCount() == 0) {
+            return null;
+        }
+        Hint hint = findSingle(board);
+        if (hint != null && hint.getValue() == solution.get(hint.getRow(), hint.getCol())) {
+            return hint;
+        }
+
+        // No single, or a wrong entry makes the deduction disagree with the solution.
+        int index = board.getEmptyCell(random.nextInt(board.getEmptyCount()));
+        return new Hint(board.rowOf(index), board.colOf(index), solution.get(index), Hint.Reason.SOLUTION);
+    }
+
+    /**
+     * Finds a value that follows from the board by logic: a naked single, or else a hidden single.
+     * @param board The board to examine.
+     * @return The deduced move, or null if no single applies or an empty cell has no candidate left.
+     */
+    public static Hint findSingle(Board board) {
+        // Naked singles: the only candidate of an empty cell.
+        for (int position = 0; position < board.getEmptyCount(); position++) {
+            int index = board.getEmptyCell(position);
+            int candidates = board.candidates(index);
+            if (candidates == 0) {
+                return null; // The board contradicts itself; nothing can be deduced.
+            }
+            if ((candidates & (candidates - 1)) == 0) {
+                return hint(board, index, candidates, Hint.Reason.NAKED_SINGLE);
+            }
+        }
+
+        // Hidden singles: a digit with a single place in a row, column or block.
+        int size = board.size();
+        int[][] units = board.units();
+        for (int unit = 0; unit < units.length; unit++) {
+            int once = 0;
+            int twice = 0;
+            for (int index : units[unit]) {
+                if (board.get(index) == 0) {
+                    int candidates = board.candidates(index);
+                    twice |= once & candidates;
+                    once |= candidates;
+                }
+            }
+            int hidden = once & ~twice;
+            if (hidden != 0) {
+                int bit = Integer.lowestOneBit(hidden);
+                Hint.Reason reason = unit < size ? Hint.Reason.HIDDEN_SINGLE_ROW
+                        : unit < 2 * size ? Hint.Reason.HIDDEN_SINGLE_COLUMN : Hint.Reason.HIDDEN_SINGLE_BLOCK;
+                for (int index : units[unit]) {
+                    if (board.get(index) == 0 && (board.candidates(index) & bit) != 0) {
+                        return hint(board, index, bit, reason);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builds the hint that places a digit in a cell.
+     * @param board The board being played.
+     * @param index The index of the cell.
+     * @param bit The mask bit of the digit.
+     * @param reason The deduction that places the digit.
+     * @return The hint.
+     */
+    private static Hint hint(Board board, int index, int bit, Hint.Reason reason) {
+        return new Hint(board.rowOf(index), board.colOf(index), Integer.numberOfTrailingZeros(bit) + 1, reason);
+    }
+}
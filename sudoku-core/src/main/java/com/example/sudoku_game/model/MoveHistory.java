@@ -0,0 +1,181 @@
+package com.example.sudoku_game.model;
+
+import java.util.Arrays;
+
+/**
+ * The MoveHistory class keeps the moves of a game for unlimited undo and redo.
+ * Each move is a single int: the index of the cell and the state of the cell before and after the move.
+ * A cell state packs the value on the board, the number shown in the cell (different from the value when the
+ * number was rejected) and whether the number came from a hint. The moves are kept in a growing int array with
+ * a cursor, so recording, undoing and redoing never allocate once the array is large enough.
+ * Undoing a move only needs {@link Board#set} on one cell, which keeps the conflict counters up to date in constant time.
+ */
+public final class MoveHistory {
+
+    private static final int VALUE_BITS = 5; // Bits of a value or shown number, up to 31.
+    private static final int STATE_BITS = 2 * VALUE_BITS + 1; // Bits of a cell state.
+    private static final int STATE_MASK = (1 << STATE_BITS) - 1; // Mask of a cell state.
+    private static final int VALUE_MASK = (1 << VALUE_BITS) - 1; // Mask of a value.
+    private static final int HINT_BIT = 1 << (2 * VALUE_BITS); // Set in states whose number came from a hint.
+    private static final int MAX_CELLS = 1 << (Integer.SIZE - 2 * STATE_BITS); // Cells an index can address.
+
+    private int[] moves = new int[64]; // Played moves, then the undone ones that can be redone.
+    private int cursor; // Moves played and not undone.
+    private int size; // Moves that can be redone end here.
+
+    /**
+     * Packs the state of a cell.
+     * @param value The value of the cell on the board, 0 if empty.
+     * @param shown The number shown in the cell, 0 if empty.
+     * @param hint Whether the number came from a hint.
+     * @return The packed state.
+     */
+    public static int state(int value, int shown, boolean hint) {
+        return value | shown << VALUE_BITS | (hint ? HINT_BIT : 0);
+    }
+
+    /**
+     * Returns the value on the board of a cell state.
+     * @param state The packed state.
+     * @return The value, 0 if empty.
+     */
+    public static int value(int state) {
+        return state & VALUE_MASK;
+    }
+
+    /**
+     * Returns the number shown by a cell state.
+     * @param state The packed state.
+     * @return The shown number, 0 if empty.
+     */
+    public static int shown(int state) {
+        return (state >>> VALUE_BITS) & VALUE_MASK;
+    }
+
+    /**
+     * Returns whether the number of a cell state came from a hint.
+     * @param state The packed state.
+     * @return true for a hinted number.
+     */
+    public static boolean isHint(int state) {
+        return (state & HINT_BIT) != 0;
+    }
+
+    /**
+     * Returns whether a cell state shows a number that was rejected, i.e. one that is not on the board.
+     * @param state The packed state.
+     * @return true if the shown number differs from the value on the board.
+     */
+    public static boolean isRejected(int state) {
+        return shown(state) != value(state);
+    }
+
+    /**
+     * Packs a move.
+     * @param index The index of the cell, below 1024.
+     * @param before The state of the cell before the move.
+     * @param after The state of the cell after the move.
+     * @return The packed move.
+     */
+    public static int move(int index, int before, int after) {
+        if (index < 0 || index >= MAX_CELLS) {
+            throw new IllegalArgumentException("Cell index out of range: " + index);
+        }
+        return index << (2 * STATE_BITS) | before << STATE_BITS | after;
+    }
+
+    /**
+     * Returns the cell of a move.
+     * @param move The packed move.
+     * @return The index of the cell.
+     */
+    public static int index(int move) {
+        return move >>> (2 * STATE_BITS);
+    }
+
+    /**
+     * Returns the state of the cell before a move.
+     * @param move The packed move.
+     * @return The packed state.
+     */
+    public static int before(int move) {
+        return (move >>> STATE_BITS) & STATE_MASK;
+    }
+
+    /**
+     * Returns the state of the cell after a move.
+     * @param move The packed move.
+     * @return The packed state.
+     */
+    public static int after(int move) {
+        return move & STATE_MASK;
+    }
+
+    /**
+     * Records a played move. The moves that could be redone are dropped.
+     * @param move The packed move.
+     */
+    public void push(int move) {
+        if (cursor == moves.length) {
+            moves = Arrays.copyOf(moves, moves.length * 2);
+        }
+        moves[cursor++] = move;
+        size = cursor;
+    }
+
+    /**
+     * Checks if there is a move to undo.
+     * @return true if a move was played and not undone.
+     */
+    public boolean canUndo() {
+        return cursor > 0;
+    }
+
+    /**
+     * Checks if there is a move to redo.
+     * @return true if a move was undone and no move was played since.
+     */
+    public boolean canRedo() {
+        return cursor < size;
+    }
+
+    /**
+     * Steps back over the last played move. The caller restores the state before it.
+     * @return The packed move.
+     * @throws IllegalStateException If there is no move to undo.
+     */
+    public int undo() {
+        if (cursor == 0) {
+            throw new IllegalStateException("Nothing to undo");
+        }
+        return moves[--cursor];
+    }
+
+    /**
+     * Steps forward over the last undone move. The caller restores the state after it.
+     * @return The packed move.
+     * @throws IllegalStateException If there is no move to redo.
+     */
+    public int redo() {
+        if (cursor == size) {
+            throw new IllegalStateException("Nothing to redo");
+        }
+        return moves[cursor++];
+    }
+
+    /**
+     * Returns the number of moves played and not undone.
+     * @return The move count.
+     */
+    public int size() {
+        return cursor;
+    }
+
+    /**
+     * Forgets every move, keeping the array for the next game.
+     */
+    public void clear() {
+        cursor = 0;
+        size = 0;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.sudoku_game.model;
+
+import java.util.Arrays;
+
+/**
+ * The PencilMarks class keeps the candidates a player has noted in each cell of a board, one bitmask per cell
+ * with bit d-1 set for digit d. When a number is placed, {@link #eliminate} removes it from the marks of the peers
+ * of the cell and reports only the cells it changed, so a view repaints those and nothing else.
+ * The marks of a cell are kept while the cell holds a number, and show again if the number is erased.
+ */
+public final class PencilMarks {
+
+    private final Board board; // Board the marks belong to.
+    private final int[] marks; // Candidate mask of each cell.
+
+    /**
+     * Creates empty marks for a board.
+     * @param board The board the marks belong to; only its shape and its numbers are read.
+     */
+    public PencilMarks(Board board) {
+        this.board = board;
+        this.marks = new int[board.cellCount()];
+    }
+
+    /**
+     * Returns the marks of a cell.
+     * @param index The index of the cell.
+     * @return The candidate mask, bit d-1 set for digit d.
+     */
+    public int get(int index) {
+        return marks[index];
+    }
+
+    /**
+     * Adds or removes one mark.
+     * @param index The index of the cell.
+     * @param digit The digit to toggle, from 1 to the board size.
+     * @return The new candidate mask of the cell.
+     */
+    public int toggle(int index, int digit) {
+        if (digit < 1 || digit > board.size()) {
+            throw new IllegalArgumentException("Digit out of range: " + digit);
+        }
+        return marks[index] ^= 1 << (digit - 1);
+    }
+
+    /**
+     * Removes every mark of a cell.
+     * @param index The index of the cell.
+     */
+    public void clear(int index) {
+        marks[index] = 0;
+    }
+
+    /**
+     * Removes every mark of the board.
+     */
+    public void clearAll() {
+        Arrays.fill(marks, 0);
+    }
+
+    /**
+     * Marks every empty cell with the digits its row, column and block still allow.
+     * @return The number of cells whose marks changed.
+     */
+    public int fillCandidates() {
+        int changed = 0;
+        for (int index = 0; index < marks.length; index++) {
+            if (board.get(index) == 0) {
+                int candidates = board.candidates(index);
+                if (marks[index] != candidates) {
+                    marks[index] = candidates;
+                    changed++;
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Removes a digit placed in a cell from the marks of every peer of the cell.
+     * @param index The index of the cell the digit was placed in.
+     * @param digit The digit placed, from 1 to the board size.
+     * @param changed Receives the indexes of the peers whose marks changed; needs room for every peer of a cell.
+     * @return The number of indexes written to changed.
+     */
+    public int eliminate(int index, int digit, int[] changed) {
+        int bit = 1 << (digit - 1);
+        int count = 0;
+        for (int peer : board.peers(index)) {
+            if ((marks[peer] & bit) != 0) {
+                marks[peer] &= ~bit;
+                changed[count++] = peer;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns how many cells {@link #eliminate} can change at most, the size its buffer needs.
+     * @return The number of peers of a cell.
+     */
+    public int maxChanged() {
+        return board.peers(0).length;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.sudoku_game.model;
+
+/**
+ * A generated puzzle together with its unique solution and the values needed to reproduce it.
+ */
+public final class Puzzle {
+
+    private final long index; // Position of the puzzle in its batch.
+    private final long seed; // Seed the puzzle was generated from.
+    private final Difficulty difficulty; // Difficulty the puzzle was generated for.
+    private final Board givens; // Revealed cells of the puzzle.
+    private final Board solution; // Unique solution of the puzzle.
+    private final int clues; // Number of revealed cells.
+
+    /**
+     * Creates a puzzle.
+     * @param index The position of the puzzle in its batch.
+     * @param seed The seed the puzzle was generated from.
+     * @param difficulty The difficulty the puzzle was generated for.
+     * @param givens The revealed cells of the puzzle.
+     * @param solution The unique solution of the puzzle.
+     * @param clues The number of revealed cells.
+     */
+    public Puzzle(long index, long seed, Difficulty difficulty, Board givens, Board solution, int clues) {
+        this.index = index;
+        this.seed = seed;
+        this.difficulty = difficulty;
+        this.givens = givens;
+        this.solution = solution;
+        this.clues = clues;
+    }
+
+    /**
+     * Returns the position of the puzzle in its batch.
+     * @return The index of the puzzle.
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the seed the puzzle was generated from.
+     * @return The seed of the puzzle.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the difficulty the puzzle was generated for.
+     * @return The difficulty of the puzzle.
+     */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Returns the revealed cells of the puzzle.
+     * @return The givens of the puzzle.
+     */
+    public Board getGivens() {
+        return givens;
+    }
+
+    /**
+     * Returns the unique solution of the puzzle.
+     * @return The solution of the puzzle.
+     */
+    public Board getSolution() {
+        return solution;
+    }
+
+    /**
+     * Returns the number of revealed cells.
+     * @return The clue count of the puzzle.
+     */
+    public int getClues() {
+        return clues;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.sudoku_game.model;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+/**
+ * The PuzzleFactory class generates batches of unique-solution puzzles without any user interface.
+ * Work is spread across a fork/join pool. Each puzzle is generated from its own seed, derived from the
+ * batch seed and the puzzle index, so a batch is identical whatever the number of threads.
+ */
+public final class PuzzleFactory {
+
+    /**
+     * Prevents instantiation; all methods are static.
+     */
+    private PuzzleFactory() {
+    }
+
+    /**
+     * Generates a batch of 6x6 puzzles on every available core.
+     * @param count The number of puzzles to generate.
+     * @param difficulty The difficulty of every puzzle.
+     * @param seed The seed of the batch.
+     * @param consumer Receives each puzzle as soon as it is ready. It is called from several threads at once
+     *                 and in no particular order; use {@link Puzzle#getIndex()} to restore the order.
+     */
+    public static void generate(long count, Difficulty difficulty, long seed, Consumer<? super Puzzle> consumer) {
+        generate(count, difficulty, seed, Runtime.getRuntime().availableProcessors(), consumer);
+    }
+
+    /**
+     * Generates a batch of 6x6 puzzles on the given number of threads.
+     * @param count The number of puzzles to generate.
+     * @param difficulty The difficulty of every puzzle.
+     * @param seed The seed of the batch.
+     * @param parallelism The number of worker threads.
+     * @param consumer Receives each puzzle as soon as it is ready. It is called from several threads at once
+     *                 and in no particular order; use {@link Puzzle#getIndex()} to restore the order.
+     */
+    public static void generate(long count, Difficulty difficulty, long seed, int parallelism,
+                                Consumer<? super Puzzle> consumer) {
+        generate(count, Board.DEFAULT_BLOCK_ROWS, Board.DEFAULT_BLOCK_COLS, difficulty, seed, parallelism, consumer);
+    }
+
+    /**
+     * Generates a batch of puzzles of any supported size on the given number of threads.
+     * @param count The number of puzzles to generate.
+     * @param blockRows The number of rows in each block.
+     * @param blockCols The number of columns in each block.
+     * @param difficulty The difficulty of every puzzle.
+     * @param seed The seed of the batch.
+     * @param parallelism The number of worker threads.
+     * @param consumer Receives each puzzle as soon as it is ready. It is called from several threads at once
+     *                 and in no particular order; use {@link Puzzle#getIndex()} to restore the order.
+     */
+    public static void generate(long count, int blockRows, int blockCols, Difficulty difficulty, long seed,
+                                int parallelism, Consumer<? super Puzzle> consumer) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> LongStream.range(0, count)
+                    .parallel()
+                    .forEach(index -> consumer.accept(create(index, blockRows, blockCols, difficulty, seed))))
+                    .join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Generates a single 6x6 puzzle of a batch. The result depends only on the arguments.
+     * @param index The position of the puzzle in the batch.
+     * @param difficulty The difficulty of the puzzle.
+     * @param batchSeed The seed of the batch.
+     * @return The generated puzzle.
+     */
+    public static Puzzle create(long index, Difficulty difficulty, long batchSeed) {
+        return create(index, Board.DEFAULT_BLOCK_ROWS, Board.DEFAULT_BLOCK_COLS, difficulty, batchSeed);
+    }
+
+    /**
+     * Generates a single puzzle of a batch. The result depends only on the arguments.
+     * @param index The position of the puzzle in the batch.
+     * @param blockRows The number of rows in each block.
+     * @param blockCols The number of columns in each block.
+     * @param difficulty The difficulty of the puzzle.
+     * @param batchSeed The seed of the batch.
+     * @return The generated puzzle.
+     */
+    public static Puzzle create(long index, int blockRows, int blockCols, Difficulty difficulty, long batchSeed) {
+        long seed = seedFor(batchSeed, index);
+        Random random = new Random(seed);
+        Board solution = new Board(blockRows, blockCols);
+        Board givens = new Board(blockRows, blockCols);
+
+        new SolutionGenerator(random).generate(solution);
+        int clues = new PuzzleGenerator(new BitmaskSolver(), random)
+                .generate(solution, givens, difficulty.getTargetClues(solution.cellCount()));
+        return new Puzzle(index, seed, difficulty, givens, solution, clues);
+    }
+
+    /**
+     * Derives the seed of one puzzle from the seed of its batch (SplitMix64 finalizer),
+     * so neighbouring indexes get unrelated seeds.
+     * @param batchSeed The seed of the batch.
+     * @param index The position of the puzzle in the batch.
+     * @return The seed of the puzzle.
+     */
+    public static long seedFor(long batchSeed, long index) {
+        long z = batchSeed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.sudoku_game.model;
+
+import com.example.sudoku_game.metrics.Counter;
+import com.example.sudoku_game.metrics.Histogram;
+import com.example.sudoku_game.metrics.Metrics;
+import com.example.sudoku_game.metrics.PuzzleGenerationEvent;
+
+import java.util.Random;
+
+/**
+ * The PuzzleGenerator class turns a full solution grid into a puzzle with a unique solution.
+ * Clues are removed one at a time in random order, and a clue is put back if the puzzle stopped being unique.
+ * Since the puzzle was unique before the removal, any second solution must put another digit in the emptied
+ * cell, so the check asks the {@link Solver} for one solution with each of those digits; these searches fail
+ * much faster than a full count to two.
+ * Generation ends at the requested number of clues, or when no clue can be removed (a minimal puzzle).
+ * Each generation is reported as a {@link PuzzleGenerationEvent} and, when {@link Metrics#ENABLED}, in the
+ * "generation.*" metrics.
+ */
+public class PuzzleGenerator {
+
+    public static final int MINIMAL = 0; // Target clue count that asks for a minimal puzzle.
+    private static final int NODES_PER_CELL = 16; // Search budget of one uniqueness check, per cell.
+    private static final Histogram GENERATION_TIME = Metrics.histogram("generation.nanos"); // Time per puzzle.
+    private static final Counter GENERATION_NODES = Metrics.counter("generation.nodes"); // Nodes searched.
+    private static final Counter GENERATION_BACKTRACKS = Metrics.counter("generation.backtracks"); // Guesses undone.
+
+    private final Solver solver; // Engine used for the uniqueness checks.
+    private final Random random; // Source of the removal order.
+    private int[] order = new int[0]; // Cells in the order they are tried.
+    private int checks; // Uniqueness searches run by the current generation.
+    private long nodes; // Search nodes visited by the current generation.
+    private long backtracks; // Guesses taken back by the current generation.
+
+    /**
+     * Creates a generator with the given solver and seed.
+     * @param solver The engine used to count solutions.
+     * @param seed The seed of the removal order.
+     */
+    public PuzzleGenerator(Solver solver, long seed) {
+        this(solver, new Random(seed));
+    }
+
+    /**
+     * Creates a generator that draws from an existing random number generator.
+     * @param solver The engine used to count solutions.
+     * @param random The random number generator to use.
+     */
+    public PuzzleGenerator(Solver solver, Random random) {
+        this.solver = solver;
+        this.random = random;
+    }
+
+    /**
+     * Builds a puzzle with a unique solution from a solution grid.
+     * @param solution The full solution grid; it is not modified.
+     * @param puzzle The board that receives the puzzle.
+     * @param targetClues The number of clues to stop at, or {@link #MINIMAL} to remove as many as possible.
+     * @return The number of clues left in the puzzle, which may be above the target if the puzzle became minimal first.
+     */
+    public int generate(Board solution, Board puzzle, int targetClues) {
+        PuzzleGenerationEvent event = new PuzzleGenerationEvent();
+        event.begin();
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        checks = 0;
+        nodes = 0;
+        backtracks = 0;
+        puzzle.copyFrom(solution);
+        int cells = solution.cellCount();
+        int clues = cells;
+
+        // Random removal order (Fisher-Yates).
+        if (order.length != cells) {
+            order = new int[cells];
+        }
+        for (int i = 0; i < cells; i++) {
+            order[i] = i;
+        }
+        for (int i = cells - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+
+        for (int i = 0; i < cells && clues > targetClues; i++) {
+            int index = order[i];
+            int value = puzzle.get(index);
+            puzzle.set(index, 0);
+            if (isStillUnique(puzzle, index, value)) {
+                clues--;
+            } else {
+                puzzle.set(index, value); // The clue is needed for uniqueness.
+            }
+        }
+
+        if (event.shouldCommit()) {
+            event.cells = cells;
+            event.targetClues = targetClues;
+            event.clues = clues;
+            event.checks = checks;
+            event.nodes = nodes;
+            event.backtracks = backtracks;
+            event.commit();
+        }
+        if (Metrics.ENABLED) {
+            GENERATION_TIME.record(System.nanoTime() - start);
+            GENERATION_NODES.add(nodes);
+            GENERATION_BACKTRACKS.add(backtracks);
+        }
+        return clues;
+    }
+
+    /**
+     * Checks if a puzzle that was unique before a cell was emptied is still unique.
+     * @param puzzle The puzzle with the cell already emptied.
+     * @param index The index of the emptied cell.
+     * @param value The value the cell had in the solution.
+     * @return true if no solution puts another value in the cell.
+     */
+    private boolean isStillUnique(Board puzzle, int index, int value) {
+        int bit = 1 << (value - 1);
+        if (isHiddenSingle(puzzle, index, bit)) {
+            return true; // The value is forced, so the cell is determined without any search.
+        }
+
+        int alternatives = puzzle.candidates(index) & ~bit;
+        while (alternatives != 0) {
+            int alternative = Integer.lowestOneBit(alternatives);
+            alternatives ^= alternative;
+            puzzle.set(index, Integer.numberOfTrailingZeros(alternative) + 1);
+            int solutions = solver.countSolutions(puzzle, 1, (long) NODES_PER_CELL * puzzle.cellCount());
+            checks++;
+            nodes += solver.getNodeCount();
+            backtracks += solver.getBacktrackCount();
+            boolean solvable = solutions != 0; // A check that ran out of budget keeps the clue.
+            puzzle.set(index, 0);
+            if (solvable) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a digit can go in no other empty cell of the row, column or block of a cell.
+     * @param puzzle The puzzle to check.
+     * @param index The index of the empty cell.
+     * @param bit The mask bit of the digit.
+     * @return true if the digit has no other place in at least one unit of the cell.
+     */
+    private boolean isHiddenSingle(Board puzzle, int index, int bit) {
+        int size = puzzle.size();
+        int[][] units = puzzle.units();
+        int[] cellUnits = {puzzle.rowOf(index), size + puzzle.colOf(index), 2 * size + puzzle.blockOf(index)};
+        for (int unit : cellUnits) {
+            boolean elsewhere = false;
+            for (int other : units[unit]) {
+                if (other != index && puzzle.get(other) == 0 && (puzzle.candidates(other) & bit) != 0) {
+                    elsewhere = true;
+                    break;
+                }
+            }
+            if (!elsewhere) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.sudoku_game.model;
+
+import java.util.Random;
+
+/**
+ * The SolutionGenerator class produces random, fully solved Sudoku grids of any supported size.
+ * A grid is built by a search that always fills the empty cell with the fewest candidates and tries
+ * those candidates in random order; a search that runs too long is restarted, which keeps large boards fast.
+ * The grid is then shuffled with the row and column transformations that keep it valid:
+ * swapping bands of rows, rows inside a band, stacks of columns and columns inside a stack.
+ * The same seed always produces the same sequence of grids.
+ */
+public class SolutionGenerator {
+
+    private static final int NODES_PER_CELL = 64; // Search budget per cell before a restart.
+
+    private final Random random; // Source of every random choice.
+    private Board scratch; // Grid filled before the symmetry shuffle.
+    private int[] empty = new int[0]; // Cells not yet filled; filled ones are swapped to the front.
+    private int[] rowMap = new int[0]; // Source row of each target row.
+    private int[] colMap = new int[0]; // Source column of each target column.
+    private int[] groupOrder = new int[0]; // Shuffled order of the groups of one axis.
+    private int[] order = new int[0]; // Shuffled order of the lines inside a group.
+    private int budget; // Search nodes left before a restart.
+
+    /**
+     * Creates a generator with the given seed.
+     * @param seed The seed that determines every generated grid.
+     */
+    public SolutionGenerator(long seed) {
+        this(new Random(seed));
+    }
+
+    /**
+     * Creates a generator that draws from an existing random number generator.
+     * @param random The random number generator to use.
+     */
+    public SolutionGenerator(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * Fills the target board with a new random solution grid of the same shape.
+     * Any previous content of the board is discarded.
+     * @param target The board that receives the grid.
+     */
+    public void generate(Board target) {
+        prepare(target);
+        int size = target.size();
+        int cells = target.cellCount();
+
+        do {
+            scratch.clear();
+            for (int index = 0; index < cells; index++) {
+                empty[index] = index;
+            }
+            budget = NODES_PER_CELL * cells;
+        } while (!fill(scratch, 0));
+
+        shuffleAxis(rowMap, size / target.blockRows(), target.blockRows());
+        shuffleAxis(colMap, size / target.blockCols(), target.blockCols());
+
+        target.clear();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                target.set(row, col, scratch.get(rowMap[row], colMap[col]));
+            }
+        }
+    }
+
+    /**
+     * Sizes the buffers for the shape of the target board.
+     * @param target The board about to be generated.
+     */
+    private void prepare(Board target) {
+        if (scratch == null || !scratch.hasSameShape(target)) {
+            int size = target.size();
+            scratch = new Board(target.blockRows(), target.blockCols());
+            empty = new int[target.cellCount()];
+            rowMap = new int[size];
+            colMap = new int[size];
+            groupOrder = new int[size];
+            order = new int[size];
+        }
+    }
+
+    /**
+     * Fills the most constrained empty cell with each of its candidates, in random order.
+     * @param board The board being filled.
+     * @param depth The number of cells already filled.
+     * @return true if the board was completed, false if backtracking is needed or the budget ran out.
+     */
+    private boolean fill(Board board, int depth) {
+        if (depth == board.cellCount()) {
+            return true;
+        }
+        if (--budget < 0) {
+            return false; // Give up and let generate() restart.
+        }
+
+        int bestSlot = depth;
+        int bestCandidates = 0;
+        int bestCount = Integer.MAX_VALUE;
+        for (int slot = depth; slot < empty.length; slot++) {
+            int candidates = board.candidates(empty[slot]);
+            int candidateCount = Integer.bitCount(candidates);
+            if (candidateCount < bestCount) {
+                if (candidateCount == 0) {
+                    return false; // Dead end.
+                }
+                bestSlot = slot;
+                bestCandidates = candidates;
+                bestCount = candidateCount;
+                if (candidateCount == 1) {
+                    break;
+                }
+            }
+        }
+
+        int index = empty[bestSlot];
+        empty[bestSlot] = empty[depth];
+        empty[depth] = index;
+
+        int candidates = bestCandidates;
+        while (candidates != 0) {
+            // Pick one of the remaining candidates at random.
+            int skip = random.nextInt(Integer.bitCount(candidates));
+            int bits = candidates;
+            for (int i = 0; i < skip; i++) {
+                bits &= bits - 1;
+            }
+            int bit = Integer.lowestOneBit(bits);
+            candidates ^= bit;
+
+            board.set(index, Integer.numberOfTrailingZeros(bit) + 1);
+            if (fill(board, depth + 1)) {
+                return true;
+            }
+            board.set(index, 0); // Backtracking
+            if (budget < 0) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds a random permutation of one axis that keeps blocks intact:
+     * the groups are shuffled, and the lines inside each group are shuffled.
+     * @param map The array that receives the source line of each target line.
+     * @param groups The number of groups along the axis.
+     * @param groupSize The number of lines in each group.
+     */
+    private void shuffleAxis(int[] map, int groups, int groupSize) {
+        shuffle(groupOrder, groups);
+
+        for (int group = 0; group < groups; group++) {
+            shuffle(order, groupSize);
+            for (int line = 0; line < groupSize; line++) {
+                map[group * groupSize + line] = groupOrder[group] * groupSize + order[line];
+            }
+        }
+    }
+
+    /**
+     * Writes a random permutation of 0 to length-1 into the array (Fisher-Yates).
+     * @param values The array to fill.
+     * @param length The number of entries to permute.
+     */
+    private void shuffle(int[] values, int length) {
+        for (int i = 0; i < length; i++) {
+            values[i] = i;
+        }
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.sudoku_game.model;
+
+/**
+ * Interface for Sudoku solving engines.
+ * Implementations work directly on a {@link Board} so they can be swapped when a {@link Sudoku} is built.
+ */
+public interface Solver {
+
+    public static final int UNKNOWN = -1; // Result of a count that ran out of search budget.
+
+    /**
+     * Fills every empty cell of the board with a valid value.
+     * If no solution exists the board is left as it was.
+     *
+     * @param board The board to solve in place.
+     * @return true if the board was solved, false if it has no solution.
+     */
+    public boolean solve(Board board);
+
+    /**
+     * Counts the solutions of the board, stopping as soon as the limit is reached.
+     * The board is left as it was.
+     *
+     * @param board The board whose solutions are counted.
+     * @param limit The maximum number of solutions to look for.
+     * @return The number of solutions found, never greater than the limit.
+     */
+    public int countSolutions(Board board, int limit);
+
+    /**
+     * Counts the solutions of the board within a search budget.
+     * Engines that cannot bound their search ignore the budget and always finish the count.
+     * The board is left as it was.
+     *
+     * @param board The board whose solutions are counted.
+     * @param limit The maximum number of solutions to look for.
+     * @param maxNodes The maximum number of search nodes to visit.
+     * @return The number of solutions found, or {@link #UNKNOWN} if the budget ran out first.
+     */
+    public default int countSolutions(Board board, int limit, long maxNodes) {
+        return countSolutions(board, limit);
+    }
+
+    /**
+     * Returns the number of search nodes visited by the last solve or count.
+     * Engines that do not keep count return 0.
+     *
+     * @return The node count of the last search.
+     */
+    public default long getNodeCount() {
+        return 0;
+    }
+
+    /**
+     * Returns the number of guesses taken back by the last solve or count.
+     * Engines that do not keep count return 0.
+     *
+     * @return The backtrack count of the last search.
+     */
+    public default long getBacktrackCount() {
+        return 0;
+    }
+}
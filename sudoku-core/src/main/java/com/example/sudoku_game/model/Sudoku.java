@@ -0,0 +1,348 @@
+package com.example.sudoku_game.model;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * @author Laura Celeste Berrio Parra - 2322101
+ * The Sudoku class represents a Sudoku board (6x6 with 2x3 blocks by default) and contains methods to solve, validate,
+ * and automatically fill some cells in the board.
+ * Both the current board and its solution are kept in a compact {@link Board}.
+ * The solution is drawn by a seeded {@link SolutionGenerator}, and a pluggable {@link Solver}
+ * is used to count solutions.
+ */
+public class Sudoku {
+
+    private final Board sudoku; // Represents the current Sudoku board.
+    private final Board sudokuSolved; // Represents the full solution of the Sudoku.
+    private final int SUDOKU_SIZE; // Size of the Sudoku board (6 for 6x6).
+    private final Solver solver; // Engine used to solve and count solutions.
+    private final long seed; // Seed that reproduces this Sudoku.
+    private final Random random; // Random number generator.
+    private int helps;
+    /**
+     * Constructor that initializes an empty board and generates a random solution for the Sudoku
+     * using the {@link BitmaskSolver}.
+     */
+    public Sudoku() {
+        this(new BitmaskSolver());
+    }
+
+    /**
+     * Constructor that initializes an empty board and generates a random solution with the given solver.
+     * @param solver The engine used to count the solutions of the board.
+     */
+    public Sudoku(Solver solver) {
+        this(solver, new Random().nextLong());
+    }
+
+    /**
+     * Constructor that initializes an empty board and generates the solution determined by the seed.
+     * @param seed The seed of the solution and of the revealed cells.
+     */
+    public Sudoku(long seed) {
+        this(new BitmaskSolver(), seed);
+    }
+
+    /**
+     * Constructor that initializes an empty board and generates the solution determined by the seed.
+     * @param solver The engine used to count the solutions of the board.
+     * @param seed The seed of the solution and of the revealed cells.
+     */
+    public Sudoku(Solver solver, long seed) {
+        this(Board.DEFAULT_BLOCK_ROWS, Board.DEFAULT_BLOCK_COLS, solver, seed);
+    }
+
+    /**
+     * Constructor that initializes an empty board made of blocks of the given shape
+     * and generates the solution determined by the seed.
+     * @param blockRows The number of rows in each block.
+     * @param blockCols The number of columns in each block.
+     * @param solver The engine used to count the solutions of the board.
+     * @param seed The seed of the solution and of the revealed cells.
+     */
+    public Sudoku(int blockRows, int blockCols, Solver solver, long seed) {
+        this.solver = solver;
+        this.seed = seed;
+        this.random = new Random(seed);
+
+        // Initializes the Sudoku boards with zeros (empty cells).
+        sudoku = new Board(blockRows, blockCols);
+        sudokuSolved = new Board(blockRows, blockCols);
+        SUDOKU_SIZE = sudoku.size();
+
+        // Generates a random valid solution.
+        new SolutionGenerator(random).generate(sudokuSolved);
+    }
+
+    /**
+     * Constructor that starts from a puzzle generated ahead of time, using the {@link BitmaskSolver}.
+     * @param puzzle The puzzle whose givens and solution are loaded.
+     */
+    public Sudoku(Puzzle puzzle) {
+        this(puzzle, new BitmaskSolver());
+    }
+
+    /**
+     * Constructor that starts from a puzzle generated ahead of time.
+     * @param puzzle The puzzle whose givens and solution are loaded.
+     * @param solver The engine used to count the solutions of the board.
+     */
+    public Sudoku(Puzzle puzzle, Solver solver) {
+        this.solver = solver;
+        this.seed = puzzle.getSeed();
+        this.random = new Random(seed);
+        this.sudoku = new Board(puzzle.getGivens());
+        this.sudokuSolved = new Board(puzzle.getSolution());
+        this.SUDOKU_SIZE = sudoku.size();
+    }
+
+    /**
+     * Gets the value of the cell at the given position.
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return The value of the cell at the given row and column.
+     */
+    public int getCellValue(int row, int col) {
+        return sudoku.get(row, col);
+    }
+
+    /**
+     * Gets the value of the cell at the given position in the solution.
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return The value of the solved cell at the given row and column.
+     */
+    public int getSolvedCellValue(int row, int col) {
+        return sudokuSolved.get(row, col);
+    }
+
+    /**
+     * Sets a value in the cell at the given position.
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @param value The value to be set in the cell.
+     */
+    public void setCellValue(int row, int col, int value) {
+        sudoku.set(row, col, value);
+    }
+
+    /**
+     * Fills two empty cells within a block with values from the solution.
+     * @param blockRow The block row index (2 rows per block on a 6x6 board).
+     * @param blockCol The block column index (3 columns per block on a 6x6 board).
+     */
+    public void fillTwoCellsInBlock(int blockRow, int blockCol) {
+        int count = 0;
+
+        // Fill two random empty cells within the specified block.
+        while (count < 2) {
+            int blockRows = sudoku.blockRows();
+            int blockCols = sudoku.blockCols();
+            int row = blockRow * blockRows + random.nextInt(blockRows); // Calculate the row within the block.
+            int col = blockCol * blockCols + random.nextInt(blockCols); // Calculate the column within the block.
+
+            if (sudoku.get(row, col) == 0) {
+                sudoku.set(row, col, sudokuSolved.get(row, col)); // Set the solution value.
+                count++;
+            }
+        }
+    }
+
+    /**
+     * Finds the next move to suggest: a naked or hidden single when one applies,
+     * otherwise a random empty cell revealed from the solution. The board is not changed.
+     * @return The hint, or null if the board has no empty cell.
+     */
+    public Hint nextHint() {
+        return HintEngine.nextHint(sudoku, sudokuSolved, random);
+    }
+
+    /**
+     * Replaces the current board with a puzzle that has a unique solution,
+     * removing clues from the solution until the target is reached or no more can be removed.
+     * @param targetClues The number of clues to stop at, or {@link PuzzleGenerator#MINIMAL} for a minimal puzzle.
+     * @return The number of clues revealed on the board.
+     */
+    public int generateUniquePuzzle(int targetClues) {
+        return new PuzzleGenerator(solver, random).generate(sudokuSolved, sudoku, targetClues);
+    }
+
+    /**
+     * Checks if a value is valid in a given cell of the current board according to Sudoku rules.
+     * Uses the row, column and block masks of the board, so it runs in constant time.
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @param value The value to check.
+     * @return true if the value is valid in the row, column, and block, false otherwise.
+     */
+    public boolean checkValidValue(int row, int col, int value) {
+        return sudoku.isAllowed(row, col, value);
+    }
+
+    /**
+     * Checks if a value is valid in a given cell according to Sudoku rules.
+     * Kept for callers that work on the list representation of a board.
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @param value The value to check.
+     * @param sudoku The Sudoku board on which to check the value.
+     * @return true if the value is valid in the row, column, and block, false otherwise.
+     */
+    public boolean checkValidValue(int row, int col, int value, ArrayList<ArrayList<Integer>> sudoku) {
+
+        // Check if the value is already in the cell.
+        if (sudoku.get(row).get(col) == value) {
+            return true;
+        }
+
+        // Check if the value is in the row.
+        for (int i = 0; i < SUDOKU_SIZE; i++) {
+            if (sudoku.get(row).get(i) == value) {
+                return false;
+            }
+        }
+
+        // Check if the value is in the column.
+        for (int i = 0; i < SUDOKU_SIZE; i++) {
+            if (sudoku.get(i).get(col) == value) {
+                return false;
+            }
+        }
+
+        // Check if the value is in the block.
+        int blockRows = this.sudoku.blockRows();
+        int blockCols = this.sudoku.blockCols();
+        int blockFirstRow = (row / blockRows) * blockRows;
+        int blockFirstCol = (col / blockCols) * blockCols;
+
+        for (int i = blockFirstRow; i < (blockFirstRow + blockRows); i++) {
+            for (int j = blockFirstCol; j < (blockFirstCol + blockCols); j++) {
+                if (sudoku.get(i).get(j) == value) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if the Sudoku is fully solved and valid.
+     * Reads the running counters of the board, so it runs in constant time.
+     * @return true if the Sudoku is completely solved, false otherwise.
+     */
+    public boolean isSudokuSolved() {
+        return sudoku.isSolved();
+    }
+
+    /**
+     * Returns the number of conflicts (repeated digits in a row, column or block) on the current board.
+     * @return The conflict count, 0 if the board is consistent.
+     */
+    public int getConflictCount() {
+        return sudoku.getConflictCount();
+    }
+
+    /**
+     * Counts the solutions of the current board, stopping at the given limit.
+     * A result of 1 means the board has a unique solution.
+     * @param limit The maximum number of solutions to look for.
+     * @return The number of solutions found, never greater than the limit.
+     */
+    public int countSolutions(int limit) {
+        return solver.countSolutions(new Board(sudoku), limit);
+    }
+
+    /**
+     * Calculates the next column in the row.
+     * @param col The current column.
+     * @return The index of the next column.
+     */
+    public int nextCol(int col) {
+        if (col == SUDOKU_SIZE - 1) {
+            return 0;
+        } else {
+            return col + 1;
+        }
+    }
+
+    /**
+     * Calculates the next row when switching columns.
+     * @param row The current row.
+     * @param col The current column.
+     * @return The index of the next row.
+     */
+    public int nextRow(int row, int col) {
+        if (col == SUDOKU_SIZE - 1) {
+            return row + 1;
+        } else {
+            return row;
+        }
+    }
+
+    /**
+     * Returns a copy of the solved Sudoku board as a list of rows.
+     * @return The solved Sudoku board.
+     */
+    public ArrayList<ArrayList<Integer>> getSudokuSolved() {
+        return sudokuSolved.toList();
+    }
+
+    /**
+     * Returns a copy of the current Sudoku board as a list of rows.
+     * Use {@link #setCellValue(int, int, int)} to change the board.
+     * @return The current Sudoku board.
+     */
+    public ArrayList<ArrayList<Integer>> getSudoku() {
+        return sudoku.toList();
+    }
+
+    /**
+     * Returns the compact current board.
+     * @return The current Sudoku board.
+     */
+    public Board getBoard() {
+        return sudoku;
+    }
+
+    /**
+     * Returns the compact solved board.
+     * @return The solved Sudoku board.
+     */
+    public Board getSolvedBoard() {
+        return sudokuSolved;
+    }
+
+    /**
+     * Returns the size of the Sudoku (6 for a 6x6 board).
+     * @return The size of the Sudoku.
+     */
+    public int getSudokuSize() {
+        return SUDOKU_SIZE;
+    }
+
+    /**
+     * Returns the seed that reproduces this Sudoku.
+     * @return The seed of this Sudoku.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the engine used to solve this Sudoku.
+     * @return The solver of this Sudoku.
+     */
+    public Solver getSolver() {
+        return solver;
+    }
+
+    public int getHelps() {
+        return helps;
+    }
+
+    public void setHelps(int helps) {
+        this.helps = helps;
+    }
+}
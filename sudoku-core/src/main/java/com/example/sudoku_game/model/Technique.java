@@ -0,0 +1,34 @@
+package com.example.sudoku_game.model;
+
+/**
+ * Human solving techniques known to the {@link DifficultyGrader}, from the easiest to the hardest.
+ * Each technique has a weight that is added to the difficulty score every time it is applied.
+ */
+public enum Technique {
+    NAKED_SINGLE(1), // The only candidate left in a cell.
+    HIDDEN_SINGLE(2), // The only place left for a digit in a row, column or block.
+    POINTING(4), // A digit confined to one row or column of a block leaves the rest of that line.
+    BOX_LINE(5), // A digit confined to one block within a row or column leaves the rest of that block.
+    NAKED_PAIR(6), // Two cells of a unit with the same two candidates take them from the rest of the unit.
+    HIDDEN_PAIR(7), // Two digits with the same two places in a unit clear every other candidate of those cells.
+    NAKED_TRIPLE(9), // Three cells of a unit with three candidates between them take them from the rest of the unit.
+    X_WING(12); // A digit with the same two places in two rows (or columns) leaves the rest of those columns (or rows).
+
+    private final int weight; // Score added per application.
+
+    /**
+     * Creates a technique.
+     * @param weight The score added each time the technique is applied.
+     */
+    Technique(int weight) {
+        this.weight = weight;
+    }
+
+    /**
+     * Returns the score added each time the technique is applied.
+     * @return The weight of the technique.
+     */
+    public int getWeight() {
+        return weight;
+    }
+}
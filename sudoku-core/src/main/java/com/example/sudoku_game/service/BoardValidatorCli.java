@@ -0,0 +1,131 @@
+package com.example.sudoku_game.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Command line entry point of the bulk validator: checks a file of packed boards, or packs text boards into one.
+ * Usage:
+ * <pre>
+ * java -cp sudoku-core.jar com.example.sudoku_game.service.BoardValidatorCli file [listed]
+ * java -cp sudoku-core.jar com.example.sudoku_game.service.BoardValidatorCli --pack textFile packedFile
+ * </pre>
+ * The first form prints the positions of the first invalid boards (none unless listed is given), then a summary
+ * with the boards per second sustained. The second converts lines of 36 cells, as printed by {@link PuzzleCli},
+ * into the records of {@link BulkBoardValidator}. Either file may be "-" for the standard input or output.
+ */
+public final class BoardValidatorCli {
+
+    /**
+     * Prevents instantiation; the class only holds the entry point.
+     */
+    private BoardValidatorCli() {
+    }
+
+    /**
+     * Checks or packs a file.
+     * @param args A file and an optional number of invalid boards to list, or --pack and two files.
+     * @throws IOException If a file cannot be read or written, or a record is cut short.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: BoardValidatorCli file [listed] | --pack textFile packedFile");
+            System.exit(2);
+        }
+        if (args[0].equals("--pack")) {
+            if (args.length != 3) {
+                System.err.println("Usage: BoardValidatorCli --pack textFile packedFile");
+                System.exit(2);
+            }
+            long boards = pack(args[1], args[2]);
+            System.err.printf("packed %,d boards%n", boards);
+            return;
+        }
+
+        long listed = args.length > 1 ? Long.parseLong(args[1]) : 0;
+        PrintStream out = System.out;
+        long[] invalid = new long[1];
+        long start = System.nanoTime();
+        long boards;
+        try (ReadableByteChannel in = args[0].equals("-") ? Channels.newChannel(System.in)
+                : FileChannel.open(Path.of(args[0]))) {
+            boards = new BulkBoardValidator().validate(in, position -> {
+                if (invalid[0]++ < listed) {
+                    out.println(position);
+                }
+            });
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        out.printf("boards %d valid %d invalid %d in %.3f s, %.0f boards/s, %.1f MB/s%n", boards,
+                boards - invalid[0], invalid[0], seconds, boards / seconds,
+                boards * BulkBoardValidator.RECORD_BYTES / seconds / 1e6);
+    }
+
+    /**
+     * Packs a text file of boards, one per line, into records; blank lines are skipped.
+     * @param textFile The text file, or "-" for the standard input.
+     * @param packedFile The packed file to write, or "-" for the standard output.
+     * @return The number of boards packed.
+     * @throws IOException If a file cannot be read or written.
+     * @throws IllegalArgumentException If a line is not a board, naming the line.
+     */
+    private static long pack(String textFile, String packedFile) throws IOException {
+        long[] record = new long[2];
+        ByteBuffer buffer = ByteBuffer.allocate(BulkBoardValidator.BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        long boards = 0;
+        long lineNumber = 0;
+        try (BufferedReader reader = textFile.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.US_ASCII))
+                : Files.newBufferedReader(Path.of(textFile), StandardCharsets.US_ASCII);
+             WritableByteChannel out = packedFile.equals("-") ? Channels.newChannel(System.out)
+                : FileChannel.open(Path.of(packedFile), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                try {
+                    BulkBoardValidator.pack(line, record, 0);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+                }
+                if (buffer.remaining() < BulkBoardValidator.RECORD_BYTES) {
+                    write(buffer, out);
+                }
+                buffer.putLong(record[0]).putLong(record[1]);
+                boards++;
+            }
+            write(buffer, out);
+        }
+        return boards;
+    }
+
+    /**
+     * Writes out and empties a buffer.
+     * @param buffer The buffer, in write mode.
+     * @param out The channel to write to.
+     * @throws IOException If the channel cannot be written.
+     */
+    private static void write(ByteBuffer buffer, WritableByteChannel out) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+}
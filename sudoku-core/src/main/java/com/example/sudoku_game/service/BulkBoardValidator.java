@@ -0,0 +1,252 @@
+package com.example.sudoku_game.service;
+
+import com.example.sudoku_game.model.Board;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.util.function.LongConsumer;
+
+/**
+ * The BulkBoardValidator class checks completed 6x6 boards in bulk, streamed from a file of packed fixed-width
+ * records, for the offline pipelines that check millions of submitted solutions.
+ * <p>
+ * A record is {@value #RECORD_BYTES} bytes: two little-endian longs, the first holding rows 0 to 2 and the second
+ * rows 3 to 5, 3 bits per cell in reading order from the lowest bits (cell (r, c) at bit 3 * (6 * (r % 3) + c)),
+ * 0 for an empty cell. The top 10 bits of both longs are reserved and must be 0. Records have no header and no
+ * separator, so files can be split and joined at any multiple of the record size.
+ * <p>
+ * Boards are checked 64 at a time, bit-sliced: the records of a batch are transposed so that one long holds the
+ * same bit of the same cell of all 64 boards, and every row, column and block constraint then becomes a handful
+ * of ANDs and ORs that checks it on the 64 boards at once. A board is valid when each of its rows, columns and
+ * 2x3 blocks holds each of 1 to 6; an empty cell or a 7 always leaves some digit missing from its row.
+ * The stream is read through one buffer of {@value #BUFFER_BYTES} bytes, so memory stays the same whatever the
+ * size of the input. A validator is not thread-safe; threads that check boards in parallel each use their own.
+ */
+public final class BulkBoardValidator {
+
+    public static final int RECORD_BYTES = 16; // Bytes per packed board.
+    public static final int BATCH = 64; // Boards checked at once, one per bit of a long.
+    public static final int BUFFER_BYTES = 64 * 1024; // Bytes read from the stream at once.
+
+    private static final int SIZE = PuzzleCodec.SIZE; // Rows, columns and digits of a board.
+    private static final int CELL_BITS = 3; // Bits per packed cell.
+    private static final int HALF_ROWS = 3; // Rows per packed long.
+    private static final int USED_BITS = CELL_BITS * SIZE * HALF_ROWS; // Bits of a packed long that hold cells.
+    private static final int[][] UNITS = units(); // Cells of every row, column and block.
+
+    private final long[] low = new long[BATCH]; // First longs of the batch, transposed in place.
+    private final long[] high = new long[BATCH]; // Second longs of the batch, transposed in place.
+    private final long[] digits = new long[SIZE * SIZE * SIZE]; // Per cell and digit, the boards with it there.
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES)
+            .order(ByteOrder.LITTLE_ENDIAN); // Bytes read from the stream, a whole number of records.
+
+    /**
+     * Creates a validator with its own batch and read buffer.
+     */
+    public BulkBoardValidator() {
+    }
+
+    /**
+     * Packs a board into a record.
+     * @param board The board, 6x6 with 2x3 blocks.
+     * @param record Receives the two longs of the record.
+     * @param offset The position of the first long in the array.
+     * @throws IllegalArgumentException If the board is not 6x6 with 2x3 blocks.
+     */
+    public static void pack(Board board, long[] record, int offset) {
+        if (!PuzzleCodec.supports(board)) {
+            throw new IllegalArgumentException("Only 6x6 boards with 2x3 blocks can be packed");
+        }
+        record[offset] = 0;
+        record[offset + 1] = 0;
+        for (int index = 0; index < SIZE * SIZE; index++) {
+            record[offset + index / (SIZE * HALF_ROWS)] |= (long) board.get(index) << shift(index);
+        }
+    }
+
+    /**
+     * Packs a board written as text into a record: 36 cells in reading order, each a digit from 0 to 7, with 0 or
+     * '.' for an empty cell, as printed by {@link PuzzleCli}. Digits the game does not use are kept, and make
+     * the board invalid.
+     * @param cells The text of the board.
+     * @param record Receives the two longs of the record.
+     * @param offset The position of the first long in the array.
+     * @throws IllegalArgumentException If the text is not 36 cells long or a cell cannot be packed.
+     */
+    public static void pack(CharSequence cells, long[] record, int offset) {
+        if (cells.length() != SIZE * SIZE) {
+            throw new IllegalArgumentException("A board has " + SIZE * SIZE + " cells, not " + cells.length());
+        }
+        record[offset] = 0;
+        record[offset + 1] = 0;
+        for (int index = 0; index < SIZE * SIZE; index++) {
+            char c = cells.charAt(index);
+            int value = c == '.' ? 0 : c - '0';
+            if (value < 0 || value >= 1 << CELL_BITS) {
+                throw new IllegalArgumentException("Cell " + index + " cannot be packed: '" + c + "'");
+            }
+            record[offset + index / (SIZE * HALF_ROWS)] |= (long) value << shift(index);
+        }
+    }
+
+    /**
+     * Returns the position of a cell in its packed long.
+     * @param index The index of the cell, row * 6 + column.
+     * @return The lowest bit of the cell.
+     */
+    private static int shift(int index) {
+        return CELL_BITS * (index % (SIZE * HALF_ROWS));
+    }
+
+    /**
+     * Checks up to 64 packed boards.
+     * @param records The records, two longs per board.
+     * @param offset The position of the first long of the first board.
+     * @param count The number of boards, 1 to 64.
+     * @return A mask with bit i set if board i is valid.
+     */
+    public long validate(long[] records, int offset, int count) {
+        if (count < 1 || count > BATCH) {
+            throw new IllegalArgumentException("A batch holds 1 to " + BATCH + " boards: " + count);
+        }
+        for (int i = 0; i < count; i++) {
+            low[i] = records[offset + 2 * i];
+            high[i] = records[offset + 2 * i + 1];
+        }
+        return validateBatch(count);
+    }
+
+    /**
+     * Checks every record of a stream and reports the invalid ones.
+     * @param in The stream of records, read to its end.
+     * @param invalid Receives the position of every invalid board, counting from 0, in order.
+     * @return The number of boards read.
+     * @throws IOException If the stream cannot be read, or ends inside a record.
+     */
+    public long validate(ReadableByteChannel in, LongConsumer invalid) throws IOException {
+        long boards = 0;
+        int count = 0;
+        buffer.clear();
+        while (in.read(buffer) >= 0) {
+            buffer.flip();
+            while (buffer.remaining() >= RECORD_BYTES) {
+                low[count] = buffer.getLong();
+                high[count] = buffer.getLong();
+                if (++count == BATCH) {
+                    report(validateBatch(count), count, boards, invalid);
+                    boards += count;
+                    count = 0;
+                }
+            }
+            buffer.compact();
+        }
+        if (buffer.position() != 0) {
+            throw new EOFException("The stream ends inside the record of board " + (boards + count));
+        }
+        if (count > 0) {
+            report(validateBatch(count), count, boards, invalid);
+            boards += count;
+        }
+        return boards;
+    }
+
+    /**
+     * Passes the invalid boards of a batch on.
+     * @param valid The mask of the valid boards of the batch.
+     * @param count The number of boards in the batch.
+     * @param first The position of the first board of the batch.
+     * @param invalid Receives the position of every invalid board.
+     */
+    private static void report(long valid, int count, long first, LongConsumer invalid) {
+        long bad = ~valid & (count == BATCH ? -1L : (1L << count) - 1);
+        while (bad != 0) {
+            invalid.accept(first + Long.numberOfTrailingZeros(bad));
+            bad &= bad - 1;
+        }
+    }
+
+    /**
+     * Checks the boards loaded into the batch arrays.
+     * @param count The number of boards loaded; the other slots are ignored.
+     * @return A mask with bit i set if board i is valid.
+     */
+    private long validateBatch(int count) {
+        transpose(low);
+        transpose(high);
+        // After the transposition, low[b] holds bit b of the first long of every board, one board per bit.
+        long valid = count == BATCH ? -1L : (1L << count) - 1;
+        for (int bit = USED_BITS; bit < Long.SIZE; bit++) {
+            valid &= ~(low[bit] | high[bit]);  // Reserved bits must be clear
+        }
+
+        // One plane per cell and digit: the boards that have that digit in that cell
+        for (int cell = 0; cell < SIZE * SIZE; cell++) {
+            long[] half = cell < SIZE * HALF_ROWS ? low : high;
+            int base = shift(cell);
+            long b0 = half[base];
+            long b1 = half[base + 1];
+            long b2 = half[base + 2];
+            long odd = b0 & ~b2;  // 1 or 3
+            long even = ~b0 & ~b2;  // 0 or 2
+            long oddHigh = b0 & b2;  // 5 or 7
+            long evenHigh = ~b0 & b2;  // 4 or 6
+            int plane = cell * SIZE;
+            digits[plane] = odd & ~b1;  // 1 = 001
+            digits[plane + 1] = even & b1;  // 2 = 010
+            digits[plane + 2] = odd & b1;  // 3 = 011
+            digits[plane + 3] = evenHigh & ~b1;  // 4 = 100
+            digits[plane + 4] = oddHigh & ~b1;  // 5 = 101
+            digits[plane + 5] = evenHigh & b1;  // 6 = 110
+        }
+
+        // Every unit must hold every digit somewhere
+        for (int[] unit : UNITS) {
+            for (int digit = 0; digit < SIZE; digit++) {
+                long present = 0;
+                for (int cell : unit) {
+                    present |= digits[cell * SIZE + digit];
+                }
+                valid &= present;
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Transposes a 64x64 bit matrix in place: bit j of long i moves to bit i of long j. Swaps ever smaller blocks
+     * across the diagonal, six rounds of 32 masked swaps instead of 4096 single bits.
+     * @param matrix The matrix, one row per long, bit 0 first.
+     */
+    static void transpose(long[] matrix) {
+        long mask = 0x00000000FFFFFFFFL;
+        for (int width = 32; width != 0; width >>>= 1, mask ^= mask << width) {
+            for (int row = 0; row < Long.SIZE; row = ((row | width) + 1) & ~width) {
+                long swap = ((matrix[row] >>> width) ^ matrix[row | width]) & mask;
+                matrix[row] ^= swap << width;
+                matrix[row | width] ^= swap;
+            }
+        }
+    }
+
+    /**
+     * Lists the cells, by index row * 6 + column, of the 6 rows, 6 columns and 6 blocks of a board.
+     * @return The cells of every unit.
+     */
+    private static int[][] units() {
+        int[][] units = new int[3 * SIZE][SIZE];
+        int blocksPerRow = SIZE / PuzzleCodec.BLOCK_COLS;
+        for (int i = 0; i < SIZE; i++) {
+            for (int j = 0; j < SIZE; j++) {
+                units[i][j] = i * SIZE + j;
+                units[SIZE + i][j] = j * SIZE + i;
+                int row = i / blocksPerRow * PuzzleCodec.BLOCK_ROWS + j / PuzzleCodec.BLOCK_COLS;
+                int col = i % blocksPerRow * PuzzleCodec.BLOCK_COLS + j % PuzzleCodec.BLOCK_COLS;
+                units[2 * SIZE + i][j] = row * SIZE + col;
+            }
+        }
+        return units;
+    }
+}
@@ -0,0 +1,350 @@
+package com.example.sudoku_game.service;
+
+import com.example.sudoku_game.model.Board;
+import com.example.sudoku_game.model.Difficulty;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The GameJournal class saves the game being played so it can be resumed after the window is closed.
+ * Every move is appended to a binary journal as an 8-byte record (game time, cell, number and flags).
+ * Every {@link #SNAPSHOT_INTERVAL} moves, and when the journal is closed, the whole {@link GameState} is written
+ * to a snapshot and the journal starts over, so resuming never replays more than that many moves.
+ * <p>
+ * {@link #record} only queues the move; a single background thread writes whatever has queued up in one batch
+ * and keeps its own copy of the state to take snapshots from, so the caller never waits for the disk.
+ * Games replaced by a newer one in the same batch are skipped, so the writer catches up after a burst of new games.
+ * The snapshot is replaced atomically and names the journal that continues it by a random id,
+ * so a crash between the two files never replays moves onto the wrong snapshot.
+ */
+public class GameJournal implements AutoCloseable {
+
+    public static final int SNAPSHOT_INTERVAL = 64; // Moves between two snapshots.
+
+    static final String SNAPSHOT_FILE = "game.snapshot"; // Last snapshot.
+    static final String JOURNAL_FILE = "game.journal"; // Moves since the last snapshot.
+    private static final int SNAPSHOT_MAGIC = 0x53444B53; // "SDKS"
+    private static final int JOURNAL_MAGIC = 0x53444B4A; // "SDKJ"
+    private static final short VERSION = 1; // Format version of both files.
+    private static final int SNAPSHOT_HEADER_BYTES = 48; // Snapshot bytes before the cells.
+    private static final int JOURNAL_HEADER_BYTES = 16; // Journal bytes before the first move.
+    private static final int MOVE_BYTES = 8; // Bytes per journaled move.
+    private static final Object CLOSE = new Object(); // Queued to stop the writer.
+
+    private final Path directory; // Directory of the save files.
+    private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>(); // Encoded moves, new games and CLOSE.
+    private final Thread writer; // Background thread that owns the files.
+    private long startNanos; // Time the current game was started or resumed.
+    private long startMillis; // Game time when it was started or resumed.
+    private volatile IOException failure; // First write error, rethrown by close.
+
+    /**
+     * Creates a journal that saves into a directory and starts its writer thread.
+     * Nothing is written until a game is started.
+     * @param directory The directory of the save files, created if needed.
+     */
+    public GameJournal(Path directory) {
+        this.directory = directory;
+        this.writer = new Thread(this::writeLoop, "game-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Starts saving a game, replacing whatever game was saved before.
+     * Must be called from the same thread as {@link #record}.
+     * @param state The state the game starts from. It is copied, so the caller may keep using it.
+     */
+    public void start(GameState state) {
+        startNanos = System.nanoTime();
+        startMillis = state.getElapsedMillis();
+        queue.add(new GameState(state));
+    }
+
+    /**
+     * Queues a move of the current game; never blocks.
+     * @param index The index of the cell.
+     * @param value The number, or 0 to empty the cell.
+     * @param flags The flags of the move, see {@link GameState#apply}.
+     */
+    public void record(int index, int value, int flags) {
+        long millis = startMillis + (System.nanoTime() - startNanos) / 1_000_000;
+        queue.add(millis << 32 | (long) index << 16 | value << 8 | flags);
+    }
+
+    /**
+     * Writes the moves still queued and a final snapshot, then stops the writer thread.
+     * @throws IOException If a write failed since the journal was created.
+     */
+    @Override
+    public void close() throws IOException {
+        queue.add(CLOSE);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Reads the saved game: the last snapshot with the journaled moves played on top.
+     * A move cut short by a crash at the end of the journal is ignored.
+     * @param directory The directory of the save files.
+     * @return The saved state, or null if no game was saved.
+     * @throws IOException If the files cannot be read or are corrupt.
+     */
+    public static GameState load(Path directory) throws IOException {
+        Path snapshotPath = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.isRegularFile(snapshotPath)) {
+            return null;
+        }
+        ByteBuffer snapshot = ByteBuffer.wrap(Files.readAllBytes(snapshotPath));
+        if (snapshot.remaining() < SNAPSHOT_HEADER_BYTES || snapshot.getInt() != SNAPSHOT_MAGIC
+                || snapshot.getShort() != VERSION) {
+            throw new IOException("Not a saved game: " + snapshotPath);
+        }
+        int blockRows = snapshot.get();
+        int blockCols = snapshot.get();
+        long id = snapshot.getLong();
+        int difficulty = snapshot.getInt();
+        long seed = snapshot.getLong();
+        int helps = snapshot.getInt();
+        int moves = snapshot.getInt();
+        long elapsedMillis = snapshot.getLong();
+        snapshot.position(SNAPSHOT_HEADER_BYTES);
+        // Checked before any Board is built, so a damaged header is reported as a corrupt file
+        if (blockRows < 1 || blockCols < 1 || blockRows * blockCols > Board.MAX_SIZE
+                || difficulty < -1 || difficulty >= Difficulty.values().length
+                || snapshot.remaining() != 5 * blockRows * blockCols * blockRows * blockCols) {
+            throw new IOException("Corrupt saved game: " + snapshotPath);
+        }
+        Board givens = new Board(blockRows, blockCols);
+        int cells = givens.cellCount();
+        Board solution = new Board(blockRows, blockCols);
+        Board board = new Board(blockRows, blockCols);
+        readCells(snapshot, givens);
+        readCells(snapshot, solution);
+        readCells(snapshot, board);
+        byte[] shown = new byte[cells];
+        byte[] flags = new byte[cells];
+        snapshot.get(shown).get(flags);
+        GameState state = new GameState(difficulty < 0 ? null : Difficulty.values()[difficulty], seed,
+                givens, solution, board, shown, flags, helps, moves, elapsedMillis);
+
+        Path journalPath = directory.resolve(JOURNAL_FILE);
+        if (Files.isRegularFile(journalPath)) {
+            ByteBuffer journal = ByteBuffer.wrap(Files.readAllBytes(journalPath));
+            // A journal that does not continue this snapshot was started before it and is already included
+            if (journal.remaining() >= JOURNAL_HEADER_BYTES && journal.getInt() == JOURNAL_MAGIC
+                    && journal.getShort() == VERSION && journal.getLong(8) == id) {
+                journal.position(JOURNAL_HEADER_BYTES);
+                while (journal.remaining() >= MOVE_BYTES) {
+                    long millis = journal.getInt() & 0xFFFFFFFFL;
+                    int index = journal.getShort() & 0xFFFF;
+                    int value = journal.get();
+                    int moveFlags = journal.get();
+                    if (index >= cells || value < 0 || value > givens.size()) {
+                        throw new IOException("Corrupt journal: " + journalPath);
+                    }
+                    state.apply(index, value, moveFlags, millis);
+                }
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Body of the writer thread: takes everything queued, writes it, and takes a snapshot when due.
+     */
+    private void writeLoop() {
+        GameState state = null; // Writer's copy of the current game.
+        FileChannel journal = null; // Journal of the current game.
+        int sinceSnapshot = 0; // Moves journaled since the last snapshot.
+        ByteBuffer buffer = ByteBuffer.allocate(MOVE_BYTES * SNAPSHOT_INTERVAL);
+        List<Object> batch = new ArrayList<>();
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch);
+            try {
+                // A game started later in the batch replaces the earlier ones, so they are not written at all
+                for (Object item : batch.subList(lastGameStart(batch), batch.size())) {
+                    if (item instanceof Long move) {
+                        if (state == null) {
+                            continue;
+                        }
+                        long encoded = move;
+                        int index = (int) (encoded >>> 16) & 0xFFFF;
+                        int value = (int) (encoded >>> 8) & 0xFF;
+                        int flags = (int) encoded & 0xFF;
+                        long millis = encoded >>> 32;
+                        state.apply(index, value, flags, millis);
+                        buffer.putInt((int) millis).putShort((short) index).put((byte) value).put((byte) flags);
+                        if (++sinceSnapshot == SNAPSHOT_INTERVAL) {
+                            flush(journal, buffer);
+                            journal = snapshot(state, journal);
+                            sinceSnapshot = 0;
+                        }
+                    } else {
+                        flush(journal, buffer);
+                        if (item instanceof GameState started) {
+                            state = started;
+                        } else {
+                            running = false;
+                        }
+                        if (state != null && (sinceSnapshot > 0 || item != CLOSE)) {
+                            journal = snapshot(state, journal);
+                            sinceSnapshot = 0;
+                        }
+                    }
+                }
+                flush(journal, buffer);
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+                state = null;  // Stop saving rather than leave a journal with holes
+                buffer.clear();
+            }
+            batch.clear();
+        }
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the last game started in a batch.
+     * @param batch The items taken from the queue.
+     * @return The position of the last {@link GameState} in the batch, or 0 if there is none.
+     */
+    private static int lastGameStart(List<Object> batch) {
+        for (int i = batch.size() - 1; i > 0; i--) {
+            if (batch.get(i) instanceof GameState) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Appends the buffered moves to the journal.
+     * @param journal The journal, or null if no game has been saved yet.
+     * @param buffer The buffered moves; emptied.
+     * @throws IOException If the journal cannot be written.
+     */
+    private static void flush(FileChannel journal, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (journal != null && buffer.hasRemaining()) {
+            journal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Replaces the snapshot with the given state and starts an empty journal that continues it.
+     * @param state The state to save.
+     * @param journal The current journal, or null if there is none yet.
+     * @return The journal to append to from now on.
+     * @throws IOException If the files cannot be written.
+     */
+    private FileChannel snapshot(GameState state, FileChannel journal) throws IOException {
+        Files.createDirectories(directory);
+        long id = ThreadLocalRandom.current().nextLong();
+        Board givens = state.getGivens();
+        int cells = givens.cellCount();
+        ByteBuffer snapshot = ByteBuffer.allocate(SNAPSHOT_HEADER_BYTES + 5 * cells);
+        snapshot.putInt(SNAPSHOT_MAGIC).putShort(VERSION)
+                .put((byte) givens.blockRows()).put((byte) givens.blockCols())
+                .putLong(id)
+                .putInt(state.getDifficulty() == null ? -1 : state.getDifficulty().ordinal())
+                .putLong(state.getSeed())
+                .putInt(state.getHelps()).putInt(state.getMoveCount()).putLong(state.getElapsedMillis());
+        snapshot.position(SNAPSHOT_HEADER_BYTES);
+        writeCells(snapshot, givens);
+        writeCells(snapshot, state.getSolution());
+        writeCells(snapshot, state.getBoard());
+        for (int index = 0; index < cells; index++) {
+            snapshot.put((byte) state.getShown(index));
+        }
+        for (int index = 0; index < cells; index++) {
+            snapshot.put((byte) state.getFlags(index));
+        }
+        snapshot.flip();
+
+        Path temporary = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (snapshot.hasRemaining()) {
+                channel.write(snapshot);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, directory.resolve(SNAPSHOT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        if (journal == null) {
+            journal = FileChannel.open(directory.resolve(JOURNAL_FILE), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE);
+        }
+        journal.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(JOURNAL_HEADER_BYTES);
+        header.putInt(JOURNAL_MAGIC).putShort(VERSION).putShort((short) 0).putLong(id).flip();
+        journal.position(0);
+        while (header.hasRemaining()) {
+            journal.write(header);
+        }
+        return journal;
+    }
+
+    /**
+     * Writes the cells of a board, one byte each.
+     * @param buffer The buffer to write to.
+     * @param board The board to write.
+     */
+    private static void writeCells(ByteBuffer buffer, Board board) {
+        for (int index = 0; index < board.cellCount(); index++) {
+            buffer.put((byte) board.get(index));
+        }
+    }
+
+    /**
+     * Reads the cells of a board, one byte each.
+     * @param buffer The buffer to read from.
+     * @param board The board that receives the cells.
+     * @throws IOException If a cell is out of range.
+     */
+    private static void readCells(ByteBuffer buffer, Board board) throws IOException {
+        for (int index = 0; index < board.cellCount(); index++) {
+            int value = buffer.get();
+            if (value < 0 || value > board.size()) {
+                throw new IOException("Corrupt saved game: cell out of range");
+            }
+            board.set(index, value);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.sudoku_game.service;
+
+import com.example.sudoku_game.model.Board;
+import com.example.sudoku_game.model.Hint;
+import com.example.sudoku_game.model.HintEngine;
+import com.example.sudoku_game.model.Puzzle;
+
+import java.util.Random;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The GameSession class is one game played through the {@link PuzzleServer}: the board the client fills in, next to
+ * the givens it may not change and the solution hints are taken from.
+ * Any connection that knows the id may play the session, so every request locks it; the lock is a ReentrantLock,
+ * which parks a virtual thread without pinning its carrier.
+ */
+final class GameSession {
+
+    private final ReentrantLock lock = new ReentrantLock(); // Serializes the requests on the session.
+    private final Board givens; // Cells revealed by the puzzle.
+    private final Board board; // Cells as the client filled them in.
+    private final Board solution; // Solution of the puzzle.
+    private final Random random; // Picks the revealed cell when no hint can be deduced.
+
+    /**
+     * Starts a game of a puzzle.
+     * @param puzzle The puzzle.
+     */
+    GameSession(Puzzle puzzle) {
+        this.givens = puzzle.getGivens();
+        this.board = new Board(givens);
+        this.solution = puzzle.getSolution();
+        this.random = new Random(puzzle.getSeed());
+    }
+
+    /**
+     * Returns the givens of the game; they are never changed.
+     * @return The givens.
+     */
+    Board getGivens() {
+        return givens;
+    }
+
+    /**
+     * Places a number in a cell, or empties it, and checks it against the rules. The number is placed even if it
+     * repeats a number of its row, column or block, as the game does, so the client can take it back later.
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @param value The number, or 0 to empty the cell.
+     * @return true if the number does not repeat a number of its row, column or block.
+     * @throws IllegalArgumentException If the cell or the number is out of range, or the cell is a given.
+     */
+    boolean move(int row, int col, int value) {
+        int size = board.size();
+        if (row < 0 || row >= size || col < 0 || col >= size) {
+            throw new IllegalArgumentException("No cell " + row + " " + col);
+        }
+        if (value < 0 || value > size) {
+            throw new IllegalArgumentException("No number " + value);
+        }
+        if (givens.get(row, col) != 0) {
+            throw new IllegalArgumentException("Cell " + row + " " + col + " is a given");
+        }
+        lock.lock();
+        try {
+            boolean valid = value == 0 || board.isAllowed(row, col, value);
+            board.set(row, col, value);
+            return valid;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Finds the next hint and places its number, as the help button does.
+     * @return The hint, or null if the board has no empty cell.
+     */
+    Hint hint() {
+        lock.lock();
+        try {
+            Hint hint = HintEngine.nextHint(board, solution, random);
+            if (hint != null) {
+                board.set(hint.getRow(), hint.getCol(), hint.getValue());
+            }
+            return hint;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks if the board is filled in without any repeated number.
+     * @return true if the game is solved.
+     */
+    boolean isSolved() {
+        lock.lock();
+        try {
+            return board.isSolved();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
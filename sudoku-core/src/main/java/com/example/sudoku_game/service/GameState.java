@@ -0,0 +1,205 @@
+package com.example.sudoku_game.service;
+
+import com.example.sudoku_game.model.Board;
+import com.example.sudoku_game.model.Difficulty;
+import com.example.sudoku_game.model.Puzzle;
+
+/**
+ * The GameState class holds everything needed to resume a game: the puzzle, the board the player has built,
+ * what each cell shows, which cells were filled by a hint or hold a rejected number, the hints used and the time played.
+ * It is what a {@link GameJournal} saves and what {@link GameJournal#load} returns.
+ * A move that is rejected is shown in its cell but, like in the game, leaves the board unchanged.
+ */
+public final class GameState {
+
+    public static final int HINT = 1; // Flag of a cell filled by the help button.
+    public static final int INVALID = 2; // Flag of a cell showing a number that breaks the rules.
+    public static final int HELP = 4; // Flag of a move that used up a help; redoing a hint does not.
+
+    private final Difficulty difficulty; // Difficulty the puzzle was generated for.
+    private final long seed; // Seed of the puzzle.
+    private final Board givens; // Cells revealed by the puzzle.
+    private final Board solution; // Solution of the puzzle.
+    private final Board board; // Board built by the player, rejected numbers excluded.
+    private final byte[] shown; // Number shown in each cell, 0 if empty.
+    private final byte[] flags; // HINT and INVALID flags of each cell.
+    private int helps; // Hints used.
+    private int moves; // Moves played.
+    private long elapsedMillis; // Game time of the last move.
+
+    /**
+     * Creates the state of a new game.
+     * @param puzzle The puzzle to play.
+     */
+    public GameState(Puzzle puzzle) {
+        this.difficulty = puzzle.getDifficulty();
+        this.seed = puzzle.getSeed();
+        this.givens = new Board(puzzle.getGivens());
+        this.solution = new Board(puzzle.getSolution());
+        this.board = new Board(givens);
+        this.shown = new byte[givens.cellCount()];
+        this.flags = new byte[givens.cellCount()];
+        for (int index = 0; index < shown.length; index++) {
+            shown[index] = (byte) givens.get(index);
+        }
+    }
+
+    /**
+     * Copy constructor.
+     * @param other The state to copy.
+     */
+    public GameState(GameState other) {
+        this.difficulty = other.difficulty;
+        this.seed = other.seed;
+        this.givens = new Board(other.givens);
+        this.solution = new Board(other.solution);
+        this.board = new Board(other.board);
+        this.shown = other.shown.clone();
+        this.flags = other.flags.clone();
+        this.helps = other.helps;
+        this.moves = other.moves;
+        this.elapsedMillis = other.elapsedMillis;
+    }
+
+    /**
+     * Creates a state from its saved parts, used when a snapshot is read back.
+     * @param difficulty The difficulty of the puzzle.
+     * @param seed The seed of the puzzle.
+     * @param givens The cells revealed by the puzzle.
+     * @param solution The solution of the puzzle.
+     * @param board The board built by the player.
+     * @param shown The number shown in each cell.
+     * @param flags The flags of each cell.
+     * @param helps The hints used.
+     * @param moves The moves played.
+     * @param elapsedMillis The game time of the last move.
+     */
+    GameState(Difficulty difficulty, long seed, Board givens, Board solution, Board board, byte[] shown, byte[] flags,
+              int helps, int moves, long elapsedMillis) {
+        this.difficulty = difficulty;
+        this.seed = seed;
+        this.givens = givens;
+        this.solution = solution;
+        this.board = board;
+        this.shown = shown;
+        this.flags = flags;
+        this.helps = helps;
+        this.moves = moves;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Plays a move: shows the number in the cell and, unless it was rejected, writes it on the board.
+     * Moves on revealed cells are ignored.
+     * @param index The index of the cell.
+     * @param value The number, or 0 to empty the cell.
+     * @param flags {@link #HINT} if the number was given by the help button, {@link #INVALID} if it was rejected,
+     *              and {@link #HELP} if the move used up a help.
+     * @param elapsedMillis The game time of the move.
+     */
+    public void apply(int index, int value, int flags, long elapsedMillis) {
+        if (givens.get(index) != 0) {
+            return;
+        }
+        shown[index] = (byte) value;
+        this.flags[index] = (byte) (flags & (HINT | INVALID));
+        if ((flags & INVALID) == 0) {
+            board.set(index, value);
+        }
+        if ((flags & HELP) != 0) {
+            helps++;
+        }
+        moves++;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Returns the puzzle being played.
+     * @return A new puzzle with copies of the givens and the solution.
+     */
+    public Puzzle toPuzzle() {
+        return new Puzzle(0, seed, difficulty, new Board(givens), new Board(solution), givens.getFilledCount());
+    }
+
+    /**
+     * Returns the cells revealed by the puzzle.
+     * @return The givens; not to be modified.
+     */
+    public Board getGivens() {
+        return givens;
+    }
+
+    /**
+     * Returns the solution of the puzzle.
+     * @return The solution; not to be modified.
+     */
+    public Board getSolution() {
+        return solution;
+    }
+
+    /**
+     * Returns the board built by the player, without the rejected numbers.
+     * @return The board; not to be modified.
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Returns the number shown in a cell, which may be a rejected one.
+     * @param index The index of the cell.
+     * @return The number, 0 if the cell is empty.
+     */
+    public int getShown(int index) {
+        return shown[index];
+    }
+
+    /**
+     * Returns the flags of a cell.
+     * @param index The index of the cell.
+     * @return A combination of {@link #HINT} and {@link #INVALID}.
+     */
+    public int getFlags(int index) {
+        return flags[index];
+    }
+
+    /**
+     * Returns the difficulty the puzzle was generated for.
+     * @return The difficulty.
+     */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Returns the seed of the puzzle.
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the number of hints used.
+     * @return The hints used.
+     */
+    public int getHelps() {
+        return helps;
+    }
+
+    /**
+     * Returns the number of moves played.
+     * @return The move count.
+     */
+    public int getMoveCount() {
+        return moves;
+    }
+
+    /**
+     * Returns the game time of the last move.
+     * @return The time in milliseconds since the game started.
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
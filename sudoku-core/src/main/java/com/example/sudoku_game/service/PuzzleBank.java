@@ -0,0 +1,165 @@
+package com.example.sudoku_game.service;
+
+import com.example.sudoku_game.model.Board;
+import com.example.sudoku_game.model.Difficulty;
+import com.example.sudoku_game.model.Puzzle;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/**
+ * The PuzzleBank class reads pre-generated 6x6 puzzles from a memory-mapped file written by {@link PuzzleBankWriter}.
+ * The file is a 32-byte header followed by fixed 16-byte records grouped by difficulty, so any puzzle is found
+ * in constant time from its difficulty and position without parsing the rest of the file.
+ * <p>
+ * Header: magic "SDKB", version, block rows, block columns, then the first record and the record count
+ * of each difficulty. Record: the packed solution grid and the clue mask, see {@link PuzzleCodec}.
+ * The bank can be read from several threads at once.
+ */
+public class PuzzleBank implements AutoCloseable {
+
+    static final int MAGIC = 0x53444B42; // "SDKB"
+    static final short VERSION = 1; // Format version.
+    static final int HEADER_BYTES = 32; // Fixed header, room for 3 difficulties.
+    static final int RECORD_BYTES = 16; // Solution code and clue mask.
+
+    private final FileChannel channel; // The open bank file.
+    private final MappedByteBuffer buffer; // The whole file, mapped read-only.
+    private final int[] starts; // First record of each difficulty, by ordinal.
+    private final int[] counts; // Records of each difficulty, by ordinal.
+
+    /**
+     * Opens a bank file.
+     * @param path The file written by {@link PuzzleBankWriter}.
+     * @throws IOException If the file cannot be read or is not a valid bank.
+     */
+    public PuzzleBank(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a puzzle bank: " + path);
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getShort(4) != VERSION
+                    || buffer.get(6) != PuzzleCodec.BLOCK_ROWS || buffer.get(7) != PuzzleCodec.BLOCK_COLS) {
+                throw new IOException("Not a version " + VERSION + " 6x6 puzzle bank: " + path);
+            }
+            int difficulties = Difficulty.values().length;
+            this.starts = new int[difficulties];
+            this.counts = new int[difficulties];
+            for (int ordinal = 0; ordinal < difficulties; ordinal++) {
+                starts[ordinal] = buffer.getInt(bucketOffset(ordinal));
+                counts[ordinal] = buffer.getInt(bucketOffset(ordinal) + Integer.BYTES);
+                if (starts[ordinal] < 0 || counts[ordinal] < 0
+                        || HEADER_BYTES + ((long) starts[ordinal] + counts[ordinal]) * RECORD_BYTES > size) {
+                    throw new IOException("Corrupt puzzle bank: " + path);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of puzzles of a difficulty.
+     * @param difficulty The difficulty to look up.
+     * @return The number of puzzles.
+     */
+    public int getCount(Difficulty difficulty) {
+        return counts[difficulty.ordinal()];
+    }
+
+    /**
+     * Decodes a puzzle into boards owned by the caller, without allocating.
+     * @param difficulty The difficulty of the puzzle.
+     * @param position The position of the puzzle within its difficulty.
+     * @param givens A 6x6 board that receives the puzzle.
+     * @param solution A 6x6 board that receives the solution.
+     * @return The number of clues of the puzzle.
+     */
+    public int read(Difficulty difficulty, int position, Board givens, Board solution) {
+        if (!PuzzleCodec.supports(givens) || !PuzzleCodec.supports(solution)) {
+            throw new IllegalArgumentException("The boards must be 6x6");
+        }
+        int offset = offsetOf(difficulty, position);
+        long clues = buffer.getLong(offset + Long.BYTES);
+        PuzzleCodec.decodeSolution(buffer.getLong(offset), solution);
+        PuzzleCodec.decodeGivens(clues, solution, givens);
+        return Long.bitCount(clues);
+    }
+
+    /**
+     * Returns a puzzle as new boards.
+     * @param difficulty The difficulty of the puzzle.
+     * @param position The position of the puzzle within its difficulty, also used as its index and seed.
+     * @return The puzzle.
+     */
+    public Puzzle get(Difficulty difficulty, int position) {
+        Board givens = new Board(PuzzleCodec.BLOCK_ROWS, PuzzleCodec.BLOCK_COLS);
+        Board solution = new Board(PuzzleCodec.BLOCK_ROWS, PuzzleCodec.BLOCK_COLS);
+        int clues = read(difficulty, position, givens, solution);
+        return new Puzzle(position, position, difficulty, givens, solution, clues);
+    }
+
+    /**
+     * Returns a random puzzle of a difficulty.
+     * @param difficulty The difficulty of the puzzle.
+     * @param random The random generator that picks the puzzle.
+     * @return The puzzle.
+     * @throws IllegalStateException If the bank holds no puzzle of that difficulty.
+     */
+    public Puzzle random(Difficulty difficulty, Random random) {
+        int count = getCount(difficulty);
+        if (count == 0) {
+            throw new IllegalStateException("No " + difficulty + " puzzles in the bank");
+        }
+        return get(difficulty, random.nextInt(count));
+    }
+
+    /**
+     * Closes the file. The mapping itself is released when the bank is garbage collected.
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Returns the file offset of a puzzle.
+     * @param difficulty The difficulty of the puzzle.
+     * @param position The position of the puzzle within its difficulty.
+     * @return The offset of its record.
+     */
+    private int offsetOf(Difficulty difficulty, int position) {
+        int ordinal = difficulty.ordinal();
+        if (position < 0 || position >= counts[ordinal]) {
+            throw new IndexOutOfBoundsException(difficulty + " puzzle " + position + " of " + counts[ordinal]);
+        }
+        return recordOffset(starts[ordinal] + position);
+    }
+
+    /**
+     * Returns the header offset of the first record and record count of a difficulty.
+     * @param ordinal The ordinal of the difficulty.
+     * @return The offset in the header.
+     */
+    static int bucketOffset(int ordinal) {
+        return 8 + ordinal * 2 * Integer.BYTES;
+    }
+
+    /**
+     * Returns the file offset of a record.
+     * @param record The record number, counted from the first record of the file.
+     * @return The offset of the record.
+     */
+    static int recordOffset(long record) {
+        return (int) (HEADER_BYTES + record * RECORD_BYTES);
+    }
+}
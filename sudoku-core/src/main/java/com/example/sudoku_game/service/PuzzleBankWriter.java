@@ -0,0 +1,131 @@
+package com.example.sudoku_game.service;
+
+import com.example.sudoku_game.model.Difficulty;
+import com.example.sudoku_game.model.Puzzle;
+import com.example.sudoku_game.model.PuzzleFactory;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * The PuzzleBankWriter class writes a {@link PuzzleBank} file.
+ * The file is sized up front with a fixed number of slots per difficulty, and each puzzle goes to the slot of its
+ * batch index within its difficulty, so the batch generator can stream into it from any number of threads
+ * and the file comes out the same whatever the order the puzzles arrive in.
+ */
+public class PuzzleBankWriter implements Consumer<Puzzle>, AutoCloseable {
+
+    private final FileChannel channel; // The file being written.
+    private final MappedByteBuffer buffer; // The whole file, mapped.
+    private final int capacity; // Slots per difficulty.
+    private final AtomicInteger[] written; // Puzzles written per difficulty, by ordinal.
+
+    /**
+     * Creates a bank file, replacing any existing one.
+     * @param path The file to write.
+     * @param capacity The number of puzzles of each difficulty the file holds.
+     * @throws IOException If the file cannot be created.
+     */
+    public PuzzleBankWriter(Path path, int capacity) throws IOException {
+        int difficulties = Difficulty.values().length;
+        long size = PuzzleBank.HEADER_BYTES + (long) capacity * difficulties * PuzzleBank.RECORD_BYTES;
+        if (capacity < 0 || size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        this.capacity = capacity;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        this.written = new AtomicInteger[difficulties];
+        for (int i = 0; i < difficulties; i++) {
+            written[i] = new AtomicInteger();
+        }
+    }
+
+    /**
+     * Writes a puzzle to the slot of its index within its difficulty. Safe to call from several threads.
+     * @param puzzle A 6x6 puzzle whose index is below the capacity.
+     */
+    public void write(Puzzle puzzle) {
+        if (!PuzzleCodec.supports(puzzle.getSolution())) {
+            throw new IllegalArgumentException("Only 6x6 puzzles can be banked");
+        }
+        if (puzzle.getIndex() < 0 || puzzle.getIndex() >= capacity) {
+            throw new IllegalArgumentException("Puzzle index " + puzzle.getIndex() + " out of capacity " + capacity);
+        }
+        int ordinal = puzzle.getDifficulty().ordinal();
+        int offset = PuzzleBank.recordOffset((long) ordinal * capacity + puzzle.getIndex());
+        buffer.putLong(offset, PuzzleCodec.encodeSolution(puzzle.getSolution()));
+        buffer.putLong(offset + Long.BYTES, PuzzleCodec.encodeClues(puzzle.getGivens()));
+        written[ordinal].incrementAndGet();
+    }
+
+    /**
+     * Writes a puzzle; lets the writer be passed straight to {@link PuzzleFactory#generate}.
+     * @param puzzle The puzzle to write.
+     */
+    @Override
+    public void accept(Puzzle puzzle) {
+        write(puzzle);
+    }
+
+    /**
+     * Writes the header and flushes the file. Each difficulty holds the puzzles written for it, which must have
+     * filled its first slots without gaps.
+     * @throws IOException If the file cannot be flushed.
+     * @throws IllegalStateException If a difficulty has an empty slot before its last puzzle.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            buffer.putInt(0, PuzzleBank.MAGIC);
+            buffer.putShort(4, PuzzleBank.VERSION);
+            buffer.put(6, (byte) PuzzleCodec.BLOCK_ROWS);
+            buffer.put(7, (byte) PuzzleCodec.BLOCK_COLS);
+            for (Difficulty difficulty : Difficulty.values()) {
+                int ordinal = difficulty.ordinal();
+                int count = written[ordinal].get();
+                int start = ordinal * capacity;
+                for (int slot = start; slot < start + count; slot++) {
+                    // A valid solution never encodes to 0, so 0 is a slot that was skipped.
+                    if (buffer.getLong(PuzzleBank.recordOffset(slot)) == 0) {
+                        throw new IllegalStateException(difficulty + " puzzle " + (slot - start) + " was not written");
+                    }
+                }
+                buffer.putInt(PuzzleBank.bucketOffset(ordinal), start);
+                buffer.putInt(PuzzleBank.bucketOffset(ordinal) + Integer.BYTES, count);
+            }
+            buffer.force();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Generates a bank of 6x6 puzzles.
+     * Usage: java -cp sudoku-core.jar com.example.sudoku_game.service.PuzzleBankWriter file [count] [seed]
+     * @param args The file, the number of puzzles per difficulty (default 1000) and the batch seed (default 1).
+     * @throws IOException If the file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: PuzzleBankWriter file [count] [seed]");
+            System.exit(2);
+        }
+        Path path = Path.of(args[0]);
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1L;
+        try (PuzzleBankWriter writer = new PuzzleBankWriter(path, count)) {
+            for (Difficulty difficulty : Difficulty.values()) {
+                PuzzleFactory.generate(count, PuzzleCodec.BLOCK_ROWS, PuzzleCodec.BLOCK_COLS, difficulty,
+                        PuzzleFactory.seedFor(seed, difficulty.ordinal()), Runtime.getRuntime().availableProcessors(),
+                        writer);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.sudoku_game.service;
+
+import com.example.sudoku_game.model.Board;
+import com.example.sudoku_game.model.Difficulty;
+import com.example.sudoku_game.model.Puzzle;
+import com.example.sudoku_game.model.PuzzleFactory;
+
+import java.io.PrintStream;
+
+/**
+ * Command line entry point of the headless engine: prints generated puzzles, one per line.
+ * Usage: java -jar sudoku-core.jar [count] [difficulty] [seed] [blockRows] [blockCols]
+ * Boards up to 9x9 are printed as digits with '.' for empty cells; larger boards as space-separated numbers with 0.
+ */
+public final class PuzzleCli {
+
+    /**
+     * Prevents instantiation; the class only holds the entry point.
+     */
+    private PuzzleCli() {
+    }
+
+    /**
+     * Generates and prints the requested puzzles.
+     * @param args Optional count (1), difficulty (MEDIUM), seed (random), block rows and block columns (2 and 3).
+     */
+    public static void main(String[] args) {
+        long count = args.length > 0 ? Long.parseLong(args[0]) : 1;
+        Difficulty difficulty = args.length > 1 ? Difficulty.valueOf(args[1].toUpperCase()) : Difficulty.MEDIUM;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        int blockRows = args.length > 3 ? Integer.parseInt(args[3]) : Board.DEFAULT_BLOCK_ROWS;
+        int blockCols = args.length > 4 ? Integer.parseInt(args[4]) : Board.DEFAULT_BLOCK_COLS;
+
+        PrintStream out = System.out;
+        StringBuilder line = new StringBuilder();
+        for (long index = 0; index < count; index++) {
+            Puzzle puzzle = PuzzleFactory.create(index, blockRows, blockCols, difficulty, seed);
+            line.setLength(0);
+            appendBoard(line, puzzle.getGivens());
+            out.println(line);
+        }
+    }
+
+    /**
+     * Appends the cells of a board, row by row, to a line of text.
+     * @param line The line to append to.
+     * @param board The board to print.
+     */
+    static void appendBoard(StringBuilder line, Board board) {
+        boolean compact = board.size() <= 9;
+        for (int index = 0; index < board.cellCount(); index++) {
+            int value = board.get(index);
+            if (compact) {
+                line.append(value == 0 ? '.' : (char) ('0' + value));
+            } else {
+                if (index > 0) {
+                    line.append(' ');
+                }
+                line.append(value);
+            }
+        }
+    }
+}
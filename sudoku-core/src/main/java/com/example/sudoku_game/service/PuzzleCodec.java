@@ -0,0 +1,126 @@
+package com.example.sudoku_game.service;
+
+import com.example.sudoku_game.model.Board;
+
+/**
+ * The PuzzleCodec class packs a 6x6 puzzle into two longs.
+ * Every row of a solution grid is a permutation of 1 to 6, one of 720, so its rank fits in 10 bits
+ * and the whole grid in 60 bits. The givens are a 36-bit mask of the revealed cells of that grid.
+ * Decoding is a table lookup per row and writes into boards supplied by the caller, so it never allocates.
+ */
+final class PuzzleCodec {
+
+    static final int SIZE = 6; // Rows, columns and digits of an encodable board.
+    static final int BLOCK_ROWS = 2; // Rows per block of an encodable board.
+    static final int BLOCK_COLS = 3; // Columns per block of an encodable board.
+
+    private static final int ROW_BITS = 10; // Bits per row rank.
+    private static final int PERMUTATIONS = 720; // Orderings of 6 digits.
+    private static final int[] FACTORIALS = {1, 1, 2, 6, 24, 120}; // Factorials of 0 to 5.
+    private static final byte[] ROWS = new byte[PERMUTATIONS * SIZE]; // Digits of each row rank, lexicographic order.
+
+    static {
+        for (int rank = 0; rank < PERMUTATIONS; rank++) {
+            // Unrank through the factorial number system: each place picks the n-th digit not used yet.
+            int unused = ((1 << SIZE) - 1) << 1;
+            int rest = rank;
+            for (int position = 0; position < SIZE; position++) {
+                int skip = rest / FACTORIALS[SIZE - 1 - position];
+                rest %= FACTORIALS[SIZE - 1 - position];
+                int digits = unused;
+                for (int i = 0; i < skip; i++) {
+                    digits &= digits - 1;
+                }
+                int digit = Integer.numberOfTrailingZeros(digits);
+                unused &= ~(1 << digit);
+                ROWS[rank * SIZE + position] = (byte) digit;
+            }
+        }
+    }
+
+    /**
+     * Prevents instantiation; all methods are static.
+     */
+    private PuzzleCodec() {
+    }
+
+    /**
+     * Checks if a board can be encoded.
+     * @param board The board to check.
+     * @return true if the board is 6x6 with 2x3 blocks.
+     */
+    static boolean supports(Board board) {
+        return board.blockRows() == BLOCK_ROWS && board.blockCols() == BLOCK_COLS;
+    }
+
+    /**
+     * Encodes a full solution grid.
+     * @param solution The solution grid.
+     * @return The rank of every row, 10 bits each, first row in the lowest bits. Never 0 for a valid grid.
+     * @throws IllegalArgumentException If a row is not a permutation of 1 to 6.
+     */
+    static long encodeSolution(Board solution) {
+        long code = 0;
+        for (int row = 0; row < SIZE; row++) {
+            int rank = 0;
+            int seen = 0;
+            for (int col = 0; col < SIZE; col++) {
+                int digit = solution.get(row, col);
+                if (digit < 1 || digit > SIZE || (seen & (1 << digit)) != 0) {
+                    throw new IllegalArgumentException("Row " + row + " of the solution is not a permutation");
+                }
+                // Lehmer code: digits not placed yet that are smaller than this one.
+                int smaller = Integer.bitCount(~seen & ((1 << digit) - 2));
+                rank += smaller * FACTORIALS[SIZE - 1 - col];
+                seen |= 1 << digit;
+            }
+            code |= (long) rank << (ROW_BITS * row);
+        }
+        return code;
+    }
+
+    /**
+     * Decodes a solution grid.
+     * @param code The encoded grid.
+     * @param solution The board that receives the grid.
+     */
+    static void decodeSolution(long code, Board solution) {
+        for (int row = 0; row < SIZE; row++) {
+            int offset = (int) ((code >>> (ROW_BITS * row)) & ((1 << ROW_BITS) - 1)) * SIZE;
+            for (int col = 0; col < SIZE; col++) {
+                solution.set(row, col, ROWS[offset + col]);
+            }
+        }
+    }
+
+    /**
+     * Encodes the revealed cells of a puzzle.
+     * @param givens The puzzle.
+     * @return A mask with bit i set if cell i is revealed.
+     */
+    static long encodeClues(Board givens) {
+        long mask = 0;
+        for (int index = 0; index < givens.cellCount(); index++) {
+            if (givens.get(index) != 0) {
+                mask |= 1L << index;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Decodes the revealed cells of a puzzle.
+     * @param mask The encoded clue mask.
+     * @param solution The decoded solution grid.
+     * @param givens The board that receives the puzzle.
+     */
+    static void decodeGivens(long mask, Board solution, Board givens) {
+        givens.clear();
+        long rest = mask;
+        while (rest != 0) {
+            int index = Long.numberOfTrailingZeros(rest);
+            rest &= rest - 1;
+            givens.set(index, solution.get(index));
+        }
+    }
+}
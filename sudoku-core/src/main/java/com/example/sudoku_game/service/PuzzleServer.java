@@ -0,0 +1,374 @@
+package com.example.sudoku_game.service;
+
+import com.example.sudoku_game.metrics.Counter;
+import com.example.sudoku_game.metrics.Histogram;
+import com.example.sudoku_game.metrics.Metrics;
+import com.example.sudoku_game.model.Board;
+import com.example.sudoku_game.model.Difficulty;
+import com.example.sudoku_game.model.Hint;
+import com.example.sudoku_game.model.PuzzleFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The PuzzleServer class runs the engine headless, as a backend for many clients at once: it serves new puzzles,
+ * checks moves, gives hints and tells whether a game is solved, over a line protocol on a local TCP socket.
+ * Every connection is served by its own virtual thread, so a client waiting on the network holds no platform
+ * thread, and the games live in a bounded {@link SessionCache} that evicts the least recently used one when full.
+ * <p>
+ * Every request is one line of ASCII words separated by single spaces, and gets one line back: "OK" and the
+ * result, or "ERR" and a message. Rows and columns count from 0. Requests and their answers:
+ * <pre>
+ * NEW [difficulty [seed [blockRows blockCols]]]   OK id givens     (givens as in PuzzleCli, row by row)
+ * MOVE id row col number                          OK VALID | OK INVALID     (number 0 empties the cell)
+ * HINT id                                         OK row col number reason | OK NONE     (the number is placed)
+ * SOLVED id                                       OK SOLVED | OK UNSOLVED
+ * END id                                          OK
+ * QUIT                                            OK BYE, then the server closes the connection
+ * </pre>
+ * A game that is no longer in the cache answers "ERR No session id". A request longer than 256 characters is
+ * answered with "ERR" and the connection is closed. Clients may send several requests before
+ * reading the answers; the answers to requests that arrived together are written back together.
+ */
+public class PuzzleServer implements AutoCloseable {
+
+    public static final int DEFAULT_PORT = 7878; // Port of the command line server.
+    public static final int DEFAULT_SESSIONS = 65_536; // Games kept by the command line server.
+    public static final int MAX_BOARD_SIZE = 9; // Largest board served; larger ones take too long to generate.
+
+    private static final int MAX_LINE = 256; // Longest request, in characters.
+    private static final Counter REQUESTS = Metrics.counter("server.requests"); // Requests answered.
+    private static final Counter ERRORS = Metrics.counter("server.errors"); // Requests answered with ERR.
+    private static final Counter ACCEPT_ERRORS = Metrics.counter("server.accept.errors"); // Failed accepts.
+    private static final long MIN_ACCEPT_BACKOFF_MILLIS = 10; // Wait after a failed accept.
+    private static final long MAX_ACCEPT_BACKOFF_MILLIS = 1_000; // Longest wait after failed accepts in a row.
+    private static final Histogram REQUEST_TIME = Metrics.histogram("server.request.nanos"); // Time per request.
+
+    private final int port; // Port asked for, 0 for any free port.
+    private final SessionCache<GameSession> sessions; // Games by id.
+    private final AtomicLong nextId = new AtomicLong(1); // Id of the next game.
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet(); // Connections to close with the server.
+    private final ExecutorService handlers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("puzzle-connection-", 0).factory()); // One virtual thread per connection.
+    private ServerSocket serverSocket; // Accepts the connections, or null before start.
+    private Thread acceptor; // Virtual thread that accepts the connections.
+
+    /**
+     * Creates a stopped server.
+     * @param port The port to listen on, or 0 for any free port.
+     * @param maxSessions The largest number of games kept at once.
+     */
+    public PuzzleServer(int port, int maxSessions) {
+        this.port = port;
+        this.sessions = new SessionCache<>(maxSessions);
+    }
+
+    /**
+     * Starts listening on the loopback address and accepting connections.
+     * @throws IOException If the port cannot be bound.
+     */
+    public synchronized void start() throws IOException {
+        if (serverSocket != null) {
+            throw new IllegalStateException("The server is already started");
+        }
+        serverSocket = new ServerSocket();
+        serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        acceptor = Thread.ofVirtual().name("puzzle-acceptor").start(this::acceptLoop);
+    }
+
+    /**
+     * Returns the port the server listens on.
+     * @return The port, which is the free port picked by the system if the server was created with 0.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Returns the number of games kept.
+     * @return The game count.
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Returns the number of games evicted to make room for new ones.
+     * @return The eviction count.
+     */
+    public long getEvictionCount() {
+        return sessions.getEvictionCount();
+    }
+
+    /**
+     * Waits until the server is closed.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    public void join() throws InterruptedException {
+        acceptor.join();
+    }
+
+    /**
+     * Stops accepting connections and closes the open ones.
+     * @throws IOException If the listening socket cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (serverSocket == null) {
+            return;
+        }
+        serverSocket.close();
+        acceptor.interrupt();  // Ends a back-off wait at once
+        for (Socket connection : connections) {
+            try {
+                connection.close();
+            } catch (IOException e) {
+                // Closing anyway; its handler ends on the next read
+            }
+        }
+        handlers.shutdown();
+    }
+
+    /**
+     * Accepts connections until the server is closed, and hands each one to a virtual thread of its own.
+     * A failed accept is counted and followed by a wait that doubles with every failure in a row, up to
+     * {@value #MAX_ACCEPT_BACKOFF_MILLIS} ms, so a lasting failure such as running out of file descriptors does not
+     * spin the loop while the open connections finish and free some.
+     */
+    private void acceptLoop() {
+        long backoff = 0;
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket connection = serverSocket.accept();
+                backoff = 0;
+                try {
+                    handlers.execute(() -> serve(connection));
+                } catch (RejectedExecutionException e) {
+                    connection.close();  // Accepted while the server was closing
+                }
+            } catch (IOException e) {
+                if (serverSocket.isClosed()) {
+                    return;
+                }
+                if (Metrics.ENABLED) {
+                    ACCEPT_ERRORS.increment();
+                }
+                backoff = backoff == 0 ? MIN_ACCEPT_BACKOFF_MILLIS : Math.min(2 * backoff, MAX_ACCEPT_BACKOFF_MILLIS);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    return;  // Only close interrupts the acceptor
+                }
+            }
+        }
+    }
+
+    /**
+     * Answers the requests of one connection until the client quits or goes away.
+     * @param connection The connection.
+     */
+    private void serve(Socket connection) {
+        connections.add(connection);
+        try (connection) {
+            connection.setTcpNoDelay(true);
+            InputStream in = new BufferedInputStream(connection.getInputStream());
+            Writer out = new BufferedWriter(new OutputStreamWriter(connection.getOutputStream(),
+                    StandardCharsets.US_ASCII));
+            StringBuilder request = new StringBuilder();
+            StringBuilder answer = new StringBuilder();
+            boolean open = true;
+            while (open && readLine(in, request)) {
+                long start = Metrics.ENABLED ? System.nanoTime() : 0;
+                answer.setLength(0);
+                try {
+                    if (request.length() > MAX_LINE) {
+                        open = false;  // The rest of the line is unread, so the next request cannot be found
+                        throw new IllegalArgumentException("Request longer than " + MAX_LINE + " characters");
+                    }
+                    open = answer(request.toString(), answer);
+                } catch (IllegalArgumentException e) {
+                    answer.setLength(0);
+                    answer.append("ERR ").append(e.getMessage());
+                    if (Metrics.ENABLED) {
+                        ERRORS.increment();
+                    }
+                }
+                out.append(answer).append('\n');
+                if (!open || in.available() == 0) {
+                    out.flush();  // Requests that arrived together are answered in one write
+                }
+                if (Metrics.ENABLED) {
+                    REQUESTS.increment();
+                    REQUEST_TIME.record(System.nanoTime() - start);
+                }
+            }
+        } catch (IOException e) {
+            // The client went away; there is no one to answer
+        } finally {
+            connections.remove(connection);
+        }
+    }
+
+    /**
+     * Reads one line, without its line break. A line longer than {@value #MAX_LINE} characters is cut after one
+     * character more, and the rest of it is left unread.
+     * @param in The input of the connection.
+     * @param line Receives the line; emptied first.
+     * @return false if the connection was closed before a line started.
+     * @throws IOException If the connection fails.
+     */
+    private static boolean readLine(InputStream in, StringBuilder line) throws IOException {
+        line.setLength(0);
+        int c = in.read();
+        if (c < 0) {
+            return false;
+        }
+        while (c >= 0 && c != '\n') {
+            line.append((char) c);
+            if (line.length() > MAX_LINE) {
+                return true;
+            }
+            c = in.read();
+        }
+        if (!line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+            line.setLength(line.length() - 1);
+        }
+        return true;
+    }
+
+    /**
+     * Carries out one request.
+     * @param request The request line.
+     * @param answer Receives the answer line.
+     * @return false if the client quits.
+     * @throws IllegalArgumentException If the request is malformed or names an unknown game.
+     */
+    private boolean answer(String request, StringBuilder answer) {
+        String[] words = request.split(" ");
+        switch (words[0]) {
+            case "NEW" -> newGame(words, answer);
+            case "MOVE" -> {
+                boolean valid = session(words).move(number(words, 2), number(words, 3), number(words, 4));
+                answer.append(valid ? "OK VALID" : "OK INVALID");
+            }
+            case "HINT" -> {
+                Hint hint = session(words).hint();
+                if (hint == null) {
+                    answer.append("OK NONE");
+                } else {
+                    answer.append("OK ").append(hint.getRow()).append(' ').append(hint.getCol()).append(' ')
+                            .append(hint.getValue()).append(' ').append(hint.getReason());
+                }
+            }
+            case "SOLVED" -> answer.append(session(words).isSolved() ? "OK SOLVED" : "OK UNSOLVED");
+            case "END" -> {
+                sessions.remove(id(words));
+                answer.append("OK");
+            }
+            case "QUIT" -> {
+                answer.append("OK BYE");
+                return false;
+            }
+            default -> throw new IllegalArgumentException("Unknown request " + words[0]);
+        }
+        return true;
+    }
+
+    /**
+     * Carries out a NEW request: generates the puzzle and keeps its game.
+     * @param words The words of the request.
+     * @param answer Receives the answer line.
+     * @throws IllegalArgumentException If an argument is malformed or the board is too large.
+     */
+    private void newGame(String[] words, StringBuilder answer) {
+        Difficulty difficulty = words.length > 1
+                ? Difficulty.valueOf(words[1].toUpperCase(Locale.ROOT)) : Difficulty.MEDIUM;
+        long seed = words.length > 2 ? Long.parseLong(words[2]) : ThreadLocalRandom.current().nextLong();
+        int blockRows = words.length > 3 ? number(words, 3) : Board.DEFAULT_BLOCK_ROWS;
+        int blockCols = words.length > 3 ? number(words, 4) : Board.DEFAULT_BLOCK_COLS;
+        if (blockRows < 1 || blockCols < 1 || blockRows * blockCols > MAX_BOARD_SIZE) {
+            throw new IllegalArgumentException("Blocks of " + blockRows + "x" + blockCols + " are not served");
+        }
+        GameSession session = new GameSession(PuzzleFactory.create(0, blockRows, blockCols, difficulty, seed));
+        long id = nextId.getAndIncrement();
+        sessions.put(id, session);
+        answer.append("OK ").append(id).append(' ');
+        PuzzleCli.appendBoard(answer, session.getGivens());
+    }
+
+    /**
+     * Returns the game named by the second word of a request.
+     * @param words The words of the request.
+     * @return The game.
+     * @throws IllegalArgumentException If the id is missing or malformed, or there is no such game.
+     */
+    private GameSession session(String[] words) {
+        long id = id(words);
+        GameSession session = sessions.get(id);
+        if (session == null) {
+            throw new IllegalArgumentException("No session " + id);
+        }
+        return session;
+    }
+
+    /**
+     * Returns the game id given as the second word of a request.
+     * @param words The words of the request.
+     * @return The id.
+     * @throws IllegalArgumentException If the id is missing or malformed.
+     */
+    private static long id(String[] words) {
+        if (words.length < 2) {
+            throw new IllegalArgumentException("Missing session id");
+        }
+        return Long.parseLong(words[1]);
+    }
+
+    /**
+     * Returns a whole number given as a word of a request.
+     * @param words The words of the request.
+     * @param position The position of the word.
+     * @return The number.
+     * @throws IllegalArgumentException If the word is missing or not a number.
+     */
+    private static int number(String[] words, int position) {
+        if (words.length <= position) {
+            throw new IllegalArgumentException("Missing argument " + position + " of " + words[0]);
+        }
+        return Integer.parseInt(words[position]);
+    }
+
+    /**
+     * Runs the server until the process is stopped.
+     * Usage: java -cp sudoku-core.jar com.example.sudoku_game.service.PuzzleServer [port] [maxSessions]
+     * @param args Optional port (7878) and largest number of games kept (65536).
+     * @throws Exception If the port cannot be bound.
+     */
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int maxSessions = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SESSIONS;
+        PuzzleServer server = new PuzzleServer(port, maxSessions);
+        server.start();
+        System.out.println("Serving puzzles on " + InetAddress.getLoopbackAddress().getHostAddress() + ":"
+                + server.getPort());
+        server.join();
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.sudoku_game.service;
+
+import com.example.sudoku_game.model.Board;
+import com.example.sudoku_game.model.Difficulty;
+import com.example.sudoku_game.model.Puzzle;
+import com.example.sudoku_game.model.PuzzleFactory;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The PuzzleService class generates puzzles on background threads and keeps a small bounded queue
+ * of ready puzzles for each difficulty, so starting a game never waits for the generator
+ * unless the queue has run dry.
+ * It also records how deep the queues are and how long callers waited when a queue was empty.
+ * If the generator of a difficulty fails, it stops, and every take of that difficulty, waiting or to come,
+ * fails with the error instead of waiting forever; so do takes after the service is closed.
+ */
+public class PuzzleService implements AutoCloseable {
+
+    private final Map<Difficulty, BlockingQueue<Puzzle>> queues = new EnumMap<>(Difficulty.class); // Ready puzzles per difficulty.
+    private final ExecutorService producers; // One generator thread per difficulty.
+    private final ExecutorService consumers; // Threads that wait for puzzles on behalf of async callers.
+    private final int blockRows; // Rows per block of the generated puzzles.
+    private final int blockCols; // Columns per block of the generated puzzles.
+    private final long seed; // Seed of the generated puzzles.
+    private final AtomicLong nextIndex = new AtomicLong(); // Index of the next generated puzzle.
+    private final LongAdder takes = new LongAdder(); // Puzzles handed out.
+    private final LongAdder dryTakes = new LongAdder(); // Puzzles that had to be waited for.
+    private final LongAdder waitNanos = new LongAdder(); // Total time spent waiting on empty queues.
+    private final AtomicLong maxWaitNanos = new AtomicLong(); // Longest wait on an empty queue.
+    private final AtomicReferenceArray<RuntimeException> failures =
+            new AtomicReferenceArray<>(Difficulty.values().length); // Error that stopped each generator, by ordinal.
+    private volatile boolean closed; // Set once the service is closed.
+
+    private static final long CHECK_MILLIS = 100; // Longest wait on an empty queue before checking for failures.
+
+    /**
+     * Creates the service for 6x6 puzzles and starts filling the queues.
+     * @param capacity The number of ready puzzles kept for each difficulty.
+     * @param seed The seed of the generated puzzles.
+     */
+    public PuzzleService(int capacity, long seed) {
+        this(Board.DEFAULT_BLOCK_ROWS, Board.DEFAULT_BLOCK_COLS, capacity, seed);
+    }
+
+    /**
+     * Creates the service for puzzles made of blocks of the given shape and starts filling the queues.
+     * @param blockRows The number of rows in each block.
+     * @param blockCols The number of columns in each block.
+     * @param capacity The number of ready puzzles kept for each difficulty.
+     * @param seed The seed of the generated puzzles.
+     */
+    public PuzzleService(int blockRows, int blockCols, int capacity, long seed) {
+        this.blockRows = blockRows;
+        this.blockCols = blockCols;
+        this.seed = seed;
+        this.producers = Executors.newFixedThreadPool(Difficulty.values().length, daemon("puzzle-generator"));
+        this.consumers = Executors.newCachedThreadPool(daemon("puzzle-taker"));
+
+        for (Difficulty difficulty : Difficulty.values()) {
+            BlockingQueue<Puzzle> queue = new ArrayBlockingQueue<>(capacity);
+            queues.put(difficulty, queue);
+            producers.execute(() -> produce(difficulty, queue));
+        }
+    }
+
+    /**
+     * Keeps the queue of one difficulty full until the service is closed.
+     * @param difficulty The difficulty of the generated puzzles.
+     * @param queue The queue to fill.
+     */
+    private void produce(Difficulty difficulty, BlockingQueue<Puzzle> queue) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                queue.put(PuzzleFactory.create(nextIndex.getAndIncrement(), blockRows, blockCols, difficulty, seed));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            failures.set(difficulty.ordinal(), e);  // Waiting takes see it on their next check
+        }
+    }
+
+    /**
+     * Fails if no puzzle of a difficulty can come any more.
+     * @param difficulty The difficulty of the awaited puzzle.
+     * @throws IllegalStateException If the service is closed or the generator of the difficulty has failed.
+     */
+    private void checkAvailable(Difficulty difficulty) {
+        if (closed) {
+            throw new IllegalStateException("The puzzle service is closed");
+        }
+        RuntimeException failure = failures.get(difficulty.ordinal());
+        if (failure != null) {
+            throw new IllegalStateException("Could not generate " + difficulty + " puzzles", failure);
+        }
+    }
+
+    /**
+     * Takes a ready puzzle, waiting for the generator if the queue is empty.
+     * @param difficulty The difficulty of the puzzle.
+     * @return The next puzzle of that difficulty.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     * @throws IllegalStateException If the queue is empty and the service is closed or the generator has failed.
+     */
+    public Puzzle take(Difficulty difficulty) throws InterruptedException {
+        BlockingQueue<Puzzle> queue = queues.get(difficulty);
+        Puzzle puzzle = queue.poll();
+        if (puzzle == null) {
+            long start = System.nanoTime();
+            do {
+                checkAvailable(difficulty);
+                puzzle = queue.poll(CHECK_MILLIS, TimeUnit.MILLISECONDS);
+            } while (puzzle == null);
+            long waited = System.nanoTime() - start;
+            dryTakes.increment();
+            waitNanos.add(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+        }
+        takes.increment();
+        return puzzle;
+    }
+
+    /**
+     * Takes a ready puzzle without blocking the caller.
+     * @param difficulty The difficulty of the puzzle.
+     * @return A future completed with the next puzzle of that difficulty, or completed exceptionally with the
+     *         error of {@link #take} if no puzzle can come.
+     */
+    public CompletableFuture<Puzzle> takeAsync(Difficulty difficulty) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return take(difficulty);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CompletionException(e);
+                }
+            }, consumers);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new IllegalStateException("The puzzle service is closed", e));
+        }
+    }
+
+    /**
+     * Returns the number of ready puzzles of a difficulty.
+     * @param difficulty The difficulty to check.
+     * @return The current queue depth.
+     */
+    public int getQueueDepth(Difficulty difficulty) {
+        return queues.get(difficulty).size();
+    }
+
+    /**
+     * Returns the number of puzzles handed out.
+     * @return The total number of takes.
+     */
+    public long getTakeCount() {
+        return takes.sum();
+    }
+
+    /**
+     * Returns the number of takes that found the queue empty and had to wait.
+     * @return The number of dry takes.
+     */
+    public long getDryTakeCount() {
+        return dryTakes.sum();
+    }
+
+    /**
+     * Returns the total time callers spent waiting on empty queues.
+     * @return The total wait in nanoseconds.
+     */
+    public long getTotalWaitNanos() {
+        return waitNanos.sum();
+    }
+
+    /**
+     * Returns the longest time a caller waited on an empty queue.
+     * @return The maximum wait in nanoseconds.
+     */
+    public long getMaxWaitNanos() {
+        return maxWaitNanos.get();
+    }
+
+    /**
+     * Stops the generator threads; takes still waiting fail.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        producers.shutdownNow();
+        consumers.shutdownNow();
+    }
+
+    /**
+     * Creates a thread factory for daemon threads, so the service never keeps the application alive.
+     * @param name The name of the threads.
+     * @return The thread factory.
+     */
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
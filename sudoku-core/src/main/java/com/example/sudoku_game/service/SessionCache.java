@@ -0,0 +1,196 @@
+package com.example.sudoku_game.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The SessionCache class keeps the game sessions of the {@link PuzzleServer} by id, up to a fixed number, and
+ * evicts the least recently used session to make room for a new one, so clients that never end their sessions
+ * cannot grow the server without bound.
+ * The sessions are spread over independently locked stripes, each an access-ordered LinkedHashMap with its share of
+ * the capacity, so concurrent connections seldom wait for each other; eviction is least recently used within a
+ * stripe, which approximates it over the whole cache. The locks are ReentrantLocks, which park a virtual thread
+ * without pinning its carrier.
+ * @param <V> The type of the sessions.
+ */
+final class SessionCache<V> {
+
+    private static final int MAX_STRIPES = 64; // Stripes of a large cache.
+
+    private final Stripe<V>[] stripes; // Sessions, by the hash of their id.
+    private final int stripeMask; // Number of stripes minus one; the number is a power of two.
+    private final LongAdder evictions = new LongAdder(); // Sessions evicted to make room.
+
+    /**
+     * Creates an empty cache.
+     * @param capacity The largest number of sessions kept, at least 1.
+     */
+    SessionCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be at least 1: " + capacity);
+        }
+        int count = Integer.highestOneBit(Math.min(MAX_STRIPES, capacity));
+        stripes = newStripes(count);
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe<>(capacity / count + (i < capacity % count ? 1 : 0), evictions);
+        }
+        stripeMask = count - 1;
+    }
+
+    /**
+     * Returns a session and marks it as the most recently used of its stripe.
+     * @param id The id of the session.
+     * @return The session, or null if there is none with that id or it was evicted.
+     */
+    V get(long id) {
+        Stripe<V> stripe = stripeOf(id);
+        stripe.lock.lock();
+        try {
+            return stripe.get(id);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Adds a session, evicting the least recently used one of its stripe if the stripe is full.
+     * @param id The id of the session, not already in the cache.
+     * @param session The session.
+     */
+    void put(long id, V session) {
+        Stripe<V> stripe = stripeOf(id);
+        stripe.lock.lock();
+        try {
+            stripe.put(id, session);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a session.
+     * @param id The id of the session.
+     * @return The removed session, or null if there was none with that id.
+     */
+    V remove(long id) {
+        Stripe<V> stripe = stripeOf(id);
+        stripe.lock.lock();
+        try {
+            return stripe.remove(id);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of sessions in the cache.
+     * @return The session count; a moving target while sessions are added.
+     */
+    int size() {
+        int size = 0;
+        for (Stripe<V> stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of sessions evicted to make room for new ones since the cache was created.
+     * @return The eviction count.
+     */
+    long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Creates an array of stripes; a generic array cannot be created directly.
+     * @param count The number of stripes.
+     * @param <V> The type of the sessions.
+     * @return An array of count nulls.
+     */
+    @SuppressWarnings("unchecked")
+    private static <V> Stripe<V>[] newStripes(int count) {
+        return (Stripe<V>[]) new Stripe<?>[count];  // Holds only Stripe<V>, filled by the constructor
+    }
+
+    /**
+     * Returns the stripe of a session. Ids are handed out in sequence, so they are mixed first to spread
+     * consecutive ids over the stripes.
+     * @param id The id of the session.
+     * @return The stripe that holds the session.
+     */
+    private Stripe<V> stripeOf(long id) {
+        long mixed = id * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (mixed >>> 32) & stripeMask];
+    }
+
+    /**
+     * One stripe of the cache: an access-ordered map that drops its eldest entry once it is over its capacity.
+     * @param <V> The type of the sessions.
+     */
+    private static final class Stripe<V> {
+
+        private final ReentrantLock lock = new ReentrantLock(); // Guards the map.
+        private final LinkedHashMap<Long, V> map = new LinkedHashMap<>(16, 0.75f, true); // Least recently used first.
+        private final int capacity; // Largest number of sessions in the stripe.
+        private final LongAdder evictions; // Evictions of the whole cache.
+
+        /**
+         * Creates an empty stripe.
+         * @param capacity The largest number of sessions in the stripe.
+         * @param evictions The eviction count of the whole cache.
+         */
+        Stripe(int capacity, LongAdder evictions) {
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+
+        /**
+         * Returns a session and marks it as the most recently used.
+         * @param id The id of the session.
+         * @return The session, or null if there is none with that id.
+         */
+        V get(long id) {
+            return map.get(id);
+        }
+
+        /**
+         * Adds a session, dropping the least recently used one if that takes the stripe over its capacity.
+         * @param id The id of the session.
+         * @param session The session.
+         */
+        void put(long id, V session) {
+            map.put(id, session);
+            if (map.size() > capacity) {
+                Iterator<V> eldest = map.values().iterator();
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+
+        /**
+         * Removes a session.
+         * @param id The id of the session.
+         * @return The removed session, or null if there was none with that id.
+         */
+        V remove(long id) {
+            return map.remove(id);
+        }
+
+        /**
+         * Returns the number of sessions in the stripe.
+         * @return The session count.
+         */
+        int size() {
+            return map.size();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+module com.example.sudoku_game.core {
+    requires transitive jdk.jfr;  // The exported events extend jdk.jfr.Event
+
+    exports com.example.sudoku_game.metrics;
+    exports com.example.sudoku_game.model;
+    exports com.example.sudoku_game.service;
+}
@@ -0,0 +1,144 @@
+package com.example.sudoku_game.model;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link GridEnumerator}, {@link GridClassIndex} and {@link DistinctPuzzles}: the known counts of 6x6
+ * grids and of their classes, and puzzle keys that do not change when a puzzle is disguised.
+ */
+class GridClassIndexTest {
+
+    private static final int EXPECTED_CLASSES = 49; // Classes of 6x6 grids under the validity-preserving symmetries.
+    private static final int PUZZLES = 200; // Puzzles disguised per test.
+    private static final long SEED = 42L; // Seed of the puzzles.
+    private static final int PARALLELISM = Runtime.getRuntime().availableProcessors(); // Worker threads.
+
+    private static GridClassIndex index; // Index shared by the tests, built once.
+
+    /**
+     * Builds the class index.
+     */
+    @BeforeAll
+    static void buildIndex() {
+        index = GridClassIndex.build(PARALLELISM);
+    }
+
+    /**
+     * The walk visits the 39,168 normalized grids and the 28,200,960 grids, each of them valid.
+     */
+    @Test
+    void enumeratorVisitsEveryGrid() {
+        LongAdder invalid = new LongAdder();
+        long normalized = GridEnumerator.forEachNormalized(PARALLELISM, grid -> {
+            if (!isValid(grid)) {
+                invalid.increment();
+            }
+        });
+        assertEquals(GridEnumerator.NORMALIZED_GRIDS, normalized);
+        assertEquals(0, invalid.sum());
+        assertEquals(GridEnumerator.ALL_GRIDS, GridEnumerator.forEach(PARALLELISM, grid -> { }));
+    }
+
+    /**
+     * The grids fall into 49 classes that hold all of them, and each canonical grid belongs to its own class.
+     */
+    @Test
+    void indexHoldsEveryGridInItsClasses() {
+        assertEquals(EXPECTED_CLASSES, index.getClassCount());
+        long total = 0;
+        for (int classId = 0; classId < index.getClassCount(); classId++) {
+            total += index.getGridCount(classId);
+            assertEquals(classId, index.classOf(index.getCanonicalGrid(classId)));
+        }
+        assertEquals(GridEnumerator.ALL_GRIDS, total);
+    }
+
+    /**
+     * Moving bands and stacks and relabeling the digits of a puzzle leaves its key unchanged, and the set of
+     * distinct puzzles takes the disguised copy for a duplicate.
+     */
+    @Test
+    void disguisedPuzzleHasSameKey() {
+        for (int i = 0; i < PUZZLES; i++) {
+            Puzzle puzzle = PuzzleFactory.create(i, Difficulty.HARD, SEED);
+            Puzzle copy = disguise(puzzle, i % 5 + 1);
+            assertEquals(index.classOf(puzzle.getSolution()), index.classOf(copy.getSolution()));
+            assertEquals(index.puzzleKey(puzzle.getGivens(), puzzle.getSolution()),
+                    index.puzzleKey(copy.getGivens(), copy.getSolution()));
+
+            DistinctPuzzles distinct = new DistinctPuzzles(index);
+            assertTrue(distinct.add(puzzle));
+            assertTrue(distinct.contains(copy));
+            assertFalse(distinct.add(copy));
+            assertEquals(1, distinct.size());
+        }
+    }
+
+    /**
+     * A puzzle with one clue less is a different puzzle on the same grid.
+     */
+    @Test
+    void removingClueChangesKey() {
+        Puzzle puzzle = PuzzleFactory.create(0, Difficulty.EASY, SEED);
+        Board givens = new Board(2, 3);
+        givens.copyFrom(puzzle.getGivens());
+        int cell = 0;
+        while (givens.get(cell) == 0) {
+            cell++;
+        }
+        givens.set(cell, 0);
+        assertNotEquals(index.puzzleKey(puzzle.getGivens(), puzzle.getSolution()),
+                index.puzzleKey(givens, puzzle.getSolution()));
+    }
+
+    /**
+     * Swaps the stacks, moves the top band to the bottom and relabels the digits of a puzzle.
+     * @param puzzle The puzzle, on a 6x6 board.
+     * @param shift The relabeling, digit d becomes (d + shift) mod 6 + 1.
+     * @return The disguised copy.
+     */
+    private static Puzzle disguise(Puzzle puzzle, int shift) {
+        Board givens = disguise(puzzle.getGivens(), shift);
+        Board solution = disguise(puzzle.getSolution(), shift);
+        return new Puzzle(puzzle.getIndex(), puzzle.getSeed(), puzzle.getDifficulty(), givens, solution,
+                puzzle.getClues());
+    }
+
+    /**
+     * Swaps the stacks, moves the top band to the bottom and relabels the digits of a 6x6 board.
+     * @param board The board.
+     * @param shift The relabeling, digit d becomes (d + shift) mod 6 + 1.
+     * @return The disguised copy.
+     */
+    private static Board disguise(Board board, int shift) {
+        Board copy = new Board(2, 3);
+        for (int row = 0; row < 6; row++) {
+            for (int col = 0; col < 6; col++) {
+                int value = board.get(board.indexOf((row + 2) % 6, (col + 3) % 6));
+                copy.set(row, col, value == 0 ? 0 : (value + shift) % 6 + 1);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Tells whether a grid has every digit once in each row, column and 2x3 block.
+     * @param grid The 36 digits in row order.
+     * @return True if the grid is a valid solution.
+     */
+    private static boolean isValid(byte[] grid) {
+        Board board = new Board(2, 3);
+        for (int i = 0; i < grid.length; i++) {
+            board.set(i, grid[i]);
+        }
+        return board.isSolved();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.sudoku_game.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link MoveHistory}: packing cell states and moves, including the last cell of the largest board,
+ * and undoing and redoing them.
+ */
+class MoveHistoryTest {
+
+    private static final int LAST_CELL = Board.MAX_SIZE * Board.MAX_SIZE - 1; // Last cell of a 25x25 board, 624.
+
+    /**
+     * Every value, shown number and hint flag of the largest board survives packing.
+     */
+    @Test
+    void stateRoundTripsEveryNumber() {
+        for (int value = 0; value <= Board.MAX_SIZE; value++) {
+            for (int shown = 0; shown <= Board.MAX_SIZE; shown++) {
+                for (boolean hint : new boolean[] {false, true}) {
+                    int state = MoveHistory.state(value, shown, hint);
+                    assertEquals(value, MoveHistory.value(state));
+                    assertEquals(shown, MoveHistory.shown(state));
+                    assertEquals(hint, MoveHistory.isHint(state));
+                    assertEquals(value != shown, MoveHistory.isRejected(state));
+                }
+            }
+        }
+    }
+
+    /**
+     * A move on cell 624, whose index sets the sign bit of the packed int, unpacks to the same cell and states.
+     */
+    @Test
+    void moveRoundTripsAtLastCellOfLargestBoard() {
+        int before = MoveHistory.state(Board.MAX_SIZE, Board.MAX_SIZE, true);
+        int after = MoveHistory.state(0, Board.MAX_SIZE - 1, false);
+        int move = MoveHistory.move(LAST_CELL, before, after);
+        assertEquals(624, LAST_CELL);
+        assertEquals(LAST_CELL, MoveHistory.index(move));
+        assertEquals(before, MoveHistory.before(move));
+        assertEquals(after, MoveHistory.after(move));
+    }
+
+    /**
+     * Every cell index of the largest board survives packing next to the widest states.
+     */
+    @Test
+    void moveRoundTripsEveryCell() {
+        int before = MoveHistory.state(Board.MAX_SIZE, Board.MAX_SIZE, true);
+        int after = MoveHistory.state(Board.MAX_SIZE, 1, true);
+        for (int index = 0; index <= LAST_CELL; index++) {
+            int move = MoveHistory.move(index, before, after);
+            assertEquals(index, MoveHistory.index(move));
+            assertEquals(before, MoveHistory.before(move));
+            assertEquals(after, MoveHistory.after(move));
+        }
+    }
+
+    /**
+     * A cell index that does not fit the packed move is rejected.
+     */
+    @Test
+    void moveRejectsIndexOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> MoveHistory.move(-1, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> MoveHistory.move(1024, 0, 0));
+    }
+
+    /**
+     * Undo and redo walk the moves in order, past the initial capacity, and a new move drops the redo tail.
+     */
+    @Test
+    void undoAndRedoWalkTheMoves() {
+        MoveHistory history = new MoveHistory();
+        int count = 200;
+        for (int i = 0; i < count; i++) {
+            history.push(MoveHistory.move(i, 0, MoveHistory.state(1, 1, false)));
+        }
+        assertEquals(count, history.size());
+        for (int i = count - 1; i >= 0; i--) {
+            assertEquals(i, MoveHistory.index(history.undo()));
+        }
+        assertFalse(history.canUndo());
+        assertThrows(IllegalStateException.class, history::undo);
+
+        assertEquals(0, MoveHistory.index(history.redo()));
+        assertEquals(1, MoveHistory.index(history.redo()));
+        history.push(MoveHistory.move(LAST_CELL, 0, 0));
+        assertFalse(history.canRedo());
+        assertThrows(IllegalStateException.class, history::redo);
+        assertEquals(LAST_CELL, MoveHistory.index(history.undo()));
+        assertTrue(history.canRedo());
+
+        history.clear();
+        assertFalse(history.canUndo());
+        assertFalse(history.canRedo());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.sudoku_game.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the {@link Solver} engines: {@link BitmaskSolver} and {@link BacktrackingSolver} agree on the solutions
+ * of the same boards, and the budgeted count gives up with {@link Solver#UNKNOWN}.
+ */
+class SolverTest {
+
+    private static final int PUZZLES = 50; // Puzzles counted per difficulty.
+    private static final long SEED = 7L; // Seed of the puzzles.
+    private static final int EMPTY_4X4_GRIDS = 288; // Valid 4x4 grids with 2x2 blocks.
+
+    /**
+     * Both engines find exactly one solution to every generated puzzle, and solve it to the puzzle's solution.
+     */
+    @Test
+    void enginesAgreeOnGeneratedPuzzles() {
+        Solver[] solvers = {new BitmaskSolver(), new BacktrackingSolver()};
+        for (Difficulty difficulty : Difficulty.values()) {
+            for (int index = 0; index < PUZZLES; index++) {
+                Puzzle puzzle = PuzzleFactory.create(index, difficulty, SEED);
+                for (Solver solver : solvers) {
+                    Board board = new Board(puzzle.getGivens());
+                    assertEquals(1, solver.countSolutions(board, 2), solver.getClass().getSimpleName());
+                    assertEquals(puzzle.getClues(), board.getFilledCount());
+                    assertTrue(solver.solve(board));
+                    assertTrue(board.isSolved());
+                    for (int cell = 0; cell < board.cellCount(); cell++) {
+                        assertEquals(puzzle.getSolution().get(cell), board.get(cell));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Both engines count the 288 grids of an empty 4x4 board.
+     */
+    @Test
+    void enginesCountEveryGridOfEmpty4x4Board() {
+        assertEquals(EMPTY_4X4_GRIDS, new BitmaskSolver().countSolutions(new Board(2, 2), Integer.MAX_VALUE));
+        assertEquals(EMPTY_4X4_GRIDS, new BacktrackingSolver().countSolutions(new Board(2, 2), Integer.MAX_VALUE));
+    }
+
+    /**
+     * A count that runs out of search nodes returns {@link Solver#UNKNOWN}, and one with room to finish returns
+     * the count.
+     */
+    @Test
+    void budgetedCountReturnsUnknownWhenBudgetRunsOut() {
+        Solver solver = new BitmaskSolver();
+        assertEquals(Solver.UNKNOWN, solver.countSolutions(new Board(2, 2), Integer.MAX_VALUE, 10));
+        assertEquals(EMPTY_4X4_GRIDS, solver.countSolutions(new Board(2, 2), Integer.MAX_VALUE, Long.MAX_VALUE));
+        Puzzle puzzle = PuzzleFactory.create(0, Difficulty.HARD, SEED);
+        assertEquals(1, solver.countSolutions(new Board(puzzle.getGivens()), 2, 1_000_000));
+    }
+
+    /**
+     * A Sudoku built from a puzzle counts with the engine it was given.
+     */
+    @Test
+    void sudokuFromPuzzleUsesGivenSolver() {
+        Puzzle puzzle = PuzzleFactory.create(3, Difficulty.MEDIUM, SEED);
+        Solver solver = new BacktrackingSolver();
+        Sudoku sudoku = new Sudoku(puzzle, solver);
+        assertSame(solver, sudoku.getSolver());
+        assertEquals(1, sudoku.countSolutions(2));
+        assertTrue(new Sudoku(puzzle).getSolver() instanceof BitmaskSolver);
+    }
+}
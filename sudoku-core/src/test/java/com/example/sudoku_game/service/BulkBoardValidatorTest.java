@@ -0,0 +1,248 @@
+package com.example.sudoku_game.service;
+
+import com.example.sudoku_game.model.Board;
+import com.example.sudoku_game.model.Difficulty;
+import com.example.sudoku_game.model.PuzzleFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests of {@link BulkBoardValidator}: the bit-sliced checks agree with {@link Board#isSolved()} on valid and
+ * corrupted boards, in full and partial batches and over streams, and packing a board or its text gives the same
+ * record.
+ */
+class BulkBoardValidatorTest {
+
+    private static final int SIZE = PuzzleCodec.SIZE; // Rows, columns and digits of a board.
+    private static final int BOARDS = 150; // Boards checked, two full batches and a partial one.
+    private static final long SEED = 5L; // Seed of the solutions.
+
+    /**
+     * Full batches of valid and corrupted boards get the mask that {@link Board#isSolved()} gives them.
+     */
+    @Test
+    void validateMatchesIsSolvedOnFullBatch() {
+        List<Board> boards = boards(BulkBoardValidator.BATCH);
+        long[] records = pack(boards);
+        long expected = 0;
+        for (int i = 0; i < boards.size(); i++) {
+            expected |= boards.get(i).isSolved() ? 1L << i : 0;
+        }
+        assertEquals(expected, new BulkBoardValidator().validate(records, 0, BulkBoardValidator.BATCH));
+    }
+
+    /**
+     * A batch of fewer than 64 boards reports only those boards, whatever the slots after them held before.
+     */
+    @Test
+    void validateHandlesPartialBatch() {
+        BulkBoardValidator validator = new BulkBoardValidator();
+        List<Board> boards = boards(BulkBoardValidator.BATCH);
+        validator.validate(pack(boards), 0, BulkBoardValidator.BATCH);  // Leaves boards in every slot
+
+        int count = 37;
+        long[] records = pack(boards.subList(0, count));
+        long expected = 0;
+        for (int i = 0; i < count; i++) {
+            expected |= boards.get(i).isSolved() ? 1L << i : 0;
+        }
+        assertEquals(expected, validator.validate(records, 0, count));
+        assertEquals(boards.get(5).isSolved() ? 1L : 0L, validator.validate(records, 2 * 5, 1));
+        assertThrows(IllegalArgumentException.class, () -> validator.validate(records, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> validator.validate(records, 0, 65));
+    }
+
+    /**
+     * A 7 in a cell and a set reserved bit make a solved board invalid.
+     */
+    @Test
+    void validateRejectsSevenAndReservedBits() {
+        Board solution = PuzzleFactory.create(0, Difficulty.EASY, SEED).getSolution();
+        long[] records = new long[6];
+        for (int i = 0; i < 3; i++) {
+            BulkBoardValidator.pack(solution, records, 2 * i);
+        }
+        int cell = 20;  // Row 3, column 2: in the second long
+        records[2 + 1] |= 7L << 3 * (cell - 3 * SIZE);
+        records[4] |= 1L << 60;
+        assertEquals(0b001, new BulkBoardValidator().validate(records, 0, 3));
+
+        StringBuilder text = text(solution);
+        text.setCharAt(cell, '7');
+        long[] record = new long[2];
+        BulkBoardValidator.pack(text, record, 0);
+        assertEquals(0, new BulkBoardValidator().validate(record, 0, 1));
+    }
+
+    /**
+     * A stream of records, read a few bytes at a time or all at once, reports every invalid board in order.
+     * @throws IOException If the stream cannot be read.
+     */
+    @Test
+    void streamReportsInvalidBoardsInOrder() throws IOException {
+        List<Board> boards = boards(BOARDS);
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < boards.size(); i++) {
+            if (!boards.get(i).isSolved()) {
+                expected.add((long) i);
+            }
+        }
+        byte[] bytes = bytes(pack(boards));
+        for (ReadableByteChannel in : List.of(Channels.newChannel(new ByteArrayInputStream(bytes)),
+                trickle(bytes, 7))) {
+            List<Long> invalid = new ArrayList<>();
+            assertEquals(BOARDS, new BulkBoardValidator().validate(in, invalid::add));
+            assertEquals(expected, invalid);
+        }
+    }
+
+    /**
+     * A stream that ends inside a record raises an EOFException.
+     */
+    @Test
+    void streamEndingInsideRecordThrows() {
+        byte[] bytes = bytes(pack(boards(70)));
+        byte[] cut = Arrays.copyOf(bytes, bytes.length - 3);
+        assertThrows(EOFException.class, () -> new BulkBoardValidator().validate(
+                Channels.newChannel(new ByteArrayInputStream(cut)), position -> { }));
+    }
+
+    /**
+     * A board and its text pack to the same record, and the record holds every cell where the format puts it.
+     */
+    @Test
+    void packBoardAndTextGiveSameRecord() {
+        for (Board board : boards(20)) {
+            long[] fromBoard = new long[2];
+            long[] fromText = new long[2];
+            BulkBoardValidator.pack(board, fromBoard, 0);
+            BulkBoardValidator.pack(text(board), fromText, 0);
+            assertArrayEquals(fromBoard, fromText);
+            for (int index = 0; index < SIZE * SIZE; index++) {
+                long half = fromBoard[index / (3 * SIZE)];
+                assertEquals(board.get(index), (int) (half >>> 3 * (index % (3 * SIZE)) & 7), "cell " + index);
+            }
+            assertEquals(0, fromBoard[0] >>> 3 * 3 * SIZE);
+            assertEquals(0, fromBoard[1] >>> 3 * 3 * SIZE);
+        }
+        assertThrows(IllegalArgumentException.class, () -> BulkBoardValidator.pack("123", new long[2], 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> BulkBoardValidator.pack("8" + ".".repeat(35), new long[2], 0));
+        assertThrows(IllegalArgumentException.class, () -> BulkBoardValidator.pack(new Board(3, 3), new long[2], 0));
+    }
+
+    /**
+     * Returns solved boards, every other one corrupted in turn by a swap of two cells of a row, an emptied cell
+     * or a swap of two rows of different bands.
+     * @param count The number of boards.
+     * @return The boards.
+     */
+    private static List<Board> boards(int count) {
+        List<Board> boards = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Board board = new Board(PuzzleFactory.create(i, Difficulty.EASY, SEED).getSolution());
+            int row = i % SIZE;
+            switch (i % 6) {
+                case 1 -> {
+                    int first = board.get(row, 0);
+                    board.set(row, 0, board.get(row, 4));
+                    board.set(row, 4, first);
+                }
+                case 3 -> board.set(row, i % SIZE, 0);
+                case 5 -> {
+                    for (int col = 0; col < SIZE; col++) {
+                        int first = board.get(1, col);
+                        board.set(1, col, board.get(2, col));
+                        board.set(2, col, first);
+                    }
+                }
+                default -> {
+                }
+            }
+            boards.add(board);
+        }
+        return boards;
+    }
+
+    /**
+     * Packs boards into consecutive records.
+     * @param boards The boards.
+     * @return Two longs per board.
+     */
+    private static long[] pack(List<Board> boards) {
+        long[] records = new long[2 * boards.size()];
+        for (int i = 0; i < boards.size(); i++) {
+            BulkBoardValidator.pack(boards.get(i), records, 2 * i);
+        }
+        return records;
+    }
+
+    /**
+     * Writes records as the bytes of a file.
+     * @param records The records.
+     * @return The little-endian bytes of the records.
+     */
+    private static byte[] bytes(long[] records) {
+        ByteBuffer bytes = ByteBuffer.allocate(8 * records.length).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.asLongBuffer().put(records);
+        return bytes.array();
+    }
+
+    /**
+     * Returns a board as text, one digit per cell in reading order and '.' for an empty cell.
+     * @param board The board.
+     * @return The text.
+     */
+    private static StringBuilder text(Board board) {
+        StringBuilder text = new StringBuilder();
+        for (int index = 0; index < board.cellCount(); index++) {
+            text.append(board.get(index) == 0 ? '.' : (char) ('0' + board.get(index)));
+        }
+        return text;
+    }
+
+    /**
+     * Returns a channel that hands out a few bytes per read, so records arrive split across reads.
+     * @param bytes The bytes of the channel.
+     * @param chunk The largest number of bytes per read.
+     * @return The channel.
+     */
+    private static ReadableByteChannel trickle(byte[] bytes, int chunk) {
+        ByteBuffer source = ByteBuffer.wrap(bytes);
+        return new ReadableByteChannel() {
+            @Override
+            public int read(ByteBuffer target) {
+                if (!source.hasRemaining()) {
+                    return -1;
+                }
+                int n = Math.min(chunk, Math.min(source.remaining(), target.remaining()));
+                target.put(source.slice(source.position(), n));
+                source.position(source.position() + n);
+                return n;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
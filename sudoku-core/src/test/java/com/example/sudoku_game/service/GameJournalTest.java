@@ -0,0 +1,260 @@
+package com.example.sudoku_game.service;
+
+import com.example.sudoku_game.model.Difficulty;
+import com.example.sudoku_game.model.Puzzle;
+import com.example.sudoku_game.model.PuzzleFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests of {@link GameJournal}: saving a game, reading it back, replaying the journal on top of the snapshot,
+ * and rejecting damaged files with an IOException.
+ */
+class GameJournalTest {
+
+    private static final int BLOCK_ROWS_OFFSET = 6; // Position of the block rows in the snapshot header.
+    private static final int BLOCK_COLS_OFFSET = 7; // Position of the block columns in the snapshot header.
+    private static final int DIFFICULTY_OFFSET = 16; // Position of the difficulty in the snapshot header.
+
+    @TempDir
+    Path directory; // Save directory of each test.
+
+    /**
+     * No snapshot means no saved game.
+     * @throws IOException If the directory cannot be read.
+     */
+    @Test
+    void loadReturnsNullWithoutSavedGame() throws IOException {
+        assertNull(GameJournal.load(directory));
+    }
+
+    /**
+     * Moves, hints, rejected numbers and the help count survive a close and a load.
+     * @throws IOException If the game cannot be saved or read.
+     */
+    @Test
+    void closeThenLoadRestoresTheGame() throws IOException {
+        GameState expected = new GameState(puzzle());
+        try (GameJournal journal = new GameJournal(directory)) {
+            journal.start(expected);
+            int[] empty = emptyCells(expected, 3);
+            play(journal, expected, empty[0], expected.getSolution().get(empty[0]), 0);
+            play(journal, expected, empty[1], expected.getSolution().get(empty[1]), GameState.HINT | GameState.HELP);
+            play(journal, expected, empty[2], wrongValue(expected, empty[2]), GameState.INVALID);
+        }
+
+        assertSameGame(expected, GameJournal.load(directory));
+    }
+
+    /**
+     * More moves than fit between two snapshots are all kept.
+     * @throws IOException If the game cannot be saved or read.
+     */
+    @Test
+    void closeThenLoadKeepsMovesAcrossSnapshots() throws IOException {
+        GameState expected = new GameState(puzzle());
+        int[] empty = emptyCells(expected, 2);
+        try (GameJournal journal = new GameJournal(directory)) {
+            journal.start(expected);
+            for (int move = 0; move < 2 * GameJournal.SNAPSHOT_INTERVAL + 5; move++) {
+                int index = empty[move % 2];
+                play(journal, expected, index, move % expected.getGivens().size() + 1, 0);
+            }
+        }
+
+        assertSameGame(expected, GameJournal.load(directory));
+    }
+
+    /**
+     * Moves in the journal are played on top of the snapshot, and a move cut short at the end is ignored.
+     * @throws IOException If the game cannot be saved or read.
+     */
+    @Test
+    void loadReplaysJournalAndIgnoresTruncatedMove() throws IOException {
+        GameState expected = new GameState(puzzle());
+        try (GameJournal journal = new GameJournal(directory)) {
+            journal.start(expected);
+        }
+        int[] empty = emptyCells(expected, 2);
+        ByteBuffer moves = ByteBuffer.allocate(8 + 8 + 5);
+        moves.putInt(1_000).putShort((short) empty[0]).put((byte) expected.getSolution().get(empty[0])).put((byte) 0);
+        moves.putInt(2_000).putShort((short) empty[1]).put((byte) 1).put((byte) GameState.INVALID);
+        moves.put(new byte[5]);  // Half a move, as left by a crash
+        Files.write(directory.resolve(GameJournal.JOURNAL_FILE), moves.array(), StandardOpenOption.APPEND);
+        expected.apply(empty[0], expected.getSolution().get(empty[0]), 0, 1_000);
+        expected.apply(empty[1], 1, GameState.INVALID, 2_000);
+
+        GameState loaded = GameJournal.load(directory);
+        assertSameGame(expected, loaded);
+        assertEquals(2_000, loaded.getElapsedMillis());
+    }
+
+    /**
+     * A block shape of 0 is a corrupt file, not an unsupported board.
+     * @throws IOException If the game cannot be saved.
+     */
+    @Test
+    void loadRejectsEmptyBlockShape() throws IOException {
+        assertCorrupt(BLOCK_ROWS_OFFSET, (byte) 0);
+    }
+
+    /**
+     * A negative block shape is a corrupt file.
+     * @throws IOException If the game cannot be saved.
+     */
+    @Test
+    void loadRejectsNegativeBlockShape() throws IOException {
+        assertCorrupt(BLOCK_COLS_OFFSET, (byte) -3);
+    }
+
+    /**
+     * A block shape larger than the largest board is a corrupt file.
+     * @throws IOException If the game cannot be saved.
+     */
+    @Test
+    void loadRejectsOversizedBlockShape() throws IOException {
+        assertCorrupt(BLOCK_ROWS_OFFSET, (byte) 13);
+    }
+
+    /**
+     * A difficulty below -1, the mark of a puzzle without one, is a corrupt file.
+     * @throws IOException If the game cannot be saved.
+     */
+    @Test
+    void loadRejectsNegativeDifficulty() throws IOException {
+        saveNewGame();
+        Path snapshot = directory.resolve(GameJournal.SNAPSHOT_FILE);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        ByteBuffer.wrap(bytes).putInt(DIFFICULTY_OFFSET, -2);
+        Files.write(snapshot, bytes);
+        assertThrows(IOException.class, () -> GameJournal.load(directory));
+    }
+
+    /**
+     * A snapshot that ends inside the cells is a corrupt file.
+     * @throws IOException If the game cannot be saved.
+     */
+    @Test
+    void loadRejectsTruncatedCells() throws IOException {
+        saveNewGame();
+        Path snapshot = directory.resolve(GameJournal.SNAPSHOT_FILE);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> GameJournal.load(directory));
+    }
+
+    /**
+     * Saves a new game, overwrites one byte of its snapshot header and checks that loading fails with an IOException.
+     * @param offset The position of the byte.
+     * @param value The byte written there.
+     * @throws IOException If the game cannot be saved.
+     */
+    private void assertCorrupt(int offset, byte value) throws IOException {
+        saveNewGame();
+        Path snapshot = directory.resolve(GameJournal.SNAPSHOT_FILE);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[offset] = value;
+        Files.write(snapshot, bytes);
+        assertThrows(IOException.class, () -> GameJournal.load(directory));
+    }
+
+    /**
+     * Saves a new game with no moves.
+     * @throws IOException If the game cannot be saved.
+     */
+    private void saveNewGame() throws IOException {
+        try (GameJournal journal = new GameJournal(directory)) {
+            journal.start(new GameState(puzzle()));
+        }
+    }
+
+    /**
+     * Records a move in the journal and plays it on the expected state.
+     * @param journal The journal.
+     * @param expected The state the loaded game must match.
+     * @param index The index of the cell.
+     * @param value The number.
+     * @param flags The flags of the move.
+     */
+    private static void play(GameJournal journal, GameState expected, int index, int value, int flags) {
+        journal.record(index, value, flags);
+        expected.apply(index, value, flags, expected.getElapsedMillis());
+    }
+
+    /**
+     * Checks that a loaded game matches the expected one, game time aside.
+     * @param expected The expected state.
+     * @param actual The loaded state.
+     */
+    private static void assertSameGame(GameState expected, GameState actual) {
+        assertEquals(expected.getDifficulty(), actual.getDifficulty());
+        assertEquals(expected.getSeed(), actual.getSeed());
+        assertEquals(expected.getHelps(), actual.getHelps());
+        assertEquals(expected.getMoveCount(), actual.getMoveCount());
+        int cells = expected.getGivens().cellCount();
+        int[][] expectedCells = new int[5][cells];
+        int[][] actualCells = new int[5][cells];
+        for (int index = 0; index < cells; index++) {
+            expectedCells[0][index] = expected.getGivens().get(index);
+            expectedCells[1][index] = expected.getSolution().get(index);
+            expectedCells[2][index] = expected.getBoard().get(index);
+            expectedCells[3][index] = expected.getShown(index);
+            expectedCells[4][index] = expected.getFlags(index);
+            actualCells[0][index] = actual.getGivens().get(index);
+            actualCells[1][index] = actual.getSolution().get(index);
+            actualCells[2][index] = actual.getBoard().get(index);
+            actualCells[3][index] = actual.getShown(index);
+            actualCells[4][index] = actual.getFlags(index);
+        }
+        for (int part = 0; part < expectedCells.length; part++) {
+            assertArrayEquals(expectedCells[part], actualCells[part], "part " + part);
+        }
+    }
+
+    /**
+     * Returns the first empty cells of a game.
+     * @param state The game.
+     * @param count The number of cells wanted.
+     * @return The indexes of the cells.
+     */
+    private static int[] emptyCells(GameState state, int count) {
+        int[] cells = new int[count];
+        int found = 0;
+        for (int index = 0; found < count; index++) {
+            if (state.getGivens().get(index) == 0) {
+                cells[found++] = index;
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Returns a number that is not the solution of a cell.
+     * @param state The game.
+     * @param index The index of the cell.
+     * @return The number.
+     */
+    private static int wrongValue(GameState state, int index) {
+        return state.getSolution().get(index) % state.getGivens().size() + 1;
+    }
+
+    /**
+     * Returns the puzzle every test plays.
+     * @return A 6x6 puzzle.
+     */
+    private static Puzzle puzzle() {
+        return PuzzleFactory.create(0, Difficulty.MEDIUM, 42L);
+    }
+}
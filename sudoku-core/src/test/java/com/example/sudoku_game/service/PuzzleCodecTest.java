@@ -0,0 +1,114 @@
+package com.example.sudoku_game.service;
+
+import com.example.sudoku_game.model.Board;
+import com.example.sudoku_game.model.Difficulty;
+import com.example.sudoku_game.model.Puzzle;
+import com.example.sudoku_game.model.PuzzleFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests of {@link PuzzleCodec} and of the {@link PuzzleBank} files built on it: every encoded puzzle decodes to
+ * the same cells, directly and through a bank file.
+ */
+class PuzzleCodecTest {
+
+    private static final int PUZZLES = 200; // Puzzles round-tripped per test.
+    private static final long SEED = 11L; // Seed of the puzzles.
+
+    /**
+     * Solutions and clue masks decode to the boards they were encoded from.
+     */
+    @Test
+    void encodeThenDecodeRestoresPuzzle() {
+        Board solution = new Board(PuzzleCodec.BLOCK_ROWS, PuzzleCodec.BLOCK_COLS);
+        Board givens = new Board(PuzzleCodec.BLOCK_ROWS, PuzzleCodec.BLOCK_COLS);
+        for (Difficulty difficulty : Difficulty.values()) {
+            for (int index = 0; index < PUZZLES; index++) {
+                Puzzle puzzle = PuzzleFactory.create(index, difficulty, SEED);
+                long code = PuzzleCodec.encodeSolution(puzzle.getSolution());
+                long clues = PuzzleCodec.encodeClues(puzzle.getGivens());
+                assertNotEquals(0, code);
+                assertEquals(puzzle.getClues(), Long.bitCount(clues));
+
+                PuzzleCodec.decodeSolution(code, solution);
+                PuzzleCodec.decodeGivens(clues, solution, givens);
+                assertArrayEquals(cells(puzzle.getSolution()), cells(solution));
+                assertArrayEquals(cells(puzzle.getGivens()), cells(givens));
+            }
+        }
+    }
+
+    /**
+     * The first and last of the 720 row orderings survive a round trip.
+     */
+    @Test
+    void encodeThenDecodeHandlesExtremeRowRanks() {
+        Board grid = new Board(PuzzleCodec.BLOCK_ROWS, PuzzleCodec.BLOCK_COLS);
+        int[][] rows = {{1, 2, 3, 4, 5, 6}, {6, 5, 4, 3, 2, 1}};
+        for (int row = 0; row < PuzzleCodec.SIZE; row++) {
+            for (int col = 0; col < PuzzleCodec.SIZE; col++) {
+                grid.set(row, col, rows[row % 2][col]);
+            }
+        }
+        Board decoded = new Board(PuzzleCodec.BLOCK_ROWS, PuzzleCodec.BLOCK_COLS);
+        PuzzleCodec.decodeSolution(PuzzleCodec.encodeSolution(grid), decoded);
+        assertArrayEquals(cells(grid), cells(decoded));
+    }
+
+    /**
+     * A row that repeats a digit cannot be encoded.
+     */
+    @Test
+    void encodeRejectsRowThatIsNotPermutation() {
+        Board grid = new Board(PuzzleCodec.BLOCK_ROWS, PuzzleCodec.BLOCK_COLS);
+        grid.copyFrom(PuzzleFactory.create(0, Difficulty.EASY, SEED).getSolution());
+        grid.set(0, 0, grid.get(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> PuzzleCodec.encodeSolution(grid));
+    }
+
+    /**
+     * Puzzles written to a bank file read back with the same cells and clue count.
+     * @param directory The directory of the bank file.
+     * @throws IOException If the bank cannot be written or read.
+     */
+    @Test
+    void bankReadsBackWrittenPuzzles(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("test.bank");
+        try (PuzzleBankWriter writer = new PuzzleBankWriter(file, PUZZLES)) {
+            PuzzleFactory.generate(PUZZLES, Difficulty.HARD, SEED, writer);
+        }
+        try (PuzzleBank bank = new PuzzleBank(file)) {
+            assertEquals(PUZZLES, bank.getCount(Difficulty.HARD));
+            assertEquals(0, bank.getCount(Difficulty.EASY));
+            for (int index = 0; index < PUZZLES; index++) {
+                Puzzle expected = PuzzleFactory.create(index, Difficulty.HARD, SEED);
+                Puzzle actual = bank.get(Difficulty.HARD, index);
+                assertArrayEquals(cells(expected.getSolution()), cells(actual.getSolution()));
+                assertArrayEquals(cells(expected.getGivens()), cells(actual.getGivens()));
+                assertEquals(expected.getClues(), actual.getClues());
+            }
+        }
+    }
+
+    /**
+     * Returns the cells of a board.
+     * @param board The board.
+     * @return The value of every cell, in reading order.
+     */
+    private static int[] cells(Board board) {
+        int[] cells = new int[board.cellCount()];
+        for (int index = 0; index < cells.length; index++) {
+            cells[index] = board.get(index);
+        }
+        return cells;
+    }
+}
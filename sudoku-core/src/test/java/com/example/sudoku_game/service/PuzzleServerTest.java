@@ -0,0 +1,246 @@
+package com.example.sudoku_game.service;
+
+import com.example.sudoku_game.model.Board;
+import com.example.sudoku_game.model.Difficulty;
+import com.example.sudoku_game.model.PuzzleFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link PuzzleServer}, with its {@link SessionCache} and {@link GameSession}s: a whole game played over the
+ * line protocol, pipelined requests, the ERR answers and the eviction of the least recently used games.
+ */
+class PuzzleServerTest {
+
+    private static final int MAX_SESSIONS = 4; // Games kept by the server under test.
+    private static final long SEED = 17L; // Seed of the puzzles asked for.
+    private static final int TIMEOUT_MILLIS = 10_000; // Longest wait for an answer.
+
+    private PuzzleServer server; // Server under test, on a free port.
+    private Socket socket; // Connection of the client.
+    private BufferedReader in; // Answers of the server.
+    private OutputStream out; // Requests of the client.
+
+    /**
+     * Starts the server and connects to it.
+     * @throws IOException If the server cannot be started or reached.
+     */
+    @BeforeEach
+    void start() throws IOException {
+        server = new PuzzleServer(0, MAX_SESSIONS);
+        server.start();
+        socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+        socket.setSoTimeout(TIMEOUT_MILLIS);
+        in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        out = socket.getOutputStream();
+    }
+
+    /**
+     * Disconnects and stops the server.
+     * @throws IOException If the server cannot be stopped.
+     */
+    @AfterEach
+    void stop() throws IOException {
+        socket.close();
+        server.close();
+    }
+
+    /**
+     * A game is started, played with moves and a hint, checked, solved with pipelined moves and ended.
+     * @throws IOException If the server cannot be reached.
+     */
+    @Test
+    void playsWholeGame() throws IOException {
+        Board solution = PuzzleFactory.create(0, 2, 3, Difficulty.EASY, SEED).getSolution();
+        String[] started = request("NEW easy " + SEED).split(" ");
+        assertEquals("OK", started[0]);
+        long id = Long.parseLong(started[1]);
+        String givens = started[2];
+        assertEquals(solution.cellCount(), givens.length());
+
+        int given = firstGiven(givens);
+        int row = given / 6;
+        int empty = givens.indexOf('.', row * 6);
+        assertEquals(row, empty / 6, "no empty cell next to the first given");
+        int col = empty % 6;
+        assertEquals("OK INVALID", request("MOVE " + id + " " + row + " " + col + " " + givens.charAt(given)));
+        assertEquals("OK VALID", request("MOVE " + id + " " + row + " " + col + " " + solution.get(empty)));
+        assertEquals("OK UNSOLVED", request("SOLVED " + id));
+
+        String[] hint = request("HINT " + id).split(" ");
+        assertEquals("OK", hint[0]);
+        int hintRow = Integer.parseInt(hint[1]);
+        int hintCol = Integer.parseInt(hint[2]);
+        assertEquals(solution.get(hintRow, hintCol), Integer.parseInt(hint[3]));
+        assertEquals('.', givens.charAt(hintRow * 6 + hintCol));
+
+        StringBuilder moves = new StringBuilder();
+        int count = 0;
+        for (int index = 0; index < givens.length(); index++) {
+            if (givens.charAt(index) == '.') {
+                moves.append("MOVE ").append(id).append(' ').append(index / 6).append(' ').append(index % 6)
+                        .append(' ').append(solution.get(index)).append('\n');
+                count++;
+            }
+        }
+        send(moves.append("SOLVED ").append(id).append('\n').toString());
+        for (int i = 0; i < count; i++) {
+            assertEquals("OK VALID", in.readLine());
+        }
+        assertEquals("OK SOLVED", in.readLine());
+        assertEquals("OK NONE", request("HINT " + id));
+
+        assertEquals("OK", request("END " + id));
+        assertEquals("ERR No session " + id, request("SOLVED " + id));
+        assertEquals("OK BYE", request("QUIT"));
+        assertNull(in.readLine());
+    }
+
+    /**
+     * Malformed requests and moves the rules forbid are answered with ERR, and the connection stays usable.
+     * @throws IOException If the server cannot be reached.
+     */
+    @Test
+    void answersErrorsAndKeepsServing() throws IOException {
+        String[] started = request("NEW medium " + SEED).split(" ");
+        long id = Long.parseLong(started[1]);
+        int given = firstGiven(started[2]);
+
+        assertEquals("ERR Unknown request JUMP", request("JUMP 1"));
+        assertEquals("ERR Missing session id", request("HINT"));
+        assertTrue(request("MOVE one 0 0 1").startsWith("ERR "));
+        assertEquals("ERR No session 999", request("MOVE 999 0 0 1"));
+        assertEquals("ERR Missing argument 4 of MOVE", request("MOVE " + id + " 0 0"));
+        assertEquals("ERR No cell 6 0", request("MOVE " + id + " 6 0 1"));
+        assertEquals("ERR No cell 0 -1", request("MOVE " + id + " 0 -1 1"));
+        assertEquals("ERR No number 7", request("MOVE " + id + " " + given / 6 + " " + given % 6 + " 7"));
+        assertEquals("ERR Cell " + given / 6 + " " + given % 6 + " is a given",
+                request("MOVE " + id + " " + given / 6 + " " + given % 6 + " 1"));
+        assertEquals("ERR Blocks of 4x4 are not served", request("NEW easy 1 4 4"));
+        assertEquals("OK UNSOLVED", request("SOLVED " + id));
+    }
+
+    /**
+     * A request longer than 256 characters is answered with ERR and the connection is closed.
+     * @throws IOException If the server cannot be reached.
+     */
+    @Test
+    void answersErrorAndClosesOnOverlongRequest() throws IOException {
+        assertEquals("OK UNSOLVED", request("SOLVED " + Long.parseLong(request("NEW").split(" ")[1])));
+        assertEquals("ERR Request longer than 256 characters", request("SOLVED " + "1".repeat(300)));
+        assertNull(in.readLine());
+    }
+
+    /**
+     * Requests sent in one write are answered in order.
+     * @throws IOException If the server cannot be reached.
+     */
+    @Test
+    void answersPipelinedRequestsInOrder() throws IOException {
+        send("NEW easy 1\nNEW hard 2\nSOLVED 1\nSOLVED 2\nSOLVED 3\nEND 1\nSOLVED 1\n");
+        assertTrue(in.readLine().startsWith("OK 1 "));
+        assertTrue(in.readLine().startsWith("OK 2 "));
+        assertEquals("OK UNSOLVED", in.readLine());
+        assertEquals("OK UNSOLVED", in.readLine());
+        assertEquals("ERR No session 3", in.readLine());
+        assertEquals("OK", in.readLine());
+        assertEquals("ERR No session 1", in.readLine());
+    }
+
+    /**
+     * A server of 4 games keeps them in 4 stripes of one game each, and games 1 and 4 fall in the same stripe:
+     * starting game 4 evicts game 1, the least recently used of that stripe, and only it.
+     * @throws IOException If the server cannot be reached.
+     */
+    @Test
+    void evictsLeastRecentlyUsedGameOfStripe() throws IOException {
+        for (int i = 1; i <= 3; i++) {
+            assertTrue(request("NEW easy " + i).startsWith("OK " + i + " "));
+        }
+        assertEquals(0, server.getEvictionCount());
+        assertEquals("OK UNSOLVED", request("SOLVED 1"));
+        assertTrue(request("NEW easy 4").startsWith("OK 4 "));
+        assertEquals(1, server.getEvictionCount());
+        assertEquals("ERR No session 1", request("SOLVED 1"));
+        for (int i = 2; i <= 4; i++) {
+            assertEquals("OK UNSOLVED", request("SOLVED " + i));
+        }
+        assertEquals(3, server.getSessionCount());
+    }
+
+    /**
+     * Once more games are started than the server keeps, the least recently used ones are evicted: they answer
+     * "ERR No session id", the eviction count grows by one for each of them, and the newest game is kept.
+     * @throws IOException If the server cannot be reached.
+     */
+    @Test
+    void evictsLeastRecentlyUsedGames() throws IOException {
+        int games = 4 * MAX_SESSIONS;
+        long[] ids = new long[games];
+        for (int i = 0; i < games; i++) {
+            ids[i] = Long.parseLong(request("NEW easy " + i).split(" ")[1]);
+        }
+        int kept = server.getSessionCount();
+        assertTrue(kept >= 1 && kept <= MAX_SESSIONS, "kept " + kept);
+        assertEquals(games - kept, server.getEvictionCount());
+
+        int answered = 0;
+        for (long id : ids) {
+            String answer = request("SOLVED " + id);
+            if (answer.equals("OK UNSOLVED")) {
+                answered++;
+            } else {
+                assertEquals("ERR No session " + id, answer);
+            }
+        }
+        assertEquals(kept, answered);
+        assertEquals("OK UNSOLVED", request("SOLVED " + ids[games - 1]));
+    }
+
+    /**
+     * Sends one request and reads its answer.
+     * @param line The request, without its line break.
+     * @return The answer, or null if the server closed the connection.
+     * @throws IOException If the server cannot be reached.
+     */
+    private String request(String line) throws IOException {
+        send(line + "\n");
+        return in.readLine();
+    }
+
+    /**
+     * Sends requests in one write.
+     * @param lines The requests, each ending with a line break.
+     * @throws IOException If the server cannot be reached.
+     */
+    private void send(String lines) throws IOException {
+        out.write(lines.getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    /**
+     * Returns the first given of a board sent by the server.
+     * @param givens The cells, row by row, '.' for an empty cell.
+     * @return The index of the first cell that holds a number.
+     */
+    private static int firstGiven(String givens) {
+        int index = 0;
+        while (givens.charAt(index) == '.') {
+            index++;
+        }
+        return index;
+    }
+}
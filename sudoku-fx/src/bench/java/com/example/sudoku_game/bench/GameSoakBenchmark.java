@@ -0,0 +1,147 @@
+package com.example.sudoku_game.bench;
+
+import com.example.sudoku_game.controller.SudokuController;
+import com.example.sudoku_game.model.Board;
+import com.example.sudoku_game.model.Difficulty;
+import com.example.sudoku_game.model.Puzzle;
+import com.example.sudoku_game.model.PuzzleFactory;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.GridPane;
+
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Plays many simulated games through the real view and controller and reports, per window of games,
+ * the heap in use after a GC, the average cost of a keystroke and the longest inline style of a cell.
+ * All three must stay flat: listeners are attached once and cell states do not grow inline styles.
+ * The soak fails if, in the last window, the heap or the keystroke cost is more than a set ratio above the first
+ * window, or any cell has a longer inline style than in the first window.
+ * The keystroke cost includes queuing each move to the game journal, which saves into a temporary directory.
+ * Runs on the Monocle headless platform, so it needs no display; -Dsoak.display=true uses the real one.
+ * Run with: mvn install -pl sudoku-core -am && mvn -Pbench -pl sudoku-fx test-compile exec:java -Dbench.main=com.example.sudoku_game.bench.GameSoakBenchmark
+ */
+public class GameSoakBenchmark {
+
+    private static final int GAMES = 10_000; // Simulated games.
+    private static final int WINDOW = 1_000; // Games per reported line.
+    private static final long SEED = 7L; // Seed of the played puzzles.
+    private static final double MAX_HEAP_RATIO = 1.5; // Largest growth of the heap from the first to the last window.
+    private static final double MAX_KEYSTROKE_RATIO = 2.0; // Largest growth of the keystroke cost, likewise.
+
+    /**
+     * Runs the soak on the JavaFX Application Thread.
+     * @param args Unused.
+     * @throws Exception If the view cannot be loaded.
+     */
+    public static void main(String[] args) throws Exception {
+        System.setProperty("sudoku.save", Files.createTempDirectory("sudoku-soak").toString());
+        if (!Boolean.getBoolean("soak.display")) {
+            System.setProperty("glass.platform", "Monocle");
+            System.setProperty("monocle.platform", "Headless");
+            System.setProperty("prism.order", "sw");
+        }
+        Platform.startup(() -> { });
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                soak();
+                done.complete(null);
+            } catch (Throwable e) {
+                done.completeExceptionally(e);
+            }
+        });
+        try {
+            done.get();
+        } finally {
+            Platform.exit();
+        }
+    }
+
+    /**
+     * Loads the view and plays every game, leaving one cell empty so no win dialog opens.
+     * @throws Exception If the view cannot be loaded.
+     * @throws IllegalStateException If the heap, the keystroke cost or the inline styles grew too much.
+     */
+    private static void soak() throws Exception {
+        FXMLLoader loader = new FXMLLoader(GameSoakBenchmark.class.getResource("/com/example/sudoku_game/sudoku_view.fxml"));
+        Parent root = loader.load();
+        SudokuController controller = loader.getController();
+        new Scene(root);
+
+        int size = Board.DEFAULT_BLOCK_ROWS * Board.DEFAULT_BLOCK_COLS;
+        TextField[][] cells = new TextField[size][size];
+        for (Node node : root.lookupAll(".sudoku-cell")) {
+            cells[GridPane.getRowIndex(node)][GridPane.getColumnIndex(node)] = (TextField) node;
+        }
+
+        long keystrokes = 0;
+        long keystrokeNanos = 0;
+        long[] first = null; // Heap, keystroke cost and longest style of the first window.
+        long[] last = null; // The same for the last window.
+        System.out.println("games    heap(MB)  ns/keystroke  max style length");
+        for (int game = 1; game <= GAMES; game++) {
+            Puzzle puzzle = PuzzleFactory.create(game, Difficulty.MEDIUM, SEED);
+            controller.startGame(puzzle);
+            Board solution = puzzle.getSolution();
+
+            int left = solution.cellCount() - puzzle.getClues();
+            for (int index = 0; index < solution.cellCount() && left > 1; index++) {
+                if (puzzle.getGivens().get(index) != 0) {
+                    continue;
+                }
+                TextField cell = cells[solution.rowOf(index)][solution.colOf(index)];
+                int value = solution.get(index);
+                long start = System.nanoTime();
+                cell.setText(String.valueOf(value % size + 1));  // A wrong number first
+                cell.setText(String.valueOf(value));  // Then the right one
+                keystrokeNanos += System.nanoTime() - start;
+                keystrokes += 2;
+                left--;
+            }
+
+            if (game % WINDOW == 0) {
+                int maxStyle = 0;
+                for (TextField[] row : cells) {
+                    for (TextField cell : row) {
+                        maxStyle = Math.max(maxStyle, cell.getStyle().length());
+                    }
+                }
+                System.gc();
+                Runtime runtime = Runtime.getRuntime();
+                long usedMb = (runtime.totalMemory() - runtime.freeMemory()) >> 20;
+                System.out.printf("%-8d %-9d %-13d %d%n", game, usedMb, keystrokeNanos / keystrokes, maxStyle);
+                last = new long[] {usedMb, keystrokeNanos / keystrokes, maxStyle};
+                if (first == null) {
+                    first = last;
+                }
+                keystrokes = 0;
+                keystrokeNanos = 0;
+            }
+        }
+        check("heap after GC (MB)", first[0], last[0], MAX_HEAP_RATIO);
+        check("ns per keystroke", first[1], last[1], MAX_KEYSTROKE_RATIO);
+        check("longest inline style", first[2], last[2], 1.0);
+        System.out.println("PASS: heap, keystroke cost and inline styles stayed flat");
+    }
+
+    /**
+     * Fails if a measure of the last window exceeds its first window value by more than a ratio.
+     * @param measure The name of the measure, for the report.
+     * @param first The value in the first window.
+     * @param last The value in the last window.
+     * @param maxRatio The largest allowed ratio of the last value to the first.
+     * @throws IllegalStateException If the measure grew too much.
+     */
+    private static void check(String measure, long first, long last, double maxRatio) {
+        if (last > first * maxRatio) {
+            throw new IllegalStateException("FAIL: " + measure + " grew from " + first + " to " + last
+                    + ", more than " + maxRatio + "x");
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.sudoku_game.bench;
+
+import com.example.sudoku_game.controller.SudokuController;
+import com.example.sudoku_game.model.Difficulty;
+import com.example.sudoku_game.model.PuzzleFactory;
+import com.example.sudoku_game.view.alert.ToastAlertBox;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Alert.AlertType;
+import javafx.scene.control.TextField;
+import javafx.stage.Stage;
+
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Floods the game with invalid input, as pasted or scripted text would, and measures the cost of each keystroke
+ * including its error feedback. Each keystroke used to open a modal dialog and wait for it to be closed; with the
+ * toast the whole flood must run without blocking, at a flat cost per keystroke. The toast is also measured alone,
+ * with equal alerts that are merged and with alternating alerts that are not.
+ * Needs a display (or the Monocle headless platform).
+ * Run with: mvn install -pl sudoku-core -am && mvn -Pbench -pl sudoku-fx test-compile exec:java -Dbench.main=com.example.sudoku_game.bench.InputFloodBenchmark
+ */
+public class InputFloodBenchmark {
+
+    private static final int KEYSTROKES = 100_000; // Invalid keystrokes per measurement.
+    private static final int ALERTS = 100_000; // Alerts per toast measurement.
+
+    /**
+     * Runs the benchmark on the JavaFX Application Thread.
+     * @param args Unused.
+     * @throws Exception If the view cannot be loaded.
+     */
+    public static void main(String[] args) throws Exception {
+        System.setProperty("sudoku.save", Files.createTempDirectory("sudoku-flood").toString());
+        Platform.startup(() -> { });
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                flood();
+                done.complete(null);
+            } catch (Throwable e) {
+                done.completeExceptionally(e);
+            }
+        });
+        try {
+            done.get();
+        } finally {
+            Platform.exit();
+        }
+    }
+
+    /**
+     * Shows the game in a window, types invalid text into an empty cell over and over, then measures the toast.
+     * @throws Exception If the view cannot be loaded.
+     */
+    private static void flood() throws Exception {
+        FXMLLoader loader = new FXMLLoader(InputFloodBenchmark.class.getResource("/com/example/sudoku_game/sudoku_view.fxml"));
+        Parent root = loader.load();
+        SudokuController controller = loader.getController();
+        Stage stage = new Stage();
+        stage.setScene(new Scene(root));
+        stage.show();
+        controller.startGame(PuzzleFactory.create(0, Difficulty.MEDIUM, 3L));
+
+        TextField empty = null;
+        for (Node node : root.lookupAll(".sudoku-cell")) {
+            if (((TextField) node).getText().isEmpty()) {
+                empty = (TextField) node;
+                break;
+            }
+        }
+        if (empty == null) {
+            throw new IllegalStateException("The puzzle has no empty cell");
+        }
+
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < KEYSTROKES; i++) {
+                empty.setText("x");  // Rejected, cleared and reported by the listener
+            }
+            report("invalid keystroke", System.nanoTime() - start, KEYSTROKES);
+        }
+
+        ToastAlertBox toast = new ToastAlertBox(empty.getParent());
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < ALERTS; i++) {
+                toast.showAlert("Validaciones", "¡Error!", "Debes ingresar un numero valido [1-6]", AlertType.ERROR);
+            }
+            report("equal alerts", System.nanoTime() - start, ALERTS);
+
+            start = System.nanoTime();
+            for (int i = 0; i < ALERTS; i++) {
+                toast.showAlert("Validaciones", "¡Error!", i % 2 == 0 ? "Uno" : "Dos", AlertType.ERROR);
+            }
+            report("alternating alerts", System.nanoTime() - start, ALERTS);
+        }
+        toast.hide();
+        controller.close();
+        stage.close();
+    }
+
+    /**
+     * Prints the time per call.
+     * @param what What was measured.
+     * @param nanos The time of all the calls.
+     * @param calls The number of calls.
+     */
+    private static void report(String what, long nanos, int calls) {
+        System.out.printf("%-20s %8.1f us/call%n", what, nanos / 1e3 / calls);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.sudoku_game.bench;
+
+import com.example.sudoku_game.model.Board;
+import com.example.sudoku_game.model.Difficulty;
+import com.example.sudoku_game.model.PencilMarks;
+import com.example.sudoku_game.model.Puzzle;
+import com.example.sudoku_game.model.PuzzleFactory;
+import com.example.sudoku_game.view.PencilMarkView;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.ColumnConstraints;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.RowConstraints;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Measures how long the pencil mark overlay takes to repaint, CSS and layout pass included, on the 6x6 and 9x9
+ * boards: a full redraw of every cell's candidates, and the repaint of only the peers that lose a mark when a
+ * number is placed. Both must stay well under a 60 Hz frame (16.7 ms).
+ * Needs a display (or the Monocle headless platform).
+ * Run with: mvn install -pl sudoku-core -am && mvn -Pbench -pl sudoku-fx test-compile exec:java -Dbench.main=com.example.sudoku_game.bench.PencilMarkBenchmark
+ */
+public class PencilMarkBenchmark {
+
+    private static final int ROUNDS = 2_000; // Redraws per measurement.
+    private static final long SEED = 11L; // Seed of the puzzles.
+
+    /**
+     * Runs the benchmark on the JavaFX Application Thread.
+     * @param args Unused.
+     * @throws Exception If a measurement fails.
+     */
+    public static void main(String[] args) throws Exception {
+        Platform.startup(() -> { });
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                measure(2, 3);
+                measure(3, 3);
+                done.complete(null);
+            } catch (Throwable e) {
+                done.completeExceptionally(e);
+            }
+        });
+        try {
+            done.get();
+        } finally {
+            Platform.exit();
+        }
+    }
+
+    /**
+     * Builds a grid of cells with its overlay and times both kinds of repaint.
+     * @param blockRows The number of rows in each block.
+     * @param blockCols The number of columns in each block.
+     */
+    private static void measure(int blockRows, int blockCols) {
+        int size = blockRows * blockCols;
+        GridPane grid = new GridPane();
+        for (int i = 0; i < size; i++) {
+            ColumnConstraints column = new ColumnConstraints();
+            column.setPercentWidth(100.0 / size);
+            grid.getColumnConstraints().add(column);
+            RowConstraints row = new RowConstraints();
+            row.setPercentHeight(100.0 / size);
+            grid.getRowConstraints().add(row);
+        }
+        for (int index = 0; index < size * size; index++) {
+            TextField cell = new TextField();
+            cell.getStyleClass().add("sudoku-cell");
+            grid.add(cell, index % size, index / size);
+        }
+        PencilMarkView view = new PencilMarkView(grid, blockRows, blockCols);
+        Scene scene = new Scene(grid, 522, 522);
+        scene.getStylesheets().add(PencilMarkBenchmark.class
+                .getResource("/com/example/sudoku_game/sudoku.css").toExternalForm());
+
+        Puzzle puzzle = PuzzleFactory.create(0, blockRows, blockCols, Difficulty.HARD, SEED);
+        Board board = new Board(puzzle.getGivens());
+        PencilMarks marks = new PencilMarks(board);
+        int[] changed = new int[marks.maxChanged()];
+
+        // Full redraw, alternating between no marks and every candidate so each round changes every label
+        for (int round = 0; round < 2; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                if (i % 2 == 0) {
+                    marks.fillCandidates();
+                } else {
+                    marks.clearAll();
+                }
+                for (int index = 0; index < board.cellCount(); index++) {
+                    view.show(index, board.get(index) == 0 ? marks.get(index) : 0);
+                }
+                grid.applyCss();
+                grid.layout();
+            }
+            report(size, "full redraw", System.nanoTime() - start);
+        }
+
+        // Placing the solution number of an empty cell and taking it back, repainting only what changed
+        for (int round = 0; round < 2; round++) {
+            long start = System.nanoTime();
+            int placed = 0;
+            for (int i = 0; i < ROUNDS; i++) {
+                int index = board.getEmptyCell(i % board.getEmptyCount());
+                marks.fillCandidates();
+                board.set(index, puzzle.getSolution().get(index));
+                int count = marks.eliminate(index, board.get(index), changed);
+                for (int c = 0; c < count; c++) {
+                    view.show(changed[c], marks.get(changed[c]));
+                }
+                view.show(index, 0);
+                grid.applyCss();
+                grid.layout();
+                board.set(index, 0);
+                placed += count;
+            }
+            report(size, "place (" + placed / ROUNDS + " peers)", System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Prints the time per redraw.
+     * @param size The size of the board.
+     * @param what The kind of redraw.
+     * @param nanos The time of all the rounds.
+     */
+    private static void report(int size, String what, long nanos) {
+        System.out.printf("%dx%d %-20s %8.1f us/redraw%n", size, size, what, nanos / 1e3 / ROUNDS);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.sudoku_game.bench;
+
+import com.example.sudoku_game.Main;
+import com.example.sudoku_game.view.SudokuView;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures the time to the first frame of the game, from spawning the JVM of the fast-startup image to the line the
+ * game prints once its first frame is drawn, over fresh processes so nothing is warm but the disk cache.
+ * Four launches are compared, from the way the game used to start to the fast-startup one: the FXML view without
+ * any class-data sharing (as in the image of javafx:jlink), the FXML view with the JDK's archive, the view built
+ * in code with the JDK's archive, and the view built in code with the game's AppCDS archive (bin/sudoku).
+ * The launches take turns in every round, so a slow moment of the machine hits them all.
+ * Needs a display and the image built by: mvn -Pcds -pl sudoku-fx package (the build only trains the archive when
+ * DISPLAY is set; otherwise one launch of its bin/sudoku writes it). Without a display it runs on Monocle, given an
+ * image whose javafx.graphics holds the openjfx-monocle classes and, in JDK_JAVA_OPTIONS, the options
+ * -Dglass.platform=Monocle -Dmonocle.platform=Headless -Dprism.order=sw, which every launch picks up.
+ * Run with: mvn install -pl sudoku-core -am && mvn -Pcds -pl sudoku-fx package && mvn -Pbench -pl sudoku-fx test-compile exec:java -Dbench.main=com.example.sudoku_game.bench.StartupBenchmark [-Dexec.args=<image>]
+ */
+public class StartupBenchmark {
+
+    private static final int ROUNDS = 15; // Measured launches of each kind.
+    private static final int WARMUP_ROUNDS = 2; // Launches of each kind first, to fill the disk cache.
+    private static final String MODULE_MAIN = "com.example.sudoku_game/com.example.sudoku_game.Main"; // Started.
+
+    /**
+     * Launches the image in every way, round after round, and prints the median and best times of each.
+     * @param args The image directory, by default sudoku-fx/target/sudoku-image or target/sudoku-image.
+     * @throws Exception If a launch fails.
+     */
+    public static void main(String[] args) throws Exception {
+        Path image = args.length > 0 ? Path.of(args[0]) : Path.of("sudoku-fx/target/sudoku-image");
+        if (args.length == 0 && !Files.isDirectory(image)) {
+            image = Path.of("target/sudoku-image");
+        }
+        Path java = image.resolve("bin/java");
+        Path archive = image.resolve("lib/sudoku.jsa");
+        if (!Files.isExecutable(java) || !Files.isRegularFile(archive)) {
+            throw new IllegalStateException("No trained image at " + image.toAbsolutePath()
+                    + "; build it on a display with: mvn -Pcds -pl sudoku-fx package, or launch its bin/sudoku once");
+        }
+        String save = Files.createTempDirectory("sudoku-startup").toString();
+        String[][] launches = {
+                {"fxml, no CDS", "-Xshare:off", view("fxml")},
+                {"fxml, JDK CDS", "-Xshare:auto", view("fxml")},
+                {"code, JDK CDS", "-Xshare:auto", view("code")},
+                {"code, AppCDS", "-XX:SharedArchiveFile=" + archive, view("code")},
+        };
+
+        long[][] wallNanos = new long[launches.length][ROUNDS];
+        long[][] frameMillis = new long[launches.length][ROUNDS];
+        for (int round = -WARMUP_ROUNDS; round < ROUNDS; round++) {
+            for (int i = 0; i < launches.length; i++) {
+                List<String> command = new ArrayList<>();
+                command.add(java.toString());
+                command.addAll(Arrays.asList(launches[i]).subList(1, launches[i].length));
+                command.add("-D" + Main.STARTUP_EXIT_PROPERTY + "=true");
+                command.add("-Dsudoku.save=" + save);
+                command.add("-m");
+                command.add(MODULE_MAIN);
+                long[] times = launch(command);
+                if (round >= 0) {
+                    wallNanos[i][round] = times[0];
+                    frameMillis[i][round] = times[1];
+                }
+            }
+        }
+
+        System.out.printf("%-16s %14s %14s %18s%n", "launch", "median ms", "best ms", "in-process ms");
+        for (int i = 0; i < launches.length; i++) {
+            Arrays.sort(wallNanos[i]);
+            Arrays.sort(frameMillis[i]);
+            System.out.printf("%-16s %14.1f %14.1f %18d%n", launches[i][0], wallNanos[i][ROUNDS / 2] / 1e6,
+                    wallNanos[i][0] / 1e6, frameMillis[i][ROUNDS / 2]);
+        }
+        System.out.printf("first frame %.2fx sooner (median, %s against %s)%n",
+                (double) wallNanos[0][ROUNDS / 2] / wallNanos[launches.length - 1][ROUNDS / 2],
+                launches[launches.length - 1][0], launches[0][0]);
+    }
+
+    /**
+     * Returns the JVM option that picks a view.
+     * @param view The view, "code" or "fxml".
+     * @return The option.
+     */
+    private static String view(String view) {
+        return "-D" + SudokuView.VIEW_PROPERTY + "=" + view;
+    }
+
+    /**
+     * Starts the game and waits for it to draw its first frame and exit.
+     * @param command The command line.
+     * @return The nanoseconds from spawning the game to its first frame line, and the time to the first frame the game
+     *         measured itself, in milliseconds since its JVM started.
+     * @throws IOException If the game cannot be started or exits without a first frame.
+     * @throws InterruptedException If interrupted while waiting for the game to exit.
+     */
+    private static long[] launch(List<String> command) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        long wall = -1;
+        long frame = -1;
+        StringBuilder output = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(Main.FIRST_FRAME_LINE + " ")) {
+                    wall = System.nanoTime() - start;
+                    frame = Long.parseLong(line.substring(Main.FIRST_FRAME_LINE.length() + 1).trim());
+                } else {
+                    output.append(line).append('\n');
+                }
+            }
+        }
+        if (process.waitFor() != 0 || frame < 0) {
+            throw new IOException("The game did not reach its first frame: " + command + "\n" + output);
+        }
+        return new long[] {wall, frame};
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.sudoku_game;
+
+import com.example.sudoku_game.view.SudokuView;
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+/**
+ * @author Laura Celeste Berrio Parra - 2322101
+ * The main class of the Sudoku game application.
+ * This class extends the JavaFX Application class to launch the application.
+ */
+public class Main extends Application {
+
+    // System property that makes the game quit once its first frame is on screen, for the startup benchmark and the
+    // training run of the class-data sharing archive
+    public static final String STARTUP_EXIT_PROPERTY = "sudoku.startup.exit";
+
+    public static final String FIRST_FRAME_LINE = "first-frame-ms";  // Printed with the time to the first frame
+
+    /**
+     * The main entry point of the application.
+     *
+     * @param args Command line arguments passed to the application.
+     */
+    public static void main(String[] args) {
+        launch(args); // Launches the JavaFX application
+    }
+
+    /**
+     * The start method is called after the application is launched.
+     * It initializes the main stage of the application.
+     *
+     * @param primaryStage The primary stage for this application, onto which the application scene can be set.
+     * @throws IOException If an error occurs while loading the Sudoku view.
+     */
+    @Override
+    public void start(Stage primaryStage) throws IOException {
+        SudokuView view = SudokuView.getInstance(); // Initializes the Sudoku view
+        if (Boolean.getBoolean(STARTUP_EXIT_PROPERTY)) {
+            exitAfterFirstFrame(view);
+        }
+    }
+
+    /**
+     * Prints the time from the start of the JVM to the first frame of the game, then closes the game.
+     * A pulse lays out and renders the scene after running the animation timers, so the second pulse proves the
+     * first frame was drawn. The start of the JVM is taken from its runtime bean, to the millisecond; the start time
+     * of the process, as the system reports it, can be off by up to a second.
+     *
+     * @param view The window of the game.
+     */
+    private static void exitAfterFirstFrame(SudokuView view) {
+        new AnimationTimer() {
+            private int pulses;  // Pulses seen so far
+
+            @Override
+            public void handle(long now) {
+                if (++pulses == 2) {
+                    stop();
+                    long jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+                    System.out.println(FIRST_FRAME_LINE + " " + (System.currentTimeMillis() - jvmStart));
+                    view.close();  // Saves the game like a player closing the window
+                    Platform.exit();
+                }
+            }
+        }.start();
+    }
+}
@@ -0,0 +1,894 @@
+package com.example.sudoku_game.controller;
+
+import com.example.sudoku_game.metrics.Counter;
+import com.example.sudoku_game.metrics.HintEvent;
+import com.example.sudoku_game.metrics.Histogram;
+import com.example.sudoku_game.metrics.Metrics;
+import com.example.sudoku_game.metrics.ValidationEvent;
+import com.example.sudoku_game.model.Board;
+import com.example.sudoku_game.model.Difficulty;
+import com.example.sudoku_game.model.Hint;
+import com.example.sudoku_game.model.MoveHistory;
+import com.example.sudoku_game.model.PencilMarks;
+import com.example.sudoku_game.model.Puzzle;
+import com.example.sudoku_game.model.Sudoku;
+import com.example.sudoku_game.service.GameJournal;
+import com.example.sudoku_game.service.GameState;
+import com.example.sudoku_game.service.PuzzleBank;
+import com.example.sudoku_game.service.PuzzleService;
+import com.example.sudoku_game.view.PencilMarkView;
+import com.example.sudoku_game.view.StallMonitor;
+import com.example.sudoku_game.view.alert.AlertBox;
+import com.example.sudoku_game.view.alert.ToastAlertBox;
+import javafx.application.Platform;
+import javafx.css.PseudoClass;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
+import javafx.geometry.Pos;
+import javafx.scene.Cursor;
+import javafx.scene.control.*;
+import javafx.scene.control.Alert.AlertType;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.ColumnConstraints;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.RowConstraints;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * @author Laura Celeste Berrio Parra - 2322101
+ * The SudokuController class manages the user interaction,
+ * the game logic, and updates the view for the Sudoku game.
+ */
+public class SudokuController {
+    @FXML
+    public Button instructionsButton; //Button that shows game instructions
+    @FXML
+    public Pane infoColors; //Pane of labels with colors information
+
+    @FXML
+    private GridPane sudokuGrid;  // The grid that displays the Sudoku board
+
+    @FXML
+    private Button helpButton;  // Button to provide hints to the user
+
+    @FXML
+    private Button undoButton;  // Button to take back the last move
+
+    @FXML
+    private Button redoButton;  // Button to play again the last move taken back
+
+    @FXML
+    private ToggleButton pencilButton;  // While selected, typing a number toggles a pencil mark instead
+
+    @FXML
+    private Button marksButton;  // Button to mark every empty cell with its candidates
+
+    private Sudoku sudoku;  // The model representing the Sudoku board
+
+    private TextField[][] cells;  // TextFields representing the Sudoku cells, indexed by row and column
+
+    private int[] cellStates;  // Value, shown number and hint flag of each cell, packed by MoveHistory
+
+    private final MoveHistory history = new MoveHistory();  // Moves of the current game, for undo and redo
+
+    private PencilMarks pencilMarks;  // Candidates noted in each cell of the current game
+
+    private PencilMarkView pencilMarkView;  // Labels that draw the pencil marks over the cells
+
+    private int[] changedMarks;  // Cells whose marks were changed by the last placed number
+
+    private ToastAlertBox toast;  // Shows input errors over the grid without stopping the game
+
+    // Shortcut+Z undoes, Shortcut+Y or Shortcut+Shift+Z redoes (Shortcut is Ctrl, or Cmd on macOS)
+    private static final KeyCombination UNDO_KEYS = new KeyCodeCombination(KeyCode.Z, KeyCombination.SHORTCUT_DOWN);
+
+    private static final KeyCombination REDO_KEYS = new KeyCodeCombination(KeyCode.Y, KeyCombination.SHORTCUT_DOWN);
+
+    private static final KeyCombination REDO_SHIFT_KEYS = new KeyCodeCombination(KeyCode.Z, KeyCombination.SHORTCUT_DOWN,
+            KeyCombination.SHIFT_DOWN);
+
+    private int sudokuSize;  // The size of the Sudoku board (6 for 6x6)
+
+    private static final int BLOCK_ROWS = Board.DEFAULT_BLOCK_ROWS;  // Rows per block (2 for the 6x6 game)
+
+    private static final int BLOCK_COLS = Board.DEFAULT_BLOCK_COLS;  // Columns per block (3 for the 6x6 game)
+
+    private boolean firstGame = true;  // Flag to track if it's the first game session
+
+    private boolean updatingGrid = false;  // Set while the controller itself writes to the cells
+
+    private static final String CELL_STYLE_CLASS = "sudoku-cell";  // Style class of every cell (see sudoku.css)
+
+    private static final String BLOCK_RIGHT_STYLE_CLASS = "block-right";  // Cell on the right edge of a block
+
+    private static final String BLOCK_BOTTOM_STYLE_CLASS = "block-bottom";  // Cell on the bottom edge of a block
+
+    private static final PseudoClass GIVEN = PseudoClass.getPseudoClass("given");  // Cell revealed by the puzzle
+
+    private static final PseudoClass HINT = PseudoClass.getPseudoClass("hint");  // Cell filled by the help button
+
+    private static final PseudoClass INVALID = PseudoClass.getPseudoClass("invalid");  // Cell with a repeated number
+
+    private final Random random = new Random();  // Random number generator for the puzzle seeds
+
+    private static final Difficulty DIFFICULTY = Difficulty.MEDIUM;  // Difficulty of every new game
+
+    private static final int PREFETCHED_PUZZLES = 4;  // Puzzles generated ahead of time per difficulty
+
+    private static final long PLAY_TIMEOUT_SECONDS = 10;  // Longest wait for a puzzle after "Play" is pressed
+
+    private static final String BANK_PROPERTY = "sudoku.bank";  // System property naming the puzzle bank file
+
+    private static final String DEFAULT_BANK = "puzzles.bank";  // Puzzle bank file looked for in the working directory
+
+    private final PuzzleBank puzzleBank = openPuzzleBank();  // Pre-generated puzzles, or null if there is no bank
+
+    // Generates puzzles in the background so "Play" does not wait for the generator; only needed without a bank
+    private final PuzzleService puzzleService = puzzleBank != null ? null
+            : new PuzzleService(BLOCK_ROWS, BLOCK_COLS, PREFETCHED_PUZZLES, random.nextLong());
+
+    private static final String SAVE_PROPERTY = "sudoku.save";  // System property naming the save directory
+
+    private static final String DEFAULT_SAVE = ".sudoku_game";  // Save directory looked for in the user's home
+
+    // Saves every move in the background so closing the window does not lose the game
+    private final GameJournal journal = new GameJournal(saveDirectory());
+
+    private static final String METRICS_FILE = "metrics.txt";  // Metrics dump written in the save directory on close
+
+    private static final Histogram VALIDATION_TIME = Metrics.histogram("validation.nanos");  // Time per keystroke
+
+    private static final Histogram HINT_TIME = Metrics.histogram("hint.nanos");  // Time per hint given
+
+    private static final Counter HINT_REQUESTS = Metrics.counter("hint.requests");  // Presses of the help button
+
+    // Reports the moments the JavaFX Application Thread is too busy to answer
+    private final StallMonitor stallMonitor = new StallMonitor(StallMonitor.DEFAULT_THRESHOLD_MILLIS);
+
+    /**
+     * Connects the controller to a view built in code, as the FXMLLoader does for sudoku_view.fxml: injects the
+     * nodes, attaches the button handlers and initializes the controller.
+     * @param sudokuGrid The grid that displays the board.
+     * @param instructionsButton The button that shows the game instructions.
+     * @param playButton The button that starts a new game.
+     * @param helpButton The button that gives a hint.
+     * @param undoButton The button that takes back the last move.
+     * @param redoButton The button that plays again the last move taken back.
+     * @param pencilButton The toggle that switches typing to pencil marks.
+     * @param marksButton The button that marks every empty cell with its candidates.
+     * @param infoColors The pane that explains the colors of the cells.
+     */
+    public void bind(GridPane sudokuGrid, Button instructionsButton, Button playButton, Button helpButton,
+                     Button undoButton, Button redoButton, ToggleButton pencilButton, Button marksButton,
+                     Pane infoColors) {
+        this.sudokuGrid = sudokuGrid;
+        this.instructionsButton = instructionsButton;
+        this.helpButton = helpButton;
+        this.undoButton = undoButton;
+        this.redoButton = redoButton;
+        this.pencilButton = pencilButton;
+        this.marksButton = marksButton;
+        this.infoColors = infoColors;
+        instructionsButton.setOnAction(this::onHandleInstructionsButton);
+        playButton.setOnAction(event -> {
+            try {
+                onHandlePlayButton(event);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);  // The FXMLLoader wraps it the same way
+            }
+        });
+        helpButton.setOnAction(event -> {
+            try {
+                onHandleHelpButton(event);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        undoButton.setOnAction(this::onHandleUndoButton);
+        redoButton.setOnAction(this::onHandleRedoButton);
+        marksButton.setOnAction(this::onHandleMarksButton);
+        initialize();
+    }
+
+    /**
+     * Called by the FXMLLoader once the view is loaded.
+     * Builds the grid of TextFields for the board size, indexes them by row and column and attaches
+     * their input listeners, once for the life of the view, so every game can reuse them.
+     */
+    @FXML
+    public void initialize() {
+        sudokuSize = BLOCK_ROWS * BLOCK_COLS;
+        cells = new TextField[sudokuSize][sudokuSize];
+        cellStates = new int[sudokuSize * sudokuSize];
+
+        // Every row and column takes an equal share of the grid
+        for (int i = 0; i < sudokuSize; i++) {
+            ColumnConstraints column = new ColumnConstraints();
+            column.setPercentWidth(100.0 / sudokuSize);
+            sudokuGrid.getColumnConstraints().add(column);
+            RowConstraints row = new RowConstraints();
+            row.setPercentHeight(100.0 / sudokuSize);
+            sudokuGrid.getRowConstraints().add(row);
+        }
+
+        for (int row = 0; row < sudokuSize; row++) {
+            for (int col = 0; col < sudokuSize; col++) {
+                TextField cell = createCell(row, col);
+                cells[row][col] = cell;
+                sudokuGrid.add(cell, col, row);
+                addTextFieldListener(cell, row, col);  // Add listener for cell input validation
+                addPencilMarkFilter(cell, row, col);
+            }
+        }
+        pencilMarkView = new PencilMarkView(sudokuGrid, BLOCK_ROWS, BLOCK_COLS);  // Drawn over the cells
+        toast = new ToastAlertBox(sudokuGrid);
+
+        // Filter the shortcuts before the focused cell handles them as an undo of its own text
+        sudokuGrid.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
+            if (UNDO_KEYS.match(event)) {
+                undo();
+                event.consume();
+            } else if (REDO_KEYS.match(event) || REDO_SHIFT_KEYS.match(event)) {
+                redo();
+                event.consume();
+            }
+        });
+
+        resumeSavedGame();
+        stallMonitor.start();
+    }
+
+    /**
+     * Resumes the game saved when the window was last closed, unless it was already solved.
+     */
+    private void resumeSavedGame() {
+        try {
+            GameState saved = GameJournal.load(saveDirectory());
+            if (saved != null && saved.getGivens().blockRows() == BLOCK_ROWS
+                    && saved.getGivens().blockCols() == BLOCK_COLS && !saved.getBoard().isSolved()) {
+                firstGame = false;
+                showGame(saved);
+            }
+        } catch (IOException e) {
+            System.err.println("Ignoring saved game: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Saves the game and stops saving, stops the puzzle generator, closes the puzzle bank and writes the metrics
+     * if they are enabled. Called when the window is closed.
+     */
+    public void close() {
+        stallMonitor.stop();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            System.err.println("Could not save the game: " + e.getMessage());
+        }
+        if (puzzleService != null) {
+            puzzleService.close();
+        }
+        if (puzzleBank != null) {
+            try {
+                puzzleBank.close();
+            } catch (IOException e) {
+                System.err.println("Could not close the puzzle bank: " + e.getMessage());
+            }
+        }
+        if (Metrics.ENABLED) {
+            try {
+                Metrics.dump(metricsFile());
+            } catch (IOException e) {
+                System.err.println("Could not write the metrics: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Creates the TextField of one cell, with thick borders on the edges of its block.
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return The new cell.
+     */
+    private TextField createCell(int row, int col) {
+        TextField cell = new TextField();
+        cell.setAlignment(Pos.CENTER);
+        cell.setEditable(false);
+        cell.setCursor(Cursor.MOVE);
+        cell.setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+        cell.getStyleClass().add(CELL_STYLE_CLASS);
+        if ((col + 1) % BLOCK_COLS == 0 && col < sudokuSize - 1) {
+            cell.getStyleClass().add(BLOCK_RIGHT_STYLE_CLASS);
+        }
+        if ((row + 1) % BLOCK_ROWS == 0 && row < sudokuSize - 1) {
+            cell.getStyleClass().add(BLOCK_BOTTOM_STYLE_CLASS);
+        }
+        return cell;
+    }
+
+    /**
+     * Event handler for the "Play" button. Starts a new game and initializes the board.
+     * @param event The event triggered by clicking the "Play" button.
+     * @throws IOException If an input/output error occurs during game initialization.
+     */
+    @FXML
+    void onHandlePlayButton(ActionEvent event) throws IOException {
+        // Start a new game if it's the first time or if confirmed by the user
+        if(firstGame || confirmNewGame()) {
+            firstGame = false;
+            if (puzzleBank != null) {
+                // A bank lookup is a constant-time read of the mapped file, cheap enough for the FX thread
+                startGame(puzzleBank.random(DIFFICULTY, random));
+            } else {
+                // Take a ready puzzle off the FX thread and start the game back on it
+                puzzleService.takeAsync(DIFFICULTY)
+                        .orTimeout(PLAY_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                        .whenComplete((puzzle, error) -> Platform.runLater(() -> {
+                            if (error == null) {
+                                startGame(puzzle);
+                            } else {
+                                puzzleFailed(error);
+                            }
+                        }));
+            }
+        }
+    }
+
+    /**
+     * Tells the player that no new game could be started, and keeps the current one, if any.
+     * @param error The reason the puzzle did not come.
+     */
+    private void puzzleFailed(Throwable error) {
+        System.err.println("Could not start a new game: " + error);
+        firstGame = sudoku == null;  // With no game on the board, the next "Play" need not be confirmed
+        toast.showAlert("Error", "¡No hay tablero!", "No se pudo crear un nuevo juego, intenta de nuevo", AlertType.ERROR);
+    }
+
+    /**
+     * Returns the directory of the saved game: the "sudoku.save" system property, or ".sudoku_game" in the user's home.
+     * @return The save directory.
+     */
+    private static Path saveDirectory() {
+        String directory = System.getProperty(SAVE_PROPERTY);
+        return directory != null ? Path.of(directory) : Path.of(System.getProperty("user.home"), DEFAULT_SAVE);
+    }
+
+    /**
+     * Returns the file the metrics are written to: the "sudoku.metrics.file" system property, or "metrics.txt" in
+     * the save directory.
+     * @return The metrics file.
+     */
+    private static Path metricsFile() {
+        String file = System.getProperty(Metrics.FILE_PROPERTY);
+        return file != null ? Path.of(file) : saveDirectory().resolve(METRICS_FILE);
+    }
+
+    /**
+     * Opens the puzzle bank named by the "sudoku.bank" system property, or "puzzles.bank" in the working directory.
+     * @return The bank, or null if there is no bank file or it holds no puzzle of the game difficulty.
+     */
+    private static PuzzleBank openPuzzleBank() {
+        Path path = Path.of(System.getProperty(BANK_PROPERTY, DEFAULT_BANK));
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try {
+            PuzzleBank bank = new PuzzleBank(path);
+            if (bank.getCount(DIFFICULTY) > 0) {
+                return bank;
+            }
+            bank.close();
+        } catch (IOException e) {
+            System.err.println("Ignoring puzzle bank " + path + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Starts a new game with a puzzle generated ahead of time and initializes the board,
+     * without asking for confirmation. Must be called on the JavaFX Application Thread.
+     * @param puzzle The puzzle to play.
+     */
+    public void startGame(Puzzle puzzle) {
+        showGame(new GameState(puzzle));
+    }
+
+    /**
+     * Shows a new or resumed game on the board and starts saving it.
+     * @param state The state of the game.
+     */
+    private void showGame(GameState state) {
+        sudoku = new Sudoku(state.toPuzzle());  // Create a new Sudoku instance
+        Board board = state.getBoard();
+        for (int index = 0; index < board.cellCount(); index++) {
+            sudoku.setCellValue(board.rowOf(index), board.colOf(index), board.get(index));  // Moves already played
+        }
+        sudoku.setHelps(state.getHelps());
+        for (int index = 0; index < cellStates.length; index++) {
+            cellStates[index] = MoveHistory.state(board.get(index), state.getShown(index),
+                    (state.getFlags(index) & GameState.HINT) != 0);
+        }
+        history.clear();
+        pencilMarks = new PencilMarks(sudoku.getBoard());
+        changedMarks = new int[pencilMarks.maxChanged()];
+
+        // Clear previous entries; the listeners ignore these writes
+        updatingGrid = true;
+        for(int row = 0; row < sudokuSize; row++) {
+            for(int col = 0 ; col < sudokuSize; col++) {
+                TextField cell = cells[row][col];
+                cell.clear();
+                cell.setEditable(true);
+                cell.setTooltip(null);  // Drop the explanation of an old hint
+                setCellState(cell, null);  // Reset the cell style
+            }
+        }
+        updatingGrid = false;
+
+        updateSudokuGrid(state);  // Show the revealed cells and the moves already played
+        refreshAllMarks();  // Hide the marks of the previous game
+        helpButton.setDisable(false);// Enable the help button
+        pencilButton.setDisable(false);
+        marksButton.setDisable(false);
+        infoColors.setVisible(true); // Visible Pane of Labels
+        updateHistoryButtons();
+        journal.start(state);
+    }
+
+    /**
+     * Event handler for the "Help" button. Fills one empty cell with the correct number,
+     * preferring a cell whose value can be deduced, and explains the deduction in the cell's tooltip.
+     * @param event The event triggered by clicking the "Help" button.
+     * @throws IOException If an input/output error occurs.
+     */
+    @FXML
+    void onHandleHelpButton(ActionEvent event) throws IOException {
+        HintEvent hintEvent = new HintEvent();
+        hintEvent.begin();
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        if (Metrics.ENABLED) {
+            HINT_REQUESTS.increment();
+        }
+        // Generate a hint by filling an empty cell with the correct value
+        int helps = sudoku.getHelps(); // Retrieve the current number of hints used
+        if (helps != 5) { // Check if the maximum number of hints (5) has not been reached
+            Hint hint = sudoku.nextHint();
+            if (hint == null) {
+                recordHint(hintEvent, start, null, "BOARD_FULL", helps);
+                return;  // The board is full, there is nothing to hint
+            }
+
+            int row = hint.getRow();
+            int col = hint.getCol();
+            int numero = hint.getValue();  // The value that goes in the cell
+            sudoku.setCellValue(row, col, numero);  // Update the board with the correct value
+            playMove(sudoku.getBoard().indexOf(row, col), MoveHistory.state(numero, numero, true), GameState.HELP);
+            TextField cell = cells[row][col];
+            updatingGrid = true;
+            cell.setText(String.valueOf(numero));  // Display the correct value in the grid
+            updatingGrid = false;
+            setCellState(cell, HINT);  // Highlight the cell
+            cell.setTooltip(new Tooltip(describeHint(hint)));  // Explain why the value goes there
+            recordHint(hintEvent, start, hint, hint.getReason().name(), helps + 1);  // Before a win dialog waits
+            checkSolved();  // The hint may have filled the last cell
+            helps++; // Increment the count of hints used
+            sudoku.setHelps(helps);
+            // Update the Sudoku model with the new number of hints used
+        } else {
+            recordHint(hintEvent, start, null, "NO_HELPS_LEFT", helps);
+            // Show an error alert if the player has used all available hints
+            toast.showAlert("Error", "¡Sin ayudas!", "Lo siento, se te acabaron las ayudas :(", AlertType.ERROR);
+            helpButton.setDisable(true);
+        }
+    }
+
+    /**
+     * Reports a press of the help button to the Flight Recorder and the metrics.
+     * @param hintEvent The event begun when the button was pressed.
+     * @param start The time the button was pressed, from System.nanoTime() when the metrics are enabled.
+     * @param hint The hint given, or null if none was.
+     * @param reason The deduction behind the hint, or why none was given.
+     * @param helps The number of hints used in the game.
+     */
+    private void recordHint(HintEvent hintEvent, long start, Hint hint, String reason, int helps) {
+        if (Metrics.ENABLED && hint != null) {
+            HINT_TIME.record(System.nanoTime() - start);
+        }
+        if (hintEvent.shouldCommit()) {
+            hintEvent.row = hint != null ? hint.getRow() : -1;
+            hintEvent.col = hint != null ? hint.getCol() : -1;
+            hintEvent.value = hint != null ? hint.getValue() : 0;
+            hintEvent.reason = reason;
+            hintEvent.helps = helps;
+            hintEvent.commit();
+        }
+    }
+
+    /**
+     * Explains a hint to the player.
+     * @param hint The hint to explain.
+     * @return The explanation shown in the tooltip of the hinted cell.
+     */
+    private String describeHint(Hint hint) {
+        switch (hint.getReason()) {
+            case NAKED_SINGLE:
+                return "El " + hint.getValue() + " es el único número posible en esta celda.";
+            case HIDDEN_SINGLE_ROW:
+                return "Esta es la única celda de la fila donde cabe el " + hint.getValue() + ".";
+            case HIDDEN_SINGLE_COLUMN:
+                return "Esta es la única celda de la columna donde cabe el " + hint.getValue() + ".";
+            case HIDDEN_SINGLE_BLOCK:
+                return "Esta es la única celda del bloque donde cabe el " + hint.getValue() + ".";
+            default:
+                return "El " + hint.getValue() + " es el número de la solución para esta celda.";
+        }
+    }
+
+    /**
+     * Adds a listener to each TextField to validate user input.
+     * Ensures that the entered number is valid for Sudoku and updates the board accordingly.
+     * It is attached once per cell and ignores the writes made by the controller itself.
+     * @param cell The TextField to which the listener is added.
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     */
+    private void addTextFieldListener(TextField cell, int row, int col) {
+        cell.textProperty().addListener((observable, oldValue, newValue) -> {
+            if (updatingGrid || sudoku == null) {
+                return;
+            }
+            ValidationEvent validation = new ValidationEvent();
+            validation.begin();
+            long start = Metrics.ENABLED ? System.nanoTime() : 0;
+            int value = parseCellValue(newValue);
+            int index = sudoku.getBoard().indexOf(row, col);
+            if (value < 0) {  // Validate input (only numbers from 1 to the board size allowed)
+                cell.clear();
+                toast.showAlert("Validaciones", "¡Error!", "Debes ingresar un numero valido [1-" + sudokuSize + "]", AlertType.ERROR);
+                recordValidation(validation, start, row, col, value, false);  // The toast returns at once
+            } else if (value != 0) {
+                // Check if the entered value is valid for the current Sudoku state
+                if (sudoku.checkValidValue(row, col, value)) {
+                    sudoku.setCellValue(row, col, value);  // Set the value in the model
+                    setCellState(cell, null);  // Reset the cell style
+                    playMove(index, MoveHistory.state(value, value, false), 0);
+                    recordValidation(validation, start, row, col, value, true);  // Before a win dialog waits
+                    checkSolved();
+                } else {
+                    setCellState(cell, INVALID);  // Highlight invalid input
+                    // The board keeps its value; the cell only shows the rejected number
+                    playMove(index, MoveHistory.state(sudoku.getCellValue(row, col), value, false), 0);
+                    recordValidation(validation, start, row, col, value, false);
+                }
+            } else {
+                sudoku.setCellValue(row, col, 0);
+                setCellState(cell, null);
+                playMove(index, MoveHistory.state(0, 0, false), 0);
+                recordValidation(validation, start, row, col, 0, true);
+            }
+        });
+    }
+
+    /**
+     * Reports a checked keystroke to the Flight Recorder and the metrics.
+     * @param validation The event begun when the text of the cell changed.
+     * @param start The time the text changed, from System.nanoTime() when the metrics are enabled.
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @param value The number typed, 0 when the cell was erased, -1 when the text is not a number.
+     * @param valid Whether the number was accepted.
+     */
+    private void recordValidation(ValidationEvent validation, long start, int row, int col, int value, boolean valid) {
+        if (Metrics.ENABLED) {
+            VALIDATION_TIME.record(System.nanoTime() - start);
+        }
+        if (validation.shouldCommit()) {
+            validation.row = row;
+            validation.col = col;
+            validation.value = value;
+            validation.valid = valid;
+            validation.commit();
+        }
+    }
+
+    /**
+     * Event handler for the "Undo" button. Takes back the last move.
+     * @param event The event triggered by clicking the "Undo" button.
+     */
+    @FXML
+    void onHandleUndoButton(ActionEvent event) {
+        undo();
+    }
+
+    /**
+     * Event handler for the "Redo" button. Plays again the last move taken back.
+     * @param event The event triggered by clicking the "Redo" button.
+     */
+    @FXML
+    void onHandleRedoButton(ActionEvent event) {
+        redo();
+    }
+
+    /**
+     * Takes back the last move, unless the game is over. A hint taken back does not give the help back.
+     */
+    private void undo() {
+        if (sudoku != null && !sudoku.isSudokuSolved() && history.canUndo()) {
+            int move = history.undo();
+            restoreCell(MoveHistory.index(move), MoveHistory.after(move), MoveHistory.before(move));
+        }
+    }
+
+    /**
+     * Plays again the last move taken back, unless the game is over.
+     */
+    private void redo() {
+        if (sudoku != null && !sudoku.isSudokuSolved() && history.canRedo()) {
+            int move = history.redo();
+            restoreCell(MoveHistory.index(move), MoveHistory.before(move), MoveHistory.after(move));
+            checkSolved();  // Redoing the last move may solve the board
+        }
+    }
+
+    /**
+     * Records a move made by the player or the help button: makes it undoable and saves it.
+     * @param index The index of the cell.
+     * @param after The packed state of the cell after the move.
+     * @param flags GameState.HELP if the move used up a help, 0 otherwise.
+     */
+    private void playMove(int index, int after, int flags) {
+        int before = cellStates[index];
+        history.push(MoveHistory.move(index, before, after));
+        saveCell(index, before, after, flags);
+        updateMarks(index, after);
+        updateHistoryButtons();
+    }
+
+    /**
+     * Puts a cell back in an earlier or later state of the history, on the board, in the view and in the save.
+     * Only that cell is written, so the conflict counters of the board are updated in constant time.
+     * @param index The index of the cell.
+     * @param from The packed state the cell is in.
+     * @param to The packed state to restore.
+     */
+    private void restoreCell(int index, int from, int to) {
+        Board board = sudoku.getBoard();
+        int row = board.rowOf(index);
+        int col = board.colOf(index);
+        sudoku.setCellValue(row, col, MoveHistory.value(to));
+        TextField cell = cells[row][col];
+        int shown = MoveHistory.shown(to);
+        updatingGrid = true;
+        cell.setText(shown == 0 ? "" : String.valueOf(shown));
+        updatingGrid = false;
+        if (MoveHistory.isHint(to)) {
+            setCellState(cell, HINT);
+        } else {
+            setCellState(cell, MoveHistory.isRejected(to) ? INVALID : null);
+            cell.setTooltip(null);  // The explanation belonged to the hint taken back
+        }
+        saveCell(index, from, to, 0);
+        updateMarks(index, to);
+        updateHistoryButtons();
+    }
+
+    /**
+     * Saves the new state of a cell to the game journal.
+     * @param index The index of the cell.
+     * @param before The packed state the cell was in.
+     * @param after The packed state of the cell now.
+     * @param flags GameState.HELP if the move used up a help, 0 otherwise.
+     */
+    private void saveCell(int index, int before, int after, int flags) {
+        cellStates[index] = after;
+        int value = MoveHistory.value(after);
+        if (MoveHistory.isRejected(after)) {
+            if (value != MoveHistory.value(before)) {
+                journal.record(index, value, 0);  // An undo can change the value a rejected number hides
+            }
+            journal.record(index, MoveHistory.shown(after), GameState.INVALID | flags);
+        } else {
+            journal.record(index, value, (MoveHistory.isHint(after) ? GameState.HINT : 0) | flags);
+        }
+    }
+
+    /**
+     * Adds a key filter to a cell that, in pencil mode, turns a typed number into a pencil mark on the empty cell.
+     * It is attached once per cell, like the text listener.
+     * @param cell The TextField of the cell.
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     */
+    private void addPencilMarkFilter(TextField cell, int row, int col) {
+        cell.addEventFilter(KeyEvent.KEY_TYPED, event -> {
+            if (sudoku == null || !pencilButton.isSelected() || !cell.isEditable()) {
+                return;
+            }
+            event.consume();  // In pencil mode the keys never reach the text of the cell
+            int digit = parseCellValue(event.getCharacter());
+            int index = sudoku.getBoard().indexOf(row, col);
+            if (digit > 0 && MoveHistory.shown(cellStates[index]) == 0) {
+                pencilMarks.toggle(index, digit);
+                refreshMarks(index);
+            }
+        });
+    }
+
+    /**
+     * Event handler for the "Marks" button. Marks every empty cell with the numbers it can still hold.
+     * @param event The event triggered by clicking the "Marks" button.
+     */
+    @FXML
+    void onHandleMarksButton(ActionEvent event) {
+        if (sudoku != null && !sudoku.isSudokuSolved()) {
+            pencilMarks.fillCandidates();
+            refreshAllMarks();
+        }
+    }
+
+    /**
+     * Updates the pencil marks after a cell changed. A number placed on the board is removed from the marks
+     * of its row, column and block, and only the cells that lose a mark are repainted.
+     * Taking the number back does not return the marks it removed.
+     * @param index The index of the cell.
+     * @param state The packed state of the cell now.
+     */
+    private void updateMarks(int index, int state) {
+        int value = MoveHistory.value(state);
+        if (value != 0 && !MoveHistory.isRejected(state)) {
+            int count = pencilMarks.eliminate(index, value, changedMarks);
+            for (int i = 0; i < count; i++) {
+                refreshMarks(changedMarks[i]);
+            }
+        }
+        refreshMarks(index);
+    }
+
+    /**
+     * Repaints the pencil marks of a cell; they are hidden while the cell shows a number.
+     * @param index The index of the cell.
+     */
+    private void refreshMarks(int index) {
+        pencilMarkView.show(index, MoveHistory.shown(cellStates[index]) == 0 ? pencilMarks.get(index) : 0);
+    }
+
+    /**
+     * Repaints the pencil marks of every cell.
+     */
+    private void refreshAllMarks() {
+        for (int index = 0; index < cellStates.length; index++) {
+            refreshMarks(index);
+        }
+    }
+
+    /**
+     * Enables the undo and redo buttons when there is a move to take back or to play again.
+     */
+    private void updateHistoryButtons() {
+        boolean over = sudoku == null || sudoku.isSudokuSolved();
+        undoButton.setDisable(over || !history.canUndo());
+        redoButton.setDisable(over || !history.canRedo());
+    }
+
+    /**
+     * Congratulates the player and locks the board once the Sudoku is solved.
+     */
+    private void checkSolved() {
+        if(sudoku.isSudokuSolved()) {
+            new AlertBox().showAlert("Ganaste", "¡Felicidades!", "Has resuelto el Sudoku correctamente :)", AlertType.INFORMATION);
+            for (TextField[] textFieldRow : cells) {
+                for (TextField textField : textFieldRow) {
+                    textField.setEditable(false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Parses the text of a cell.
+     * @param text The text typed in the cell.
+     * @return The number in the cell, 0 if the cell is empty, or -1 if the text is not a number from 1 to the board size.
+     */
+    private int parseCellValue(String text) {
+        if (text.isEmpty()) {
+            return 0;
+        }
+        if (text.length() > 2 || text.charAt(0) == '0') {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value >= 1 && value <= sudokuSize ? value : -1;
+    }
+
+    /**
+     * Switches the visual state of a cell through CSS pseudo-classes instead of inline styles.
+     * @param cell The TextField to update.
+     * @param state The pseudo-class to activate (GIVEN, HINT or INVALID), or null for a plain cell.
+     */
+    private void setCellState(TextField cell, PseudoClass state) {
+        cell.pseudoClassStateChanged(GIVEN, state == GIVEN);
+        cell.pseudoClassStateChanged(HINT, state == HINT);
+        cell.pseudoClassStateChanged(INVALID, state == INVALID);
+    }
+
+    /**
+     * Updates the Sudoku grid based on the state of a game.
+     * Fills cells with the numbers they show, marks pre-filled cells as non-editable
+     * and highlights the cells filled by a hint or holding an invalid number.
+     * @param state The state of the game.
+     */
+    private void updateSudokuGrid(GameState state) {
+        Board givens = state.getGivens();
+        updatingGrid = true;
+        for (int row = 0; row < sudokuSize; row++) {
+            for (int col = 0; col < sudokuSize; col++) {
+                int index = givens.indexOf(row, col);
+                int cellValue = state.getShown(index);
+
+                if (cellValue != 0) {
+                    TextField cell = cells[row][col];
+                    cell.setText(String.valueOf(cellValue));  // Set the cell value in the grid
+                    if (givens.get(index) != 0) {
+                        setCellState(cell, GIVEN);  // Highlight pre-filled cells
+                        cell.setEditable(false);  // Disable editing for pre-filled cells
+                    } else if ((state.getFlags(index) & GameState.INVALID) != 0) {
+                        setCellState(cell, INVALID);
+                    } else if ((state.getFlags(index) & GameState.HINT) != 0) {
+                        setCellState(cell, HINT);
+                    }
+                }
+            }
+        }
+        updatingGrid = false;
+    }
+
+    /**
+     * Displays a confirmation dialog to confirm if the user wants to start a new game.
+     * @return true if the user confirms, false otherwise.
+     */
+    public boolean confirmNewGame() {
+        Alert alert = new Alert(AlertType.WARNING);
+        alert.setTitle("NUEVO JUEGO");
+        alert.setHeaderText("¿Estás seguro?");
+        alert.setContentText("¿Deseas iniciar un nuevo juego?");
+
+        ButtonType confirmButtonType = new ButtonType("Confirmar");
+        ButtonType cancelButtonType = new ButtonType("Cancelar");
+        alert.getButtonTypes().setAll(confirmButtonType, cancelButtonType);
+
+        Optional<ButtonType> result = alert.showAndWait();
+        return result.isPresent() && result.get() == confirmButtonType;
+    }
+    /**
+     * Displays an informational alert box with the rules and instructions of the 6x6 Sudoku game.
+     *
+     * @param actionEvent The event triggered when the instructions button is pressed.
+     */
+    public void onHandleInstructionsButton(ActionEvent actionEvent) {
+        new AlertBox().showAlert("INFORMACIÓN", "Instrucciones del juego", "El objetivo del Sudoku 6x6 es llenar todas las celdas de la cuadrícula sólo con números del 1 al 6, siguiendo estas reglas:\n" +
+                "\n" +
+                "- Cada fila y cada columna debe contener los números del 1 al 6 sin repetir.\n\n" +
+                "- Cada bloque de 2 filas por 3 columnas debe contener los números del 1 al 6 sin repetir.\n\n" +
+                "Al iniciar el juego, algunas celdas ya estarán llenas. Usa estas pistas para deducir los números que faltan, asegurándote de cumplir con las reglas mencionadas.\n"+
+                "\nNota: Tendrás un botón de ayuda, el cuál te mostrará una sugerencia en alguna de las celdas... Mucha suerte! :)", AlertType.INFORMATION);
+    }
+}
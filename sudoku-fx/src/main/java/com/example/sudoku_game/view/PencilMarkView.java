@@ -0,0 +1,90 @@
+package com.example.sudoku_game.view;
+
+import javafx.geometry.HPos;
+import javafx.geometry.VPos;
+import javafx.scene.control.Label;
+import javafx.scene.layout.GridPane;
+
+/**
+ * The PencilMarkView class draws the pencil marks of a Sudoku grid with one small Label laid over each cell.
+ * The labels ignore the mouse so clicks still reach the cells below, and each one is only touched when the marks
+ * of its cell change. The candidates are laid out like a block (2 rows of 3 digits on the 6x6 board).
+ * Up to 9x9 the text of each candidate mask is built once and reused, so a repaint never builds strings.
+ */
+public class PencilMarkView {
+
+    private static final String STYLE_CLASS = "pencil-marks"; // Style class of the labels (see sudoku.css)
+
+    private static final int MAX_CACHED_SIZE = 9; // Largest board whose mask texts are cached (512 of them)
+
+    private final Label[] labels; // Label of each cell, by cell index
+    private final String[] texts; // Text of each candidate mask, built on first use; null on larger boards
+    private final int blockRows; // Lines of digits in a label
+    private final int blockCols; // Digits per line in a label
+
+    /**
+     * Adds a hidden label over every cell of a grid. Call it after the cells are added so the labels are on top.
+     * @param grid The grid of the board, one cell per row and column.
+     * @param blockRows The number of rows in each block.
+     * @param blockCols The number of columns in each block.
+     */
+    public PencilMarkView(GridPane grid, int blockRows, int blockCols) {
+        this.blockRows = blockRows;
+        this.blockCols = blockCols;
+        int size = blockRows * blockCols;
+        this.labels = new Label[size * size];
+        this.texts = size <= MAX_CACHED_SIZE ? new String[1 << size] : null;
+        for (int index = 0; index < labels.length; index++) {
+            Label label = new Label();
+            label.getStyleClass().add(STYLE_CLASS);
+            label.setMouseTransparent(true);
+            label.setVisible(false);
+            GridPane.setHalignment(label, HPos.LEFT);
+            GridPane.setValignment(label, VPos.TOP);
+            grid.add(label, index % size, index / size);
+            labels[index] = label;
+        }
+    }
+
+    /**
+     * Shows the marks of a cell.
+     * @param index The index of the cell.
+     * @param mask The candidate mask to show, bit d-1 set for digit d, or 0 to hide the label.
+     */
+    public void show(int index, int mask) {
+        Label label = labels[index];
+        if (mask == 0) {
+            label.setVisible(false);
+        } else {
+            label.setText(text(mask));
+            label.setVisible(true);
+        }
+    }
+
+    /**
+     * Returns the text of a candidate mask, with a blank in place of each missing digit.
+     * @param mask The candidate mask.
+     * @return The text, one line per block row.
+     */
+    private String text(int mask) {
+        String text = texts != null ? texts[mask] : null;
+        if (text == null) {
+            int size = blockRows * blockCols;
+            int width = size > 9 ? 2 : 1;
+            StringBuilder builder = new StringBuilder();
+            for (int digit = 1; digit <= size; digit++) {
+                String number = (mask & (1 << (digit - 1))) != 0 ? String.valueOf(digit) : "";
+                builder.append(" ".repeat(width - number.length())).append(number);
+                if (digit == size) {
+                    break;
+                }
+                builder.append(digit % blockCols == 0 ? '\n' : ' ');
+            }
+            text = builder.toString();
+            if (texts != null) {
+                texts[mask] = text;
+            }
+        }
+        return text;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.sudoku_game.view;
+
+import com.example.sudoku_game.metrics.Counter;
+import com.example.sudoku_game.metrics.Histogram;
+import com.example.sudoku_game.metrics.Metrics;
+import com.example.sudoku_game.metrics.StallEvent;
+import javafx.application.Platform;
+import jdk.jfr.EventType;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The StallMonitor class watches the JavaFX Application Thread for stalls. A daemon timer posts a probe to the
+ * thread every 100 ms and the probe measures how late it runs: a probe later than the threshold means the thread
+ * was busy (or blocked) for that long, and is reported as a {@link StallEvent} and in the "fx.*" metrics.
+ * Only one probe waits at a time, so a long stall is reported once. No probe is posted while neither
+ * {@link Metrics#ENABLED} nor the Flight Recorder event is on.
+ */
+public class StallMonitor {
+
+    public static final long DEFAULT_THRESHOLD_MILLIS = 50; // Delay reported as a stall, about 3 frames at 60 Hz
+
+    private static final long PERIOD_MILLIS = 100; // Time between two probes
+    private static final EventType STALL_EVENT = EventType.getEventType(StallEvent.class); // Flight Recorder type
+    private static final Histogram DELAYS = Metrics.histogram("fx.delay.nanos"); // Delay of every probe
+    private static final Counter STALLS = Metrics.counter("fx.stalls"); // Probes later than the threshold
+
+    private final long thresholdNanos; // Delay reported as a stall
+    private final AtomicBoolean waiting = new AtomicBoolean(); // Set while a probe waits for the thread
+    private ScheduledExecutorService timer; // Posts the probes, or null while stopped
+
+    /**
+     * Creates a stopped monitor.
+     * @param thresholdMillis The delay, in milliseconds, reported as a stall.
+     */
+    public StallMonitor(long thresholdMillis) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+    }
+
+    /**
+     * Starts posting probes. Does nothing if the monitor is already running.
+     */
+    public synchronized void start() {
+        if (timer != null) {
+            return;
+        }
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fx-stall-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleAtFixedRate(this::probe, PERIOD_MILLIS, PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops posting probes; a probe already posted still reports.
+     */
+    public synchronized void stop() {
+        if (timer != null) {
+            timer.shutdownNow();
+            timer = null;
+        }
+    }
+
+    /**
+     * Posts a probe unless one is still waiting or nothing would record it.
+     */
+    private void probe() {
+        if (!Metrics.ENABLED && !STALL_EVENT.isEnabled()) {
+            return;
+        }
+        if (!waiting.compareAndSet(false, true)) {
+            return;
+        }
+        long posted = System.nanoTime();
+        Platform.runLater(() -> {
+            long delay = System.nanoTime() - posted;
+            waiting.set(false);
+            if (Metrics.ENABLED) {
+                DELAYS.record(delay);
+            }
+            if (delay > thresholdNanos) {
+                if (Metrics.ENABLED) {
+                    STALLS.increment();
+                }
+                StallEvent event = new StallEvent();
+                if (event.shouldCommit()) {
+                    event.delay = delay;
+                    event.threshold = thresholdNanos;
+                    event.commit();
+                }
+            }
+        });
+    }
+}
@@ -11,26 +11,36 @@ import java.io.IOException;
 /**
  * @author Laura Celeste Berrio Parra - 2322101
  * The SudokuView class is responsible for setting up and displaying the Sudoku game's window.
- * It extends the JavaFX Stage class and loads the FXML view associated with the game.
+ * It extends the JavaFX Stage class and builds the game's view in code, which shows the first frame sooner; with
+ * -Dsudoku.view=fxml it loads the FXML view associated with the game instead.
  */
 public class SudokuView extends Stage {
 
+    public static final String VIEW_PROPERTY = "sudoku.view";  // System property picking the view: "code" or "fxml"
+
     private final SudokuController sudokuController;  // The controller managing the game logic and user interactions
 
     /**
      * Constructor for SudokuView.
-     * Loads the FXML file, sets the title of the window, and shows the stage.
+     * Builds the view, or loads the FXML file, sets the title of the window, and shows the stage.
      * @throws IOException If there is an issue loading the FXML resource.
      */
     public SudokuView() throws IOException {
-        FXMLLoader loader = new FXMLLoader(
-                getClass().getResource("/com/example/sudoku_game/sudoku_view.fxml")
-        );
-        Parent root = loader.load();  // Load the FXML file and initialize the root node
-        this.sudokuController = loader.getController();  // Get the controller associated with the FXML view
+        Parent root;
+        if ("fxml".equals(System.getProperty(VIEW_PROPERTY))) {
+            FXMLLoader loader = new FXMLLoader(
+                    getClass().getResource("/com/example/sudoku_game/sudoku_view.fxml")
+            );
+            root = loader.load();  // Load the FXML file and initialize the root node
+            this.sudokuController = loader.getController();  // Get the controller associated with the FXML view
+        } else {
+            this.sudokuController = new SudokuController();
+            root = SudokuViewBuilder.build(sudokuController);  // Build the same nodes without parsing or reflection
+        }
         this.setTitle("GAME - SUDOKU");  // Set the title of the window
         Scene scene = new Scene(root);  // Create a new scene with the loaded root node
         this.setScene(scene);  // Set the scene for this stage
+        this.setOnHidden(event -> sudokuController.close());  // Save the game when the window is closed
         this.show();  // Display the stage
     }
 
@@ -0,0 +1,165 @@
+package com.example.sudoku_game.view;
+
+import com.example.sudoku_game.controller.SudokuController;
+import javafx.geometry.Pos;
+import javafx.scene.Parent;
+import javafx.scene.control.Button;
+import javafx.scene.control.ButtonBase;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.control.ToggleButton;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+/**
+ * The SudokuViewBuilder class builds the game window in code, node for node as sudoku_view.fxml describes it, and
+ * binds it to a controller. It skips what the FXMLLoader does at every launch: parsing the XML, looking up classes,
+ * properties and handlers by reflection, and loading the FXML classes at all, which makes the programmatic view the
+ * faster one to show its first frame. Keep both views in step when the layout changes.
+ */
+public final class SudokuViewBuilder {
+
+    private static final String STYLESHEET = "/com/example/sudoku_game/sudoku.css"; // Same stylesheet as the FXML
+    private static final String BUTTON_FONT = "Adelle Sans Devanagari Heavy"; // Font of the buttons
+    private static final String TITLE_FONT = "BM HANNA 11yrs old OTF"; // Font of the title and the labels
+    private static final String BUTTON_STYLE = "-fx-background-color: #ffe7f5; -fx-border-color: BLACK;"; // Pink button
+    private static final Color BUTTON_TEXT = Color.web("#ab2671"); // Text color of the pink buttons
+
+    /**
+     * Prevents instantiation; all methods are static.
+     */
+    private SudokuViewBuilder() {
+    }
+
+    /**
+     * Builds the game window and binds it to a controller, which is initialized before this method returns.
+     * @param controller The controller of the game.
+     * @return The root node of the window.
+     */
+    public static Parent build(SudokuController controller) {
+        Pane root = new Pane();
+        root.setMinSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+        root.setMaxSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+        root.setPrefSize(600, 702);
+        root.setStyle("-fx-background-color: #c5edff; -fx-border-color: BLACK;");
+        root.getStylesheets().add(SudokuViewBuilder.class.getResource(STYLESHEET).toExternalForm());
+
+        GridPane sudokuGrid = new GridPane();
+        sudokuGrid.setGridLinesVisible(true);
+        place(sudokuGrid, 39, 204, 522, 266);
+
+        Button instructionsButton = button("INSTRUCTIONS (?)", 0, 0, 600, 44, 17);
+
+        TextField title = new TextField("SUDOKU GAME");
+        title.setAlignment(Pos.CENTER);
+        title.setStyle("-fx-background-color: #c5edff;");
+        title.setFont(new Font(TITLE_FONT, 58));
+        place(title, 58, 77, 484, 106);
+
+        Button playButton = new Button("PLAY");
+        playButton.setMnemonicParsing(false);
+        playButton.setStyle("-fx-background-color: YELLOW; -fx-border-color: BLACK;");
+        playButton.setTextFill(Color.web("#ff0094"));
+        playButton.setFont(new Font(TITLE_FONT, 26));
+        place(playButton, 249, 506, 106, 48);
+
+        Button helpButton = button("HELP!", 481, 617, 94, 43, 19);
+        Button undoButton = button("UNDO", 371, 567, 94, 43, 19);
+        Button redoButton = button("REDO", 481, 567, 94, 43, 19);
+        Button marksButton = button("MARKS", 481, 506, 94, 48, 19);
+
+        ToggleButton pencilButton = new ToggleButton("PENCIL");
+        pencilButton.setMnemonicParsing(false);
+        pencilButton.setStyle("-fx-border-color: BLACK;");
+        pencilButton.getStyleClass().add("pencil-button");
+        pencilButton.setTextFill(BUTTON_TEXT);
+        pencilButton.setFont(new Font(BUTTON_FONT, 19));
+        place(pencilButton, 371, 617, 94, 43);
+
+        for (ButtonBase gameButton : new ButtonBase[] {helpButton, undoButton, redoButton, pencilButton, marksButton}) {
+            gameButton.setDisable(true);  // Until a game starts
+        }
+
+        Pane infoColors = new Pane(
+                swatch("#C3F6C7", 52, 12),
+                swatch("#ffe7f5", 93, 12),
+                swatch("#B3D3C2", 15, 0),
+                caption("Número sugerido (ayuda)", 51),
+                caption("Número incorrecto (repetido)", 92),
+                caption("Número automático (fijo)", 13));
+        infoColors.setVisible(false);
+        place(infoColors, 28, 573, 303, 122);
+
+        // Same order as the FXML, which is also the focus traversal order
+        root.getChildren().addAll(sudokuGrid, instructionsButton, title, playButton, helpButton, undoButton,
+                redoButton, pencilButton, marksButton, infoColors);
+        controller.bind(sudokuGrid, instructionsButton, playButton, helpButton, undoButton, redoButton,
+                pencilButton, marksButton, infoColors);
+        return root;
+    }
+
+    /**
+     * Creates one of the pink buttons.
+     * @param text The text of the button.
+     * @param x The horizontal position of the button.
+     * @param y The vertical position of the button.
+     * @param width The preferred width of the button.
+     * @param height The preferred height of the button.
+     * @param fontSize The size of the text.
+     * @return The new button.
+     */
+    private static Button button(String text, double x, double y, double width, double height, double fontSize) {
+        Button button = new Button(text);
+        button.setMnemonicParsing(false);
+        button.setStyle(BUTTON_STYLE);
+        button.setTextFill(BUTTON_TEXT);
+        button.setFont(new Font(BUTTON_FONT, fontSize));
+        place(button, x, y, width, height);
+        return button;
+    }
+
+    /**
+     * Creates a square label filled with the color of a kind of cell.
+     * @param color The color, as in the stylesheet.
+     * @param y The vertical position of the square.
+     * @param height The preferred height of the square.
+     * @return The new label.
+     */
+    private static Label swatch(String color, double y, double height) {
+        Label swatch = new Label();
+        swatch.setStyle("-fx-background-color: " + color + "; -fx-border-color: black;");
+        place(swatch, 17, y, 17, height);
+        return swatch;
+    }
+
+    /**
+     * Creates the label that explains a color.
+     * @param text The explanation.
+     * @param y The vertical position of the label.
+     * @return The new label.
+     */
+    private static Label caption(String text, double y) {
+        Label caption = new Label(text);
+        caption.setFont(new Font(TITLE_FONT, 19));
+        caption.setLayoutX(46);
+        caption.setLayoutY(y);
+        return caption;
+    }
+
+    /**
+     * Sets the position and preferred size of a node, as layoutX, layoutY, prefWidth and prefHeight do in FXML.
+     * @param node The node.
+     * @param x The horizontal position.
+     * @param y The vertical position.
+     * @param width The preferred width.
+     * @param height The preferred height.
+     */
+    private static void place(Region node, double x, double y, double width, double height) {
+        node.setLayoutX(x);
+        node.setLayoutY(y);
+        node.setPrefSize(width, height);
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.sudoku_game.view.alert;
+
+import com.example.sudoku_game.metrics.Counter;
+import com.example.sudoku_game.metrics.Metrics;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+import javafx.stage.Popup;
+import javafx.stage.Window;
+import javafx.util.Duration;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Implementation of the AlertBoxInterface that shows alerts as a toast over the bottom of a node of the game window,
+ * instead of a modal dialog. It never waits for the player, so it is safe to call from input listeners: no nested
+ * event loop is started and alerts cannot stack up.
+ * The same popup and labels are reused for every alert. An alert equal to the one on screen, arriving within the
+ * coalescing window, only bumps a repeat counter and restarts the hide timer: the header and message are compared
+ * as given, without building the text, and only the small repeat label is updated, so a burst of invalid input
+ * (pasted or scripted) never lays out the message again. Whenever the toast changes size it is centered again.
+ */
+public class ToastAlertBox implements AlertBoxInterface {
+
+    public static final Duration DEFAULT_DURATION = Duration.millis(2500); // Time a toast stays on screen
+    public static final Duration DEFAULT_COALESCE_WINDOW = Duration.millis(1000); // Gap that still merges alerts
+
+    private static final String STYLE_CLASS = "toast"; // Style class of the toast (see sudoku.css)
+    private static final String COUNT_STYLE_CLASS = "toast-count"; // Style class of the repeat label
+    private static final String STYLESHEET = ToastAlertBox.class
+            .getResource("/com/example/sudoku_game/sudoku.css").toExternalForm(); // The popup has its own scene
+    private static final double GAP = 8; // Space between the bottom of the node and the toast, in pixels
+
+    private static final Counter SHOWN = Metrics.counter("alerts.shown"); // Toasts shown with a new text
+    private static final Counter COALESCED = Metrics.counter("alerts.coalesced"); // Alerts merged into a toast
+
+    private final Node owner; // Node the toast is shown over
+    private final Popup popup = new Popup(); // Window of the toast, reused
+    private final Label label = new Label(); // Text of the toast, reused
+    private final Label count = new Label(); // Repeat counter of the toast, shown from the second alert
+    private final HBox box = new HBox(6, label, count); // Background of the toast, holding both labels
+    private final PauseTransition hideTimer; // Hides the toast once it has been on screen long enough
+    private final long coalesceNanos; // Gap below which an equal alert is merged
+    private String header; // Header of the toast on screen
+    private String message; // Message of the toast on screen
+    private Alert.AlertType type; // Type of the toast on screen
+    private int repeats; // Alerts merged into the toast on screen
+    private long lastAlert; // Time of the last alert merged into the toast, from System.nanoTime()
+
+    /**
+     * Creates a toast with the default duration and coalescing window.
+     * @param owner The node the toast is shown over; it must be in a window when an alert is shown.
+     */
+    public ToastAlertBox(Node owner) {
+        this(owner, DEFAULT_DURATION, DEFAULT_COALESCE_WINDOW);
+    }
+
+    /**
+     * Creates a toast.
+     * @param owner The node the toast is shown over; it must be in a window when an alert is shown.
+     * @param duration The time a toast stays on screen after the last alert merged into it.
+     * @param coalesceWindow The longest gap between two equal alerts that are merged into one toast.
+     */
+    public ToastAlertBox(Node owner, Duration duration, Duration coalesceWindow) {
+        this.owner = owner;
+        this.coalesceNanos = (long) (coalesceWindow.toMillis() * 1_000_000);
+        box.getStylesheets().add(STYLESHEET);
+        box.getStyleClass().add(STYLE_CLASS);
+        count.getStyleClass().add(COUNT_STYLE_CLASS);
+        showCount(false);
+        box.setOnMouseClicked(event -> popup.hide());  // A click dismisses the toast early
+        popup.getContent().add(box);
+        popup.widthProperty().addListener(observable -> place());  // A new text resizes the toast on screen
+        popup.heightProperty().addListener(observable -> place());
+        hideTimer = new PauseTransition(duration);
+        hideTimer.setOnFinished(event -> popup.hide());
+    }
+
+    /**
+     * Shows an alert as a toast, or merges it into the toast on screen. Returns at once.
+     * May be called from any thread; the toast is updated on the JavaFX Application Thread.
+     *
+     * @param title Unused: a toast has no title bar.
+     * @param header The first line of the toast.
+     * @param message The rest of the toast.
+     * @param alertType The type of alert, which picks the colors of the toast.
+     */
+    @Override
+    public void showAlert(String title, String header, String message, Alert.AlertType alertType) {
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(() -> showAlert(title, header, message, alertType));
+            return;
+        }
+        long now = System.nanoTime();
+        if (popup.isShowing() && alertType == type && now - lastAlert <= coalesceNanos
+                && Objects.equals(header, this.header) && Objects.equals(message, this.message)) {
+            repeats++;
+            count.setText("(x" + repeats + ")");
+            showCount(true);
+            if (Metrics.ENABLED) {
+                COALESCED.increment();
+            }
+        } else {
+            this.header = header;
+            this.message = message;
+            repeats = 1;
+            label.setText(header == null || header.isEmpty() ? message : header + "\n" + message);
+            showCount(false);
+            if (alertType != type) {
+                String typeClass = STYLE_CLASS + "-" + alertType.name().toLowerCase(Locale.ROOT);
+                box.getStyleClass().setAll(STYLE_CLASS, typeClass);
+                type = alertType;
+            }
+            if (Metrics.ENABLED) {
+                SHOWN.increment();
+            }
+        }
+        lastAlert = now;
+        hideTimer.playFromStart();
+        if (!popup.isShowing()) {
+            show();
+        }
+    }
+
+    /**
+     * Hides the toast on screen, if any.
+     */
+    public void hide() {
+        hideTimer.stop();
+        popup.hide();
+    }
+
+    /**
+     * Shows or hides the repeat counter, without leaving room for it while hidden.
+     * @param visible Whether the counter is shown.
+     */
+    private void showCount(boolean visible) {
+        if (count.isVisible() != visible) {
+            count.setVisible(visible);
+            count.setManaged(visible);
+        }
+    }
+
+    /**
+     * Opens the popup, then centers it over the bottom of the owner node once its size is known.
+     */
+    private void show() {
+        Window window = owner.getScene() != null ? owner.getScene().getWindow() : null;
+        Bounds bounds = owner.localToScreen(owner.getBoundsInLocal());
+        if (window == null || bounds == null) {
+            return;  // Not on screen, so there is nowhere to show the toast
+        }
+        popup.show(window, bounds.getMinX(), bounds.getMaxY());
+        place();
+    }
+
+    /**
+     * Centers the popup on screen over the bottom of the owner node, for its current size.
+     */
+    private void place() {
+        Bounds bounds = popup.isShowing() ? owner.localToScreen(owner.getBoundsInLocal()) : null;
+        if (bounds == null) {
+            return;
+        }
+        popup.setX(bounds.getMinX() + (bounds.getWidth() - popup.getWidth()) / 2);
+        popup.setY(bounds.getMaxY() - popup.getHeight() - GAP);
+    }
+}
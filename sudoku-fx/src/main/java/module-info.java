@@ -1,10 +1,12 @@
 module com.example.sudoku_game {
+    requires com.example.sudoku_game.core;
     requires javafx.controls;
     requires javafx.fxml;
+    requires java.management;  // Start time of the JVM, for the time to the first frame
 
 
     opens com.example.sudoku_game to javafx.fxml;
     exports com.example.sudoku_game;
     exports com.example.sudoku_game.controller;
     opens com.example.sudoku_game.controller to javafx.fxml;
-}
\ No newline at end of file
+}